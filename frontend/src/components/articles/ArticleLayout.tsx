@@ -218,6 +218,8 @@ const MarkdownPreview: React.FC<{ content: string; hideLeadingH1?: boolean; stri
 // ArticleCard component for rendering individual articles
 interface ArticleCardProps {
   article: Article;
+  // List rows carry no body; undefined until it has been fetched
+  content?: string;
   isAdmin: boolean;
   expandedArticles: Set<string>;
   toggleArticleContent: (id: string) => void;
@@ -229,6 +231,7 @@ interface ArticleCardProps {
 
 const ArticleCard: React.FC<ArticleCardProps> = ({
   article,
+  content,
   isAdmin,
   expandedArticles,
   toggleArticleContent,
@@ -274,7 +277,7 @@ const ArticleCard: React.FC<ArticleCardProps> = ({
           {article.category}
         </Typography>
         <Typography variant="body2" color="text.secondary">
-          • {article.readTime || computeReadTime(article.content)}
+          • {article.readTime || computeReadTime(content || '')}
         </Typography>
         {isAdmin && (
           <Box sx={{ ml: 'auto', display: 'flex', gap: 1 }}>
@@ -320,45 +323,51 @@ const ArticleCard: React.FC<ArticleCardProps> = ({
         )}
       </Box>
       <Box sx={{ position: 'relative' }}>
-        {article.content && (
-          expandedArticles.has(article.id) ? (
-            <Box>
-              <MarkdownPreview content={article.content} hideLeadingH1 />
-              <Button
-                color="primary"
-                onClick={() => toggleArticleContent(article.id)}
-                endIcon={<ExpandLessIcon fontSize="small" />}
-                sx={{
-                  textTransform: 'none',
-                  mt: 2,
-                  fontWeight: 'medium',
-                  '&:hover': { backgroundColor: 'transparent', textDecoration: 'underline' }
-                }}
-              >
-                Show Less
-              </Button>
-            </Box>
-          ) : (
-            <Box>
+        {expandedArticles.has(article.id) ? (
+          <Box>
+            {content != null ? (
+              <MarkdownPreview content={content} hideLeadingH1 />
+            ) : (
+              <Typography variant="body2" color="text.secondary">Loading…</Typography>
+            )}
+            <Button
+              color="primary"
+              onClick={() => toggleArticleContent(article.id)}
+              endIcon={<ExpandLessIcon fontSize="small" />}
+              sx={{
+                textTransform: 'none',
+                mt: 2,
+                fontWeight: 'medium',
+                '&:hover': { backgroundColor: 'transparent', textDecoration: 'underline' }
+              }}
+            >
+              Show Less
+            </Button>
+          </Box>
+        ) : (
+          <Box>
+            {content != null ? (
               <MarkdownPreview
-                content={article.content.slice(0, 200) + (article.content.length > 200 ? '...' : '')}
+                content={content.slice(0, 200) + (content.length > 200 ? '...' : '')}
                 hideLeadingH1
               />
-              <Button
-                color="primary"
-                onClick={() => toggleArticleContent(article.id)}
-                endIcon={<ExpandMoreIcon fontSize="small" />}
-                sx={{
-                  textTransform: 'none',
-                  mt: 1,
-                  fontWeight: 'medium',
-                  '&:hover': { backgroundColor: 'transparent', textDecoration: 'underline' }
-                }}
-              >
-                Read More
-              </Button>
-            </Box>
-          )
+            ) : article.description ? (
+              <Typography variant="body2" color="text.secondary">{article.description}</Typography>
+            ) : null}
+            <Button
+              color="primary"
+              onClick={() => toggleArticleContent(article.id)}
+              endIcon={<ExpandMoreIcon fontSize="small" />}
+              sx={{
+                textTransform: 'none',
+                mt: 1,
+                fontWeight: 'medium',
+                '&:hover': { backgroundColor: 'transparent', textDecoration: 'underline' }
+              }}
+            >
+              Read More
+            </Button>
+          </Box>
         )}
       </Box>
     </CardContent>
@@ -424,6 +433,17 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
   const [matchCount, setMatchCount] = useState<number | null>(null);
   // Track which articles have their content expanded
   const [expandedArticles, setExpandedArticles] = useState<Set<string>>(new Set());
+  // List endpoints return summaries without the body; bodies are fetched from /api/articles/{id}
+  // when an article is edited or expanded, and kept here by id
+  const [loadedContent, setLoadedContent] = useState<Record<string, string>>({});
+  const contentOf = (article: Article): string | undefined => article.content ?? loadedContent[article.id];
+  const withContent = async (article: Article): Promise<Article> => {
+    const known = contentOf(article);
+    if (known != null) return { ...article, content: known };
+    const resp = await ArticleService.getArticleById(article.id);
+    setLoadedContent(prev => ({ ...prev, [article.id]: resp.data.content }));
+    return { ...article, content: resp.data.content };
+  };
   // Track which tag groups are expanded (for organizing articles by tags)
   const [expandedGroups, setExpandedGroups] = useState<Set<string>>(new Set());
 
@@ -451,7 +471,8 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
       await Promise.all(ids.map(async (id) => {
         const article = displayedArticles.find(a => a.id === id) || articles.find(a => a.id === id);
         if (article) {
-          await handleEdit({ ...article, header });
+          // Send the full article so the save never carries a summary's missing body
+          await handleEdit({ ...(await withContent(article)), header });
         }
       }));
       // refresh
@@ -595,7 +616,14 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
   const overHard = contentBytes > HARD_LIMIT;
 
   // Function to open edit mode for a specific article
-  const openEditDialog = (article: Article) => {
+  const openEditDialog = async (summary: Article) => {
+    setError('');
+    const article = await withContent(summary).catch((e: any) => {
+      console.error('Failed to load article for editing:', e);
+      setError(e?.message || 'Failed to load article for editing');
+      return null;
+    });
+    if (!article) return;
     setEditArticleId(article.id);
     setTitleInput(article.title || '');
     setContentInput(article.content || '');
@@ -691,6 +719,12 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
   
   // Toggle content expansion for an article
   const toggleArticleContent = (articleId: string) => {
+    if (!expandedArticles.has(articleId)) {
+      const article = displayedArticles.find(a => a.id === articleId);
+      if (article && contentOf(article) == null) {
+        withContent(article).catch(e => console.error('Failed to load article content:', e));
+      }
+    }
     setExpandedArticles(prevState => {
       const newState = new Set(prevState);
       if (newState.has(articleId)) {
@@ -741,6 +775,7 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
             description: articleToEdit.description
           });
           // update local UI immediately
+          setLoadedContent(prev => ({ ...prev, [editArticleId]: baseData.content }));
           setDisplayedArticles(prev => prev.map(a => a.id === editArticleId ? { ...a, ...baseData, description: articleToEdit.description } : a));
         } else {
           setError('Could not find article to edit');
@@ -1012,6 +1047,7 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
                           <ArticleCard
                             key={article.id}
                             article={article}
+                            content={contentOf(article)}
                             isAdmin={isAdmin}
                             expandedArticles={expandedArticles}
                             toggleArticleContent={toggleArticleContent}
@@ -1036,6 +1072,7 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
                       <ArticleCard
                         key={article.id}
                         article={article}
+                        content={contentOf(article)}
                         isAdmin={isAdmin}
                         expandedArticles={expandedArticles}
                         toggleArticleContent={toggleArticleContent}
@@ -1076,7 +1113,7 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
                     {article.category}
                   </Typography>
                   <Typography variant="body2" color="text.secondary">
-                    • {article.readTime || computeReadTime(article.content)}
+                    • {article.readTime || computeReadTime(contentOf(article) || '')}
                   </Typography>
                   {isAdmin && (
                     <Box sx={{ ml: 'auto', display: 'flex', gap: 1 }}>
@@ -1123,10 +1160,10 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
                 </Box>
                 <Box sx={{ position: 'relative' }}>
 
-                  {article.content && (
+                  {contentOf(article) && (
                     expandedArticles.has(article.id) ? (
                       <Box>
-                        <MarkdownPreview content={article.content} hideLeadingH1 />
+                        <MarkdownPreview content={contentOf(article)!} hideLeadingH1 />
                         <Button
                           color="primary"
                           onClick={() => toggleArticleContent(article.id)}
@@ -1143,7 +1180,7 @@ const ArticleLayout: React.FC<ArticleLayoutProps> = ({
                       </Box>
                     ) : (
                       <Box>
-                        <MarkdownPreview content={article.content.slice(0, 200) + (article.content.length > 200 ? '...' : '')} hideLeadingH1 />
+                        <MarkdownPreview content={contentOf(article)!.slice(0, 200) + (contentOf(article)!.length > 200 ? '...' : '')} hideLeadingH1 />
                         <Button
                           color="primary"
                           onClick={() => toggleArticleContent(article.id)}
@@ -6,6 +6,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -21,4 +22,18 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // CPU-bound QR rendering for batch requests; callers run overflow work themselves instead of failing
+    @Bean(name = "qrCodeExecutor")
+    public Executor qrCodeExecutor() {
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("qrcode-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,11 +1,117 @@
 package com.utilityzone.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({CacheProperties.class, CacheSpecProperties.class})
 public class CacheConfig {
-    // Rely on Spring Boot auto-configuration for Caffeine CacheManager.
-    // Caffeine is on the classpath; configuration is supplied via properties.
+
+    // Caffeine caches. Those listed under app.cache.specs get their own size/weight bound, TTLs and
+    // refresh (see CacheSpecProperties); the rest are created on first use from
+    // spring.cache.caffeine.spec. Stats recording is always on, and each cache is bound to Micrometer
+    // as it is created (Boot only binds caches that exist at startup): cache.gets{result=hit|miss},
+    // cache.puts, cache.evictions, cache.eviction.weight, cache.size and cache.load.duration.
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties, CacheSpecProperties specProperties,
+                                             CacheReloaders reloaders, ObjectProvider<MeterRegistry> meterRegistry) {
+        double traceSampleRate = specProperties.getTraceSampleRate();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            @NonNull
+            protected Cache adaptCaffeineCache(@NonNull String name,
+                                               @NonNull com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                meterRegistry.ifAvailable(registry ->
+                        CaffeineCacheMetrics.monitor(registry, cache, name, Tags.of("cache.manager", "cacheManager")));
+                Cache adapted = super.adaptCaffeineCache(name, cache);
+                return traceSampleRate > 0 ? new SampledTracingCache(adapted, traceSampleRate) : adapted;
+            }
+        };
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            Caffeine<Object, Object> builder = Caffeine.from(CaffeineSpec.parse(spec));
+            cacheManager.setCaffeine(spec.contains("recordStats") ? builder : builder.recordStats());
+        } else {
+            cacheManager.setCaffeine(Caffeine.newBuilder().recordStats());
+        }
+        ExecutorService refreshExecutor = cacheRefreshExecutor();
+        specProperties.getSpecs().forEach((name, cacheSpec) ->
+                cacheManager.registerCustomCache(name, build(name, cacheSpec, reloaders, refreshExecutor)));
+        return cacheManager;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService cacheRefreshExecutor() {
+        AtomicInteger n = new AtomicInteger();
+        return Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "cache-refresh-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    static com.github.benmanes.caffeine.cache.Cache<Object, Object> build(String name, CacheSpecProperties.Spec spec,
+                                                                          CacheReloaders reloaders,
+                                                                          Executor refreshExecutor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumSize() != null && spec.getMaximumWeight() != null) {
+            throw new IllegalStateException("Cache '" + name + "': set maximum-size or maximum-weight, not both");
+        }
+        if (spec.getMaximumSize() != null) builder.maximumSize(spec.getMaximumSize());
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight().toBytes()).weigher(CacheWeigher::weigh);
+        }
+        if (spec.getExpireAfterWrite() != null) builder.expireAfterWrite(spec.getExpireAfterWrite());
+        if (spec.getExpireAfterAccess() != null) builder.expireAfterAccess(spec.getExpireAfterAccess());
+        if (spec.getRefreshAfterWrite() == null) return builder.build();
+
+        builder.refreshAfterWrite(spec.getRefreshAfterWrite()).executor(refreshExecutor);
+        return builder.build(new CacheLoader<>() {
+            @Override
+            public Object load(@NonNull Object key) {
+                CacheReloaders.Reloader reloader = reloaders.get(name);
+                return reloader != null ? reloader.loader().apply(key) : null;
+            }
+
+            @Override
+            public Object reload(@NonNull Object key, @NonNull Object oldValue) {
+                CacheReloaders.Reloader reloader = reloaders.get(name);
+                if (reloader == null) return oldValue;
+                Object value = reloader.loader().apply(key);
+                reloader.afterReload().run();
+                return value;
+            }
+        });
+    }
+
+    // Adds live Caffeine statistics to GET /actuator/caches
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = CachesEndpoint.class)
+    public CacheStatsEndpointExtension cachesEndpointWebExtension(Map<String, CacheManager> cacheManagers) {
+        return new CacheStatsEndpointExtension(new CachesEndpoint(cacheManagers), cacheManagers);
+    }
 }
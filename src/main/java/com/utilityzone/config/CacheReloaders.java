@@ -0,0 +1,34 @@
+package com.utilityzone.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * How to compute an entry of a cache configured with refresh-after-write. Services register the
+ * same loading their {@code @Cacheable} method does (without going through the cache); it fills
+ * misses and reloads stale entries in the background. A loader returning null leaves the miss to
+ * the {@code @Cacheable} method, or drops the entry on reload.
+ */
+@Component
+public class CacheReloaders {
+
+    record Reloader(Function<Object, Object> loader, Runnable afterReload) {}
+
+    private final Map<String, Reloader> reloaders = new ConcurrentHashMap<>();
+
+    public void register(String cacheName, Function<Object, Object> loader) {
+        register(cacheName, loader, () -> {});
+    }
+
+    /** {@code afterReload} runs after each background reload, e.g. to drop responses built from the old value. */
+    public void register(String cacheName, Function<Object, Object> loader, Runnable afterReload) {
+        reloaders.put(cacheName, new Reloader(loader, afterReload));
+    }
+
+    Reloader get(String cacheName) {
+        return reloaders.get(cacheName);
+    }
+}
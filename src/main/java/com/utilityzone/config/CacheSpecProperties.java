@@ -0,0 +1,41 @@
+package com.utilityzone.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache Caffeine policies, e.g.
+ * <pre>
+ * app.cache.specs.renderedContent.maximum-weight=32MB
+ * app.cache.specs.renderedContent.expire-after-access=6h
+ * app.cache.specs.articles.refresh-after-write=15m
+ * </pre>
+ * Caches without an entry use spring.cache.caffeine.spec.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSpecProperties {
+
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    // Fraction of lookups logged at DEBUG by SampledTracingCache; 0 disables the wrapper
+    private double traceSampleRate = 0;
+
+    @Data
+    public static class Spec {
+        // Entry count bound; mutually exclusive with maximumWeight
+        private Long maximumSize;
+        // Byte bound, measured by CacheWeigher; for caches whose values vary a lot in size
+        private DataSize maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        // Entries older than this are reloaded in the background on their next read (the old value is
+        // served meanwhile). Only applies to caches with a reloader registered in CacheReloaders.
+        private Duration refreshAfterWrite;
+    }
+}
@@ -0,0 +1,54 @@
+package com.utilityzone.config;
+
+import com.utilityzone.model.Article;
+import com.utilityzone.model.Blog;
+import com.utilityzone.model.EbookCoverEntity;
+import com.utilityzone.payload.response.QRCodeResponse;
+import com.utilityzone.service.ContentRenderService;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rough heap size of cached values, in bytes, for caches bounded by maximum-weight. Only the
+ * types that can be large are measured; anything else counts as a small fixed-size object.
+ */
+final class CacheWeigher {
+
+    private static final int OBJECT_BYTES = 256;
+
+    private CacheWeigher() {}
+
+    static int weigh(Object key, Object value) {
+        long bytes = 64 + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    static long estimate(Object value) {
+        if (value == null) return 0;
+        if (value instanceof byte[] b) return 16 + b.length;
+        if (value instanceof CharSequence s) return 40 + 2L * s.length();
+        if (value instanceof Optional<?> o) return 16 + estimate(o.orElse(null));
+        if (value instanceof Collection<?> c) {
+            long sum = 32 + 8L * c.size();
+            for (Object o : c) sum += estimate(o);
+            return sum;
+        }
+        if (value instanceof Map<?, ?> m) {
+            long sum = 48 + 32L * m.size();
+            for (Map.Entry<?, ?> e : m.entrySet()) sum += estimate(e.getKey()) + estimate(e.getValue());
+            return sum;
+        }
+        if (value instanceof EbookCoverEntity cover) return OBJECT_BYTES + estimate(cover.getData());
+        if (value instanceof QRCodeResponse qr) return OBJECT_BYTES + estimate(qr.getQrCodeImage());
+        if (value instanceof ContentRenderService.Artifact a) {
+            return OBJECT_BYTES + estimate(a.html()) + estimate(a.deflated()) + estimate(a.excerpt()) + 64L * a.toc().size();
+        }
+        if (value instanceof Article a) {
+            return OBJECT_BYTES + estimate(a.getTitle()) + estimate(a.getDescription()) + estimate(a.getContent());
+        }
+        if (value instanceof Blog b) return OBJECT_BYTES + estimate(b.getTitle()) + estimate(b.getContent());
+        return OBJECT_BYTES;
+    }
+}
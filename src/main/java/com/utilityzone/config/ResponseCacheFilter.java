@@ -0,0 +1,84 @@
+package com.utilityzone.config;
+
+import com.utilityzone.service.ResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Serves GETs of the listings in {@link ResponseCache} from stored bytes: gzip when the client
+ * accepts it (so Tomcat's own compression is skipped), 304 when If-None-Match matches. A miss runs
+ * the controller as usual and stores its 200 JSON response.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || responseCache.groupFor(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        String group = responseCache.groupFor(request.getRequestURI());
+        String key = key(request);
+        ResponseCache.Entry entry = responseCache.get(key);
+        if (entry == null) {
+            long generation = responseCache.generation(group);
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(request, wrapper);
+            String contentType = wrapper.getContentType();
+            if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null || !contentType.contains("json")) {
+                wrapper.copyBodyToResponse();
+                return;
+            }
+            entry = responseCache.put(group, key, generation, contentType, wrapper.getContentAsByteArray());
+        }
+        write(entry, request, response);
+    }
+
+    private static void write(ResponseCache.Entry entry, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, entry.etag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (ResponseCache.etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType());
+        byte[] body = entry.body();
+        if (entry.gzip() != null && ResponseCache.acceptsEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING), "gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = entry.gzip();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // Path plus sorted query parameters, so ?a=1&b=2 and ?b=2&a=1 share an entry
+    private static String key(HttpServletRequest request) {
+        String params = request.getParameterMap().entrySet().stream()
+                .sorted(java.util.Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + "=" + Arrays.stream(e.getValue()).collect(Collectors.joining(",")))
+                .collect(Collectors.joining("&"));
+        return request.getRequestURI() + "?" + params;
+    }
+}
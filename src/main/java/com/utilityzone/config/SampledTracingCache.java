@@ -0,0 +1,117 @@
+package com.utilityzone.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Logs a random sample of lookups (cache, HIT/MISS, key) at DEBUG, for finding out which keys miss
+ * without logging every request. Enabled by app.cache.trace-sample-rate (0..1) and the
+ * com.utilityzone.config.SampledTracingCache logger at DEBUG; counts come from the cache meters.
+ */
+class SampledTracingCache implements Cache {
+    private static final Logger log = LoggerFactory.getLogger(SampledTracingCache.class);
+
+    private final Cache delegate;
+    private final double sampleRate;
+
+    SampledTracingCache(Cache delegate, double sampleRate) {
+        this.delegate = delegate;
+        this.sampleRate = sampleRate;
+    }
+
+    private boolean sampled() {
+        return log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper value = delegate.get(key);
+        if (sampled()) log.debug("Cache {}: {}[{}]", value != null ? "HIT" : "MISS", getName(), key);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        T value = delegate.get(key, type);
+        if (sampled()) log.debug("Cache {}: {}[{}]", value != null ? "HIT" : "MISS", getName(), key);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        if (!sampled()) return delegate.get(key, valueLoader);
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        log.debug("Cache {}: {}[{}]", loaded[0] ? "MISS" : "HIT", getName(), key);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(@NonNull Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    @NonNull
+    public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -3,13 +3,11 @@ package com.utilityzone.controller;
 import com.utilityzone.model.Article;
 import com.utilityzone.model.ArticleCategory;
 import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.ArticleSummary;
 import com.utilityzone.service.ArticleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -24,69 +22,43 @@ public class ArticleController {
     @Autowired
     private ArticleService articleService;
 
-    @Autowired
-    private CacheManager cacheManager;
-
     private static final Logger log = LoggerFactory.getLogger(ArticleController.class);
 
+    // List endpoints return summaries without content; the body is served by /{id}
     @GetMapping
-    public List<Article> getAllArticles() {
-        Cache cache = cacheManager.getCache("articles");
-        if (cache != null) {
-            Object cached = cache.get(SimpleKey.EMPTY);
-            if (cached != null) {
-                log.info("Cache HIT: articles[all]");
-            } else {
-                log.info("Cache MISS: articles[all]");
-            }
-        }
+    public List<ArticleSummary> getAllArticles() {
         return articleService.getAllArticles();
     }
 
+    // Keyset-paginated published list, same order as GET /api/articles: ?size=20, then ?after=<nextCursor>
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getArticlesPage(
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(articleService.getPublishedArticlesPage(after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Article> getArticleById(@PathVariable Long id) {
-        Cache cache = cacheManager.getCache("articleById");
-        if (cache != null) {
-            Object cached = cache.get(id);
-            if (cached != null) {
-                log.info("Cache HIT: articleById[id={}]", id);
-            } else {
-                log.info("Cache MISS: articleById[id={}]", id);
-            }
-        }
         return articleService.getArticleById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/category/{category}")
-    public List<Article> getArticlesByCategory(@PathVariable ArticleCategory category) {
-        Cache cache = cacheManager.getCache("articlesByCategory");
-        if (cache != null) {
-            Object cached = cache.get(category);
-            if (cached != null) {
-                log.info("Cache HIT: articlesByCategory[{}]", category);
-            } else {
-                log.info("Cache MISS: articlesByCategory[{}]", category);
-            }
-        }
+    public List<ArticleSummary> getArticlesByCategory(@PathVariable ArticleCategory category) {
         log.info("Fetching articles for category param: {}", category);
-        List<Article> result = articleService.getArticlesByCategory(category);
+        List<ArticleSummary> result = articleService.getArticlesByCategory(category);
         log.info("Returning {} published articles for {}", (result != null ? result.size() : 0), category);
         return result;
     }
 
     @GetMapping("/tag/{tag}")
-    public List<Article> getArticlesByTag(@PathVariable String tag) {
-        Cache cache = cacheManager.getCache("articlesByTag");
-        if (cache != null) {
-            Object cached = cache.get(tag);
-            if (cached != null) {
-                log.info("Cache HIT: articlesByTag[tag={}]", tag);
-            } else {
-                log.info("Cache MISS: articlesByTag[tag={}]", tag);
-            }
-        }
+    public List<ArticleSummary> getArticlesByTag(@PathVariable String tag) {
         return articleService.getArticlesByTag(tag);
     }
 
@@ -3,10 +3,6 @@ package com.utilityzone.controller;
 import com.utilityzone.model.Blog;
 import com.utilityzone.security.JwtUtils;
 import com.utilityzone.service.BlogService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -26,13 +22,10 @@ public class BlogController {
 
     private final BlogService blogService;
     private final JwtUtils jwtUtils;
-    private final CacheManager cacheManager;
-    private static final Logger log = LoggerFactory.getLogger(BlogController.class);
 
-    public BlogController(BlogService blogService, JwtUtils jwtUtils, CacheManager cacheManager) {
+    public BlogController(BlogService blogService, JwtUtils jwtUtils) {
         this.blogService = blogService;
         this.jwtUtils = jwtUtils;
-        this.cacheManager = cacheManager;
     }
 
     @GetMapping("/page")
@@ -58,19 +51,23 @@ public class BlogController {
         }
     }
 
+    // Keyset-paginated published blogs, newest first: ?size=9, then ?after=<nextCursor>.
+    // Unlike /page, the cost of a page does not grow with how deep it is.
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getBlogsCursorPage(
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "size", defaultValue = "9") int size) {
+        try {
+            return ResponseEntity.ok(blogService.getPublishedBlogsPage(after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping
     public ResponseEntity<?> getAllBlogs(@RequestParam(name = "limit", required = false) Integer limit) {
         try {
             int effectiveLimit = (limit == null) ? 0 : Math.max(0, limit);
-            Cache cache = cacheManager.getCache("blogs");
-            if (cache != null) {
-                Object cached = cache.get(effectiveLimit);
-                if (cached != null) {
-                    log.info("Cache HIT: blogs[limit={}]", effectiveLimit);
-                } else {
-                    log.info("Cache MISS: blogs[limit={}]", effectiveLimit);
-                }
-            }
             List<Blog> blogs = blogService.getLatestBlogs(effectiveLimit);
             return ResponseEntity.ok(blogs);
         } catch (Exception e) {
@@ -115,15 +112,6 @@ public class BlogController {
 
     @GetMapping("/{id}")
     public ResponseEntity<Blog> getBlogById(@PathVariable Long id) {
-        Cache cache = cacheManager.getCache("blogById");
-        if (cache != null) {
-            Object cached = cache.get(id);
-            if (cached != null) {
-                log.info("Cache HIT: blogById[id={}]", id);
-            } else {
-                log.info("Cache MISS: blogById[id={}]", id);
-            }
-        }
         return blogService.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
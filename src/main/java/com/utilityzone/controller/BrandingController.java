@@ -1,5 +1,6 @@
 package com.utilityzone.controller;
 
+import com.utilityzone.service.UploadPipeline;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +11,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.Map;
 //Command on windows cmd
 //curl -L -X POST "https://api.utilityzone.in/api/branding/logo" ^
@@ -19,6 +19,14 @@ import java.util.Map;
 @RequestMapping("/api/branding")
 public class BrandingController {
 
+    private static final long MAX_LOGO_BYTES = 5 * 1024 * 1024;
+
+    private final UploadPipeline uploadPipeline;
+
+    public BrandingController(UploadPipeline uploadPipeline) {
+        this.uploadPipeline = uploadPipeline;
+    }
+
     @PostMapping(path = "/logo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadLogo(@RequestPart("file") @NonNull MultipartFile file) throws IOException {
         if (file.isEmpty()) {
@@ -41,7 +49,7 @@ public class BrandingController {
         }
 
         // Optional size guard (5MB)
-        if (file.getSize() > 5 * 1024 * 1024) {
+        if (file.getSize() > MAX_LOGO_BYTES) {
             return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
                     .body(Map.of("error", "Max file size is 5MB"));
         }
@@ -53,14 +61,14 @@ public class BrandingController {
         }
         Path target = dir.resolve("shop-logo" + ext);
 
-        // Write to a temp file using InputStream to avoid servlet container path quirks,
-        // then move atomically to the final destination.
-        Path temp = Files.createTempFile(dir, "logo-", ".tmp");
-        try (var in = file.getInputStream()) {
-            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
-            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
-        } finally {
-            try { Files.deleteIfExists(temp); } catch (IOException ignored) {}
+        // Stream to a temp file in the same directory (the limit is enforced on the bytes actually
+        // received), then move atomically to the final destination unless the logo is unchanged.
+        try (UploadPipeline.Staged staged = uploadPipeline.stage(file, dir, MAX_LOGO_BYTES)) {
+            boolean unchanged = Files.isRegularFile(target) && Files.size(target) == staged.size()
+                    && UploadPipeline.sha256(target).equals(staged.sha256());
+            if (!unchanged) {
+                uploadPipeline.commit(staged, target);
+            }
         }
 
         return ResponseEntity.ok(Map.of(
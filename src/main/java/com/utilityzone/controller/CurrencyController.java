@@ -1,43 +1,46 @@
 package com.utilityzone.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utilityzone.payload.request.CurrencyBulkConversionRequest;
+import com.utilityzone.payload.response.CurrencyConversionResponse;
+import com.utilityzone.service.FxCrossRateTable;
+import com.utilityzone.service.FxHistoryStore;
+import com.utilityzone.service.FxRateService;
+import com.utilityzone.service.FxRateSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.*;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.*;
-import java.util.concurrent.locks.ReentrantLock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 //http://localhost:8080/api/currency/convert?amount=100&from=USD&to=INR
 @RestController
 @RequestMapping("/api/currency")
 public class CurrencyController {
-    private final RestTemplate restTemplate = new RestTemplate();
-    private static final String RATES_API = "https://api.frankfurter.dev/v1/latest";
-    private static final String CURRENCIES_API = "https://api.frankfurter.dev/v1/currencies";
-
-    // Caching
-    private Map<String, Object> cachedRatesResponse = null;
-    private LocalDateTime ratesCacheExpiry = LocalDateTime.MIN;
-    private Map<String, String> cachedCurrencies = null;
-    private LocalDateTime currenciesCacheExpiry = LocalDateTime.MIN;
-    private final ReentrantLock cacheLock = new ReentrantLock();
-
-    private LocalDateTime next1630CET() {
-        // CET is UTC+1 or CEST (summer) is UTC+2
-        ZoneId cetZone = ZoneId.of("Europe/Paris"); // Paris observes CET/CEST
-        ZonedDateTime nowCET = ZonedDateTime.now(cetZone);
-        ZonedDateTime today1630 = nowCET.withHour(16).withMinute(30).withSecond(0).withNano(0);
-        if (nowCET.isAfter(today1630)) {
-            today1630 = today1630.plusDays(1);
-        }
-        // Convert back to server local time
-        return today1630.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
-    }
+    // Rates are refreshed in the background; requests only read the published snapshot
+    @Autowired
+    private FxRateService fxRateService;
+
+    @Autowired
+    private FxHistoryStore fxHistoryStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int MAX_SERIES_DAYS = 3660;
 
     @GetMapping("/convert")
     public ResponseEntity<?> convertCurrency(
@@ -48,87 +51,188 @@ public class CurrencyController {
             String fromCurrency = from.toUpperCase();
             String toCurrency = to.toUpperCase();
 
-            Map response;
-            cacheLock.lock();
-            try {
-                boolean cacheValid = cachedRatesResponse != null && ratesCacheExpiry.isAfter(LocalDateTime.now());
-                if (!cacheValid) {
-                    // Fetch new rates (for all currencies)
-                    cachedRatesResponse = restTemplate.getForObject(RATES_API, Map.class);
-                    ratesCacheExpiry = next1630CET();
-                }
-                response = cachedRatesResponse;
-            } finally {
-                cacheLock.unlock();
-            }
-
-            if (response == null || !response.containsKey("rates")) {
+            FxRateSnapshot snapshot = fxRateService.current();
+            if (snapshot == null) {
                 return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("message", "Failed to fetch rates from provider."));
             }
-            Map<String, Object> rates = (Map<String, Object>) response.get("rates");
-            // Special edge case: USD to EUR (Frankfurter does not provide USD as base)
-            if ("USD".equals(fromCurrency) && "EUR".equals(toCurrency)) {
-                Object usdRateObj = rates.get("USD");
-                if (usdRateObj == null) {
-                    return ResponseEntity.badRequest().body(Map.of("message", "USD not supported by provider."));
-                }
-                BigDecimal usdToEurRate = BigDecimal.ONE.divide(new BigDecimal(usdRateObj.toString()), 8, RoundingMode.HALF_UP);
-                BigDecimal result = amount.multiply(usdToEurRate).setScale(2, RoundingMode.HALF_UP);
-                Map<String, Object> conversionResult = new HashMap<>();
-                conversionResult.put("from", fromCurrency);
-                conversionResult.put("to", toCurrency);
-                conversionResult.put("amount", amount);
-                conversionResult.put("result", result);
-                conversionResult.put("rate", usdToEurRate.setScale(6, RoundingMode.HALF_UP));
-                return ResponseEntity.ok(Map.of("data", conversionResult));
+            // All pairs are precomputed per snapshot, so conversion is a table lookup and one multiply
+            FxCrossRateTable crossRates = snapshot.getCrossRates();
+            int fromIndex = crossRates.indexOf(fromCurrency);
+            if (fromIndex < 0) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Invalid source currency or not supported by provider."));
+            }
+            int toIndex = crossRates.indexOf(toCurrency);
+            if (toIndex < 0) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Invalid target currency or not supported by provider."));
             }
-            // If fromCurrency is not EUR, we need to convert via EUR (Frankfurter base is EUR)
-            BigDecimal baseAmount = amount;
-            if (!"EUR".equals(fromCurrency)) {
-                // Convert from 'fromCurrency' to EUR
-                Object fromRateObj = rates.get(fromCurrency);
-                if (fromRateObj == null) {
-                    return ResponseEntity.badRequest().body(Map.of("message", "Invalid source currency or not supported by provider."));
+            BigDecimal result = crossRates.convert(amount, fromIndex, toIndex, 2);
+            BigDecimal rate = crossRates.rateDecimal(fromIndex, toIndex).setScale(6, RoundingMode.HALF_UP);
+
+            return ResponseEntity.ok(Map.of("data", new CurrencyConversionResponse(fromCurrency, toCurrency, amount, result, rate)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    // Converts a whole price list in one call: every item is resolved against the same snapshot and
+    // written to the response as it is computed. Invalid items get a message instead of failing the batch.
+    @PostMapping("/convert/bulk")
+    public ResponseEntity<StreamingResponseBody> convertBulk(@Valid @RequestBody CurrencyBulkConversionRequest request) {
+        if (!request.hasItems() && !request.hasTargets()) {
+            return jsonError(HttpStatus.BAD_REQUEST, "Provide items, or amount, from and targets.");
+        }
+        if (request.hasTargets() && (request.getAmount() == null || request.getFrom() == null || request.getFrom().isBlank())) {
+            return jsonError(HttpStatus.BAD_REQUEST, "Amount and from are required with targets.");
+        }
+        FxRateSnapshot snapshot = fxRateService.current();
+        if (snapshot == null) {
+            return jsonError(HttpStatus.BAD_GATEWAY, "Failed to fetch rates from provider.");
+        }
+        FxCrossRateTable crossRates = snapshot.getCrossRates();
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeObjectFieldStart("data");
+                json.writeStringField("base", snapshot.getBase());
+                json.writeStringField("date", String.valueOf(snapshot.getDate()));
+                json.writeArrayFieldStart("results");
+                if (request.hasItems()) {
+                    for (CurrencyBulkConversionRequest.Item item : request.getItems()) {
+                        writeConversion(json, crossRates, item.getAmount(), item.getFrom(), item.getTo());
+                    }
                 }
-                BigDecimal fromRate = new BigDecimal(fromRateObj.toString());
-                baseAmount = amount.divide(fromRate, 8, RoundingMode.HALF_UP);
+                if (request.hasTargets()) {
+                    for (String target : request.getTargets()) {
+                        writeConversion(json, crossRates, request.getAmount(), request.getFrom(), target);
+                    }
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeEndObject();
             }
-            // Now convert from EUR to target
-            Object toRateObj = rates.get(toCurrency);
-            if (toRateObj == null) {
-                return ResponseEntity.badRequest().body(Map.of("message", "Invalid target currency or not supported by provider."));
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Streaming endpoints must return a StreamingResponseBody for errors too
+    private ResponseEntity<StreamingResponseBody> jsonError(HttpStatus status, String message) {
+        StreamingResponseBody body = out -> objectMapper.writeValue(out, Map.of("message", message));
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private void writeConversion(JsonGenerator json, FxCrossRateTable crossRates, BigDecimal amount, String from, String to) throws IOException {
+        String fromCurrency = from != null ? from.trim().toUpperCase() : "";
+        String toCurrency = to != null ? to.trim().toUpperCase() : "";
+        json.writeStartObject();
+        json.writeStringField("from", fromCurrency);
+        json.writeStringField("to", toCurrency);
+        json.writeNumberField("amount", amount);
+        int fromIndex = crossRates.indexOf(fromCurrency);
+        int toIndex = crossRates.indexOf(toCurrency);
+        if (fromIndex < 0) {
+            json.writeStringField("message", "Invalid source currency or not supported by provider.");
+        } else if (toIndex < 0) {
+            json.writeStringField("message", "Invalid target currency or not supported by provider.");
+        } else {
+            json.writeNumberField("result", crossRates.convert(amount, fromIndex, toIndex, 2));
+            json.writeNumberField("rate", crossRates.rateDecimal(fromIndex, toIndex).setScale(6, RoundingMode.HALF_UP));
+        }
+        json.writeEndObject();
+    }
+
+    // Rate on a past date, from the local history store (falls back to the last published day before it)
+    //http://localhost:8080/api/currency/history/rate?from=USD&to=INR&date=2024-03-01
+    @GetMapping("/history/rate")
+    public ResponseEntity<?> historicalRate(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam String date,
+            @RequestParam(required = false) BigDecimal amount) {
+        try {
+            String fromCurrency = from.toUpperCase();
+            String toCurrency = to.toUpperCase();
+            ResponseEntity<?> invalid = validateHistoryCurrencies(fromCurrency, toCurrency);
+            if (invalid != null) return invalid;
+
+            FxHistoryStore.Point point = fxHistoryStore.rateOn(fromCurrency, toCurrency, LocalDate.parse(date));
+            if (point == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "No rates stored for that date."));
             }
-            BigDecimal toRate = new BigDecimal(toRateObj.toString());
-            BigDecimal result = baseAmount.multiply(toRate).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal rate = BigDecimal.valueOf(point.rate()).setScale(6, RoundingMode.HALF_UP);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("from", fromCurrency);
+            result.put("to", toCurrency);
+            result.put("date", point.date().toString());
+            result.put("rate", rate);
+            if (amount != null) {
+                result.put("amount", amount);
+                result.put("result", amount.multiply(BigDecimal.valueOf(point.rate())).setScale(2, RoundingMode.HALF_UP));
+            }
+            return ResponseEntity.ok(Map.of("data", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Error: " + e.getMessage()));
+        }
+    }
 
-            Map<String, Object> conversionResult = new HashMap<>();
-            conversionResult.put("from", fromCurrency);
-            conversionResult.put("to", toCurrency);
-            conversionResult.put("amount", amount);
-            conversionResult.put("result", result);
-            conversionResult.put("rate", result.divide(amount, 6, RoundingMode.HALF_UP));
+    // Daily rates between two dates for charts; days without a published rate are omitted
+    @GetMapping("/history/series")
+    public ResponseEntity<?> historicalSeries(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam String start,
+            @RequestParam String end) {
+        try {
+            String fromCurrency = from.toUpperCase();
+            String toCurrency = to.toUpperCase();
+            LocalDate startDate = LocalDate.parse(start);
+            LocalDate endDate = LocalDate.parse(end);
+            if (endDate.isBefore(startDate)) {
+                return ResponseEntity.badRequest().body(Map.of("message", "End date must not be before start date."));
+            }
+            if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_SERIES_DAYS) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Date range is limited to " + MAX_SERIES_DAYS + " days."));
+            }
+            ResponseEntity<?> invalid = validateHistoryCurrencies(fromCurrency, toCurrency);
+            if (invalid != null) return invalid;
 
-            return ResponseEntity.ok(Map.of("data", conversionResult));
+            FxHistoryStore.Series series = fxHistoryStore.series(fromCurrency, toCurrency, startDate, endDate);
+            double[] values = series.rates();
+            List<String> dates = new ArrayList<>();
+            List<BigDecimal> rates = new ArrayList<>();
+            for (int i = 0; i < values.length; i++) {
+                if (!Double.isNaN(values[i])) {
+                    dates.add(series.start().plusDays(i).toString());
+                    rates.add(BigDecimal.valueOf(values[i]).setScale(6, RoundingMode.HALF_UP));
+                }
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("from", fromCurrency);
+            result.put("to", toCurrency);
+            result.put("start", startDate.toString());
+            result.put("end", endDate.toString());
+            result.put("dates", dates);
+            result.put("rates", rates);
+            return ResponseEntity.ok(Map.of("data", result));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", "Error: " + e.getMessage()));
         }
     }
 
+    private ResponseEntity<?> validateHistoryCurrencies(String fromCurrency, String toCurrency) {
+        if (!fxHistoryStore.hasCurrency(fromCurrency)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid source currency or not supported by provider."));
+        }
+        if (!fxHistoryStore.hasCurrency(toCurrency)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid target currency or not supported by provider."));
+        }
+        return null;
+    }
+
     @GetMapping("/currencies")
     public ResponseEntity<Map<String, Object>> getAvailableCurrencies() {
         try {
-            Map<String, String> currencies;
-            cacheLock.lock();
-            try {
-                boolean cacheValid = cachedCurrencies != null && currenciesCacheExpiry.isAfter(LocalDateTime.now());
-                if (!cacheValid) {
-                    cachedCurrencies = restTemplate.getForObject(CURRENCIES_API, Map.class);
-                    currenciesCacheExpiry = next1630CET();
-                }
-                currencies = cachedCurrencies;
-            } finally {
-                cacheLock.unlock();
-            }
+            Map<String, String> currencies = fxRateService.currencies();
             if (currencies == null) {
                 return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("message", "Failed to fetch currencies from provider."));
             }
@@ -8,13 +8,18 @@ import com.utilityzone.repository.NewsletterSubscriberRepository;
 import com.utilityzone.service.EbookContentService;
 import com.utilityzone.service.NewsletterEmailService;
 import com.utilityzone.service.NewsletterTokenService;
+import com.utilityzone.service.ResponseCache;
+import com.utilityzone.service.UploadPipeline;
+import com.utilityzone.web.FileRangeSender;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -36,22 +41,15 @@ public class EbookController {
     private final NewsletterTokenService tokenService;
     private final CacheManager cacheManager;
     private final com.utilityzone.service.EbookCoverService coverService;
+    private final ResponseCache responseCache;
+    private final UploadPipeline uploadPipeline;
     private static final Logger log = LoggerFactory.getLogger(EbookController.class);
 
     @Value("${file.upload.dir:}")
-    private String uploadDir; // no longer used (covers go to DB)
+    private String uploadDir; // not used directly: covers go to BlobStore under <dir>/blobs
 
     @GetMapping("/api/ebooks")
     public ResponseEntity<EbookContentDto> getContent() {
-        Cache cache = cacheManager.getCache("ebooks");
-        if (cache != null) {
-            Object cached = cache.get("content");
-            if (cached != null) {
-                log.info("Cache HIT: ebooks[content]");
-            } else {
-                log.info("Cache MISS: ebooks[content]");
-            }
-        }
         return service.getContent()
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.ok(defaultContent()));
@@ -151,64 +149,63 @@ public class EbookController {
         String orig = file.getOriginalFilename();
         String original = StringUtils.cleanPath(orig != null ? orig : "cover");
         String mime = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
-        byte[] bytes = file.getBytes();
-        // Compute SHA-256 to deduplicate covers
-        String hash;
-        try {
-            java.security.MessageDigest md = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(bytes);
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) sb.append(String.format("%02x", b));
-            hash = sb.toString();
-        } catch (Exception ex) {
-            hash = null; // fallback if digest fails
-        }
-
-        // Attempt to reuse existing cover by hash
-        if (hash != null) {
-            var existing = coverService.findByHash(hash);
+        // Streamed to a temp file and hashed on the way; identical covers are stored once
+        try (UploadPipeline.Staged staged = uploadPipeline.stage(file)) {
+            var existing = coverService.findByHash(staged.sha256());
             if (existing.isPresent()) {
-                String publicUrl = buildCoverUrl(existing.get().getId());
-                return ResponseEntity.ok(Map.of("url", publicUrl));
+                return ResponseEntity.ok(Map.of("url", buildCoverUrl(existing.get().id())));
             }
-        }
+            uploadPipeline.commitToBlobStore(staged);
 
-        // Store new cover in DB
-        com.utilityzone.model.EbookCoverEntity entity = new com.utilityzone.model.EbookCoverEntity();
-        entity.setOriginalFilename(original);
-        entity.setMimeType(mime);
-        entity.setData(bytes);
-        entity.setContentHash(hash);
-        var saved = coverService.save(entity);
+            // Metadata row; the bytes are in the blob store under the hash
+            com.utilityzone.model.EbookCoverEntity entity = new com.utilityzone.model.EbookCoverEntity();
+            entity.setOriginalFilename(original);
+            entity.setMimeType(mime);
+            entity.setContentHash(staged.sha256());
+            entity.setSizeBytes(staged.size());
+            var saved = coverService.save(entity);
 
-        String publicUrl = buildCoverUrl(saved.getId());
-        return ResponseEntity.ok(Map.of("url", publicUrl));
+            String publicUrl = buildCoverUrl(saved.getId());
+            return ResponseEntity.ok(Map.of("url", publicUrl));
+        }
     }
 
     @GetMapping("/api/ebooks/covers/{id}")
-    public ResponseEntity<byte[]> getCover(@PathVariable("id") Long id, @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+    public void getCover(@PathVariable("id") Long id,
+                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
         var opt = coverService.findById(id);
-        if (opt.isEmpty()) return ResponseEntity.notFound().build();
-        var entity = opt.get();
+        if (opt.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        var cover = opt.get();
         // Build a stable ETag based on id + createdAt + data length
-        long created = entity.getCreatedAt() != null ? entity.getCreatedAt().toEpochMilli() : 0L;
-        int length = entity.getData() != null ? entity.getData().length : 0;
+        long created = cover.createdAt() != null ? cover.createdAt().toEpochMilli() : 0L;
+        long length = cover.length();
         String eTag = "\"" + id + "-" + created + "-" + length + "\"";
 
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=86400, immutable");
+        response.setHeader(HttpHeaders.ETAG, eTag);
         if (ifNoneMatch != null && ifNoneMatch.equals(eTag)) {
-            return ResponseEntity.status(304)
-                    .header("Cache-Control", "public, max-age=86400, immutable")
-                    .eTag(eTag)
-                    .build();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
         }
 
-        String mimeType = java.util.Objects.requireNonNull(entity.getMimeType() != null ? entity.getMimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
-        return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(mimeType))
-                .header("Cache-Control", "public, max-age=86400, immutable")
-                .eTag(eTag)
-                .contentLength(length)
-                .body(entity.getData());
+        String mimeType = cover.mimeType() != null ? cover.mimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        response.setContentType(mimeType);
+        if (cover.inline()) {
+            // Legacy duplicate kept in the database: whole body only, no ranges
+            byte[] data = coverService.inlineData(cover).orElse(null);
+            if (data == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            response.setContentLength(data.length);
+            if (!"HEAD".equals(request.getMethod())) response.getOutputStream().write(data);
+            return;
+        }
+        FileRangeSender.send(request, response, coverService.file(cover), eTag);
     }
 
     // Build a context-aware public URL for covers, honoring servlet context path (e.g., /utility)
@@ -274,6 +271,7 @@ public class EbookController {
         // Evict cache so next getContent returns fresh data
         org.springframework.cache.Cache cache = cacheManager.getCache("ebooks");
         if (cache != null) cache.evict("content");
+        responseCache.invalidate(ResponseCache.EBOOKS);
         return ResponseEntity.noContent().build();
     }
 
@@ -1,5 +1,6 @@
 package com.utilityzone.controller;
 
+import com.utilityzone.payload.dto.ChapterDto;
 import com.utilityzone.payload.dto.EbookItemDto;
 import com.utilityzone.service.EbookService;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +19,7 @@ public class EbooksController {
     @GetMapping
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<List<EbookItemDto>> list() {
-        return ResponseEntity.ok(ebookService.listAll().stream().map(ebookService::fromEntity).toList());
+        return ResponseEntity.ok(ebookService.listAllDto());
     }
 
     @GetMapping("/published")
@@ -42,13 +43,24 @@ public class EbooksController {
         return ResponseEntity.ok(ebookService.fromEntity(saved));
     }
 
-    @PutMapping("/{id}")
+    // PUT and PATCH both patch: fields left out (null) keep their stored values
+    @RequestMapping(value = "/{id}", method = {RequestMethod.PUT, RequestMethod.PATCH})
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<EbookItemDto> update(@PathVariable("id") Long id, @RequestBody EbookItemDto book) {
         var saved = ebookService.update(id, book);
         return ResponseEntity.ok(ebookService.fromEntity(saved));
     }
 
+    // Autosave of a single chapter without sending the rest of the book
+    @PatchMapping("/{id}/chapters/{position}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ChapterDto> patchChapter(@PathVariable("id") Long id, @PathVariable("position") int position,
+                                                   @RequestBody ChapterDto chapter) {
+        return ebookService.patchChapter(id, position, chapter)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<Void> delete(@PathVariable("id") Long id) {
@@ -1,8 +1,10 @@
 package com.utilityzone.controller;
 
 import com.google.zxing.WriterException;
+import com.utilityzone.payload.request.QRCodeBatchRequest;
 import com.utilityzone.payload.request.QRCodeRequest;
 import com.utilityzone.payload.response.QRCodeResponse;
+import com.utilityzone.service.QRCodeBatchService;
 import com.utilityzone.service.QRCodeService;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/qrcode")
@@ -21,18 +24,49 @@ public class QRCodeController {
     @Autowired
     private QRCodeService qrCodeService;
 
+    @Autowired
+    private QRCodeBatchService qrCodeBatchService;
+
     @PostMapping("/generate")
     public ResponseEntity<?> generateQRCode(@Valid @RequestBody QRCodeRequest request) {
         try {
             QRCodeResponse response = qrCodeService.generateQRCode(request);
-            
+            boolean svg = "SVG".equals(response.getFormat());
+
             return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"qrcode.png\"")
-                    .contentType(MediaType.IMAGE_PNG)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, svg
+                            ? "attachment; filename=\"qrcode.svg\""
+                            : "attachment; filename=\"qrcode.png\"")
+                    .contentType(svg ? MediaType.parseMediaType("image/svg+xml") : MediaType.IMAGE_PNG)
                     .body(response.getQrCodeImage());
 
-        } catch (WriterException | IOException e) {
+        } catch (WriterException | IOException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Error generating QR code: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Generates many codes in one call; format=zip returns one PNG per item, format=pdf a printable label sheet
+    @PostMapping("/batch")
+    public ResponseEntity<?> generateBatch(@Valid @RequestBody QRCodeBatchRequest request) {
+        String format = request.getFormat() != null ? request.getFormat().trim().toLowerCase() : "zip";
+        try {
+            if ("pdf".equals(format)) {
+                byte[] pdf = qrCodeBatchService.generateLabelSheet(request);
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"qrcodes.pdf\"")
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .body(pdf);
+            }
+            if ("zip".equals(format)) {
+                byte[] zip = qrCodeBatchService.generateZip(request);
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"qrcodes.zip\"")
+                        .contentType(MediaType.parseMediaType("application/zip"))
+                        .body(zip);
+            }
+            return ResponseEntity.badRequest().body(Map.of("message", "Unsupported format: " + format + " (use zip or pdf)"));
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Error generating QR codes: " + e.getMessage()));
+        }
+    }
+}
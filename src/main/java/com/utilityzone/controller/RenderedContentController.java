@@ -0,0 +1,95 @@
+package com.utilityzone.controller;
+
+import com.utilityzone.service.ContentRenderService;
+import com.utilityzone.service.ResponseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Rendered bodies of published articles and blogs, produced at publish time by ContentRenderService.
+//   GET /api/articles/{id}/html      sanitized HTML fragment (deflate-encoded when the client accepts it)
+//   GET /api/articles/{id}/rendered  toc, excerpt and read time for the same version
+// Both carry the artifact's ETag and answer If-None-Match with 304; the deflated HTML is a different
+// representation, so it gets its own validator (the artifact's ETag with a "-deflate" suffix).
+@RestController
+public class RenderedContentController {
+
+    @Autowired
+    private ContentRenderService contentRenderService;
+
+    @GetMapping("/api/articles/{id}/html")
+    public ResponseEntity<byte[]> articleHtml(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return html(contentRenderService.find(ContentRenderService.ARTICLE, id), ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/api/blogs/{id}/html")
+    public ResponseEntity<byte[]> blogHtml(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return html(contentRenderService.find(ContentRenderService.BLOG, id), ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/api/articles/{id}/rendered")
+    public ResponseEntity<?> articleRendered(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return metadata(contentRenderService.find(ContentRenderService.ARTICLE, id), ifNoneMatch);
+    }
+
+    @GetMapping("/api/blogs/{id}/rendered")
+    public ResponseEntity<?> blogRendered(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return metadata(contentRenderService.find(ContentRenderService.BLOG, id), ifNoneMatch);
+    }
+
+    private ResponseEntity<byte[]> html(ContentRenderService.Artifact artifact, String ifNoneMatch, String acceptEncoding) {
+        if (artifact == null) return ResponseEntity.notFound().build();
+        boolean deflate = ResponseCache.acceptsEncoding(acceptEncoding, "deflate");
+        String etag = deflate ? deflateEtag(artifact.etag()) : artifact.etag();
+        if (ResponseCache.etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (deflate) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "deflate").body(artifact.deflated());
+        }
+        return ok.body(artifact.html());
+    }
+
+    static String deflateEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-deflate\"";
+    }
+
+    private ResponseEntity<?> metadata(ContentRenderService.Artifact artifact, String ifNoneMatch) {
+        if (artifact == null) return ResponseEntity.notFound().build();
+        if (ResponseCache.etagMatches(ifNoneMatch, artifact.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(artifact.etag()).build();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", artifact.version());
+        body.put("etag", artifact.etag());
+        body.put("toc", artifact.toc());
+        body.put("excerpt", artifact.excerpt());
+        body.put("wordCount", artifact.wordCount());
+        body.put("readTimeMinutes", artifact.readTimeMinutes());
+        body.put("readTime", ContentRenderService.formatReadTime(artifact.readTimeMinutes()));
+        body.put("renderedAt", artifact.renderedAt() != null ? artifact.renderedAt().atOffset(ZoneOffset.UTC).toString() : null);
+        return ResponseEntity.ok().eTag(artifact.etag()).body(body);
+    }
+}
@@ -0,0 +1,59 @@
+package com.utilityzone.controller;
+
+import com.utilityzone.service.ContentSearchService;
+import com.utilityzone.service.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//http://localhost:8080/api/search?q=currency+conversion&type=article
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private ContentSearchService contentSearchService;
+
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "all") String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        String typeFilter;
+        switch (type.toLowerCase()) {
+            case "all" -> typeFilter = null;
+            case "article", "articles" -> typeFilter = ContentSearchService.ARTICLE;
+            case "blog", "blogs" -> typeFilter = ContentSearchService.BLOG;
+            default -> {
+                return ResponseEntity.badRequest().body(Map.of("message", "type must be all, article or blog"));
+            }
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (ContentSearchService.Result r : contentSearchService.search(q, typeFilter, limit)) {
+            SearchIndex.Document d = r.document();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("type", d.getType());
+            item.put("id", d.getId());
+            item.put("title", d.getTitle());
+            if (d.getCategory() != null) item.put("category", d.getCategory());
+            if (!d.getTags().isEmpty()) item.put("tags", d.getTags());
+            if (d.getDate() > 0) {
+                item.put("date", Instant.ofEpochMilli(d.getDate()).atZone(ZoneOffset.UTC).toLocalDateTime());
+            }
+            item.put("score", Math.round(r.score() * 1000) / 1000.0);
+            item.put("snippet", r.snippet());
+            results.add(item);
+        }
+        return ResponseEntity.ok(Map.of("data", Map.of("query", q, "results", results)));
+    }
+}
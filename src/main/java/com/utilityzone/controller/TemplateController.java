@@ -1,7 +1,9 @@
 package com.utilityzone.controller;
 
 import com.utilityzone.model.Template;
+import com.utilityzone.service.OffHeapBlobCache;
 import com.utilityzone.service.TemplateService;
+import com.utilityzone.service.UploadPipeline;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -16,6 +18,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -31,12 +34,16 @@ import org.slf4j.LoggerFactory;
 public class TemplateController {
     private static final Logger logger = LoggerFactory.getLogger(TemplateController.class);
     private final TemplateService service;
+    private final OffHeapBlobCache blobCache;
+    private final UploadPipeline uploadPipeline;
 
     @Value("${mockup.master.dir:data/uploads/mockup/master}")
     private String masterDirConfig;
 
-    public TemplateController(TemplateService service) {
+    public TemplateController(TemplateService service, OffHeapBlobCache blobCache, UploadPipeline uploadPipeline) {
         this.service = service;
+        this.blobCache = blobCache;
+        this.uploadPipeline = uploadPipeline;
     }
 
     @GetMapping("/api/admin/canva-templates")
@@ -158,7 +165,8 @@ public class TemplateController {
             @RequestParam(value = "baseName", required = false) String baseName,
             @RequestParam(value = "role", required = false) String role,
             @RequestParam(value = "variant", required = false) String variant,
-            @RequestParam(value = "index", required = false) String index
+            @RequestParam(value = "index", required = false) String index,
+            @RequestParam(value = "thumbnail", required = false) Integer thumbnail
     ) throws IOException {
         logger.info("Upload mockup called. File name: {}, size: {} bytes", file.getOriginalFilename(), file.getSize());
         if (file.isEmpty()) {
@@ -195,17 +203,30 @@ public class TemplateController {
 
         String storedName = String.format("%s_%s_%s_%s%s", safeBase, safeRole, safeVariant, safeIndex, ext);
 
-        // Ensure uniqueness: if a file with same name exists, append a short UUID suffix
-        Path target = service.getMockupDir().resolve(storedName);
-        if (Files.exists(target)) {
-            String uniqueSuffix = UUID.randomUUID().toString().substring(0, 8);
-            storedName = String.format("%s_%s_%s_%s_%s%s", safeBase, safeRole, safeVariant, safeIndex, uniqueSuffix, ext);
-            target = service.getMockupDir().resolve(storedName);
-        }
+        Path mockupDir = service.getMockupDir();
+        // Staged next to the mockups so the final move is a rename
+        try (UploadPipeline.Staged staged = uploadPipeline.stage(file, mockupDir.resolve(".staging"), Long.MAX_VALUE)) {
+            // Ensure uniqueness: if a file with same name exists, append a short UUID suffix.
+            // Files are owned by the template that references them (deleting a template deletes them),
+            // so identical content under the same name is not shared.
+            Path target = mockupDir.resolve(storedName);
+            if (Files.exists(target)) {
+                String uniqueSuffix = UUID.randomUUID().toString().substring(0, 8);
+                storedName = String.format("%s_%s_%s_%s_%s%s", safeBase, safeRole, safeVariant, safeIndex, uniqueSuffix, ext);
+                target = mockupDir.resolve(storedName);
+            }
 
-        Files.copy(file.getInputStream(), target);
-        String publicUrl = "/api/canva-templates/mockups/" + storedName;
-        return ResponseEntity.ok(Map.of("url", publicUrl));
+            Map<String, String> body = new java.util.LinkedHashMap<>();
+            if (thumbnail != null && thumbnail > 0) {
+                String thumbName = TemplateService.thumbnailFileName(storedName);
+                if (uploadPipeline.thumbnail(staged, mockupDir.resolve(thumbName), Math.min(thumbnail, 2048))) {
+                    body.put("thumbnailUrl", "/api/canva-templates/mockups/" + thumbName);
+                }
+            }
+            uploadPipeline.commit(staged, target);
+            body.put("url", "/api/canva-templates/mockups/" + storedName);
+            return ResponseEntity.ok(body);
+        }
     }
 
     private String sanitizeForFile(String s) {
@@ -291,6 +312,16 @@ public class TemplateController {
                     .build();
         }
         MediaType mt = service.detectMediaType(path);
+        ByteBuffer cached = blobCache.getFile(fileKey(path), path);
+        if (cached != null) {
+            return ResponseEntity.ok()
+                    .contentType(mt)
+                    .header("Cache-Control", "public, max-age=86400, immutable")
+                    .eTag(eTag)
+                    .contentLength(cached.remaining())
+                    .body(out -> OffHeapBlobCache.writeTo(cached, out));
+        }
+        // Too large for the blob cache: stream from disk
         StreamingResponseBody stream = outputStream -> {
             try (java.io.InputStream in = Files.newInputStream(path)) {
                 byte[] buffer = new byte[8192];
@@ -307,6 +338,11 @@ public class TemplateController {
                 .body(stream);
     }
 
+    // Size and mtime in the key: a regenerated or replaced file gets a new entry
+    private static String fileKey(Path path) throws IOException {
+        return "file:" + path.toAbsolutePath().normalize() + ':' + Files.size(path) + ':' + Files.getLastModifiedTime(path).toMillis();
+    }
+
     private byte[] generatePlaceholder(String text, int width, int height) throws IOException {
         BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         Graphics2D g = img.createGraphics();
@@ -361,7 +397,10 @@ public class TemplateController {
                                 .eTag(eTag)
                                 .build();
                         }
-                        byte[] bytes = Files.readAllBytes(path);
+                        ByteBuffer cached = blobCache.getFile(fileKey(path), path);
+                        StreamingResponseBody body = cached != null
+                            ? out -> OffHeapBlobCache.writeTo(cached, out)
+                            : out -> Files.copy(path, out);
                         return ResponseEntity.ok()
                             .contentType(MediaType.APPLICATION_PDF)
                             .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=buyer-template-" + id + ".pdf")
@@ -369,7 +408,8 @@ public class TemplateController {
                             .header("Pragma", "no-cache")
                             .header("Expires", "0")
                                 .eTag(eTag)
-                                .body(bytes);
+                                .contentLength(Files.size(path))
+                                .body(body);
                     } catch (IOException e) {
                         return ResponseEntity.internalServerError().build();
                     }
@@ -1,10 +1,23 @@
 package com.utilityzone.controller;
 
+import com.utilityzone.payload.request.TimezoneBatchRequest;
+import com.utilityzone.service.TimezoneCatalogService;
+import com.utilityzone.service.TimezoneConversionService;
+import com.utilityzone.service.TimezoneSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -14,68 +27,65 @@ import java.time.zone.ZoneRulesException;
 @RestController
 @RequestMapping("/api/timezone")
 public class TimezoneController {
-    
-    // Major timezones for quick selection
-    private static final List<String> MAJOR_TIMEZONES = List.of(
-        "America/New_York",      // New York, USA
-        "America/Los_Angeles",   // Los Angeles, USA
-        "America/Chicago",       // Chicago, USA
-        "Europe/London",         // London, UK
-        "Europe/Paris",          // Paris, France
-        "Europe/Berlin",         // Berlin, Germany
-        "Asia/Kolkata",          // Mumbai/New Delhi/Kolkata, India (IST)
-        "Asia/Tokyo",            // Tokyo, Japan
-        "Asia/Shanghai",         // Shanghai, China
-        "Asia/Dubai",            // Dubai, UAE
-        "Asia/Singapore",        // Singapore
-        "Australia/Sydney",      // Sydney, Australia
-        "Pacific/Auckland"       // Auckland, New Zealand
-    );
 
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z");
+    @Autowired
+    private TimezoneCatalogService timezoneCatalogService;
+
+    @Autowired
+    private TimezoneConversionService timezoneConversionService;
+
+    @Autowired
+    private TimezoneSearchIndex timezoneSearchIndex;
+
+    private static final DateTimeFormatter formatter = TimezoneConversionService.DISPLAY_FORMAT;
 
     @GetMapping("/all-timezones")
-    public ResponseEntity<Map<String, Object>> getAllTimezones() {
-        Set<String> zoneIds = ZoneId.getAvailableZoneIds();
-        List<String> timezoneList = new ArrayList<>();
-        DateTimeFormatter abbrFormatter = DateTimeFormatter.ofPattern("z");
-        for (String zoneId : zoneIds) {
-            try {
-                ZoneId zid = ZoneId.of(zoneId);
-                ZonedDateTime now = ZonedDateTime.now(zid);
-                String abbreviation = abbrFormatter.format(now); // More robust abbreviation
-                String offset = now.getOffset().toString();
-                String info = zoneId + " - " + abbreviation + " (UTC" + offset + ")";
-                timezoneList.add(info);
-            } catch (Exception e) {
-                // skip invalid zone
-            }
-        }
-        Collections.sort(timezoneList);
-        return ResponseEntity.ok(Map.of(
-            "data", Map.of("timezones", timezoneList)
-        ));
+    public ResponseEntity<Map<String, Object>> getAllTimezones(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        TimezoneCatalogService.Catalog catalog = timezoneCatalogService.current();
+        return catalogResponse(catalog, catalog.getLabels(), catalog.getETag(), ifNoneMatch);
     }
 
     @GetMapping("/major-timezones")
-    public ResponseEntity<Map<String, Object>> getMajorTimezones() {
-        List<String> timezoneList = new ArrayList<>();
-        DateTimeFormatter abbrFormatter = DateTimeFormatter.ofPattern("z");
-        for (String zoneId : MAJOR_TIMEZONES) {
-            try {
-                ZoneId zid = ZoneId.of(zoneId);
-                ZonedDateTime now = ZonedDateTime.now(zid);
-                String abbreviation = abbrFormatter.format(now);
-                String offset = now.getOffset().toString();
-                String info = zoneId + " - " + abbreviation + " (UTC" + offset + ")";
-                timezoneList.add(info);
-            } catch (Exception e) {
-                // skip invalid zone
-            }
+    public ResponseEntity<Map<String, Object>> getMajorTimezones(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        TimezoneCatalogService.Catalog catalog = timezoneCatalogService.current();
+        return catalogResponse(catalog, catalog.getMajorLabels(), catalog.getMajorETag(), ifNoneMatch);
+    }
+
+    // The lists only change when some zone switches offset, so clients may cache them until then
+    private ResponseEntity<Map<String, Object>> catalogResponse(TimezoneCatalogService.Catalog catalog, List<String> timezones,
+                                                                String eTag, String ifNoneMatch) {
+        long untilTransition = Duration.between(Instant.now(), catalog.getValidUntil()).getSeconds();
+        String cacheControl = "public, max-age=" + Math.max(0, Math.min(untilTransition, 86400));
+        if (ifNoneMatch != null && ifNoneMatch.equals(eTag)) {
+            return ResponseEntity.status(304)
+                .header("Cache-Control", cacheControl)
+                .eTag(eTag)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .header("Cache-Control", cacheControl)
+            .eTag(eTag)
+            .body(Map.of("data", Map.of("timezones", timezones)));
+    }
+
+    // Typeahead over zone ids, cities, abbreviations and offsets, e.g. ?q=kolk, ?q=new yor, ?q=IST, ?q=+5:30
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchTimezones(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<Map<String, String>> results = new ArrayList<>();
+        for (TimezoneSearchIndex.Hit hit : timezoneSearchIndex.search(q, limit)) {
+            results.add(Map.of(
+                "id", hit.entry().zoneId(),
+                "city", hit.city(),
+                "abbreviation", hit.entry().abbreviation(),
+                "offset", hit.entry().offset().toString(),
+                "label", hit.entry().label()
+            ));
         }
-        return ResponseEntity.ok(Map.of(
-            "data", Map.of("timezones", timezoneList)
-        ));
+        return ResponseEntity.ok(Map.of("data", Map.of("results", results)));
     }
 
     @GetMapping("/current")
@@ -103,14 +113,13 @@ public class TimezoneController {
             @RequestParam(required = false) String dateTime) {
         
         try {
-            ZoneId sourceZone = ZoneId.of(fromTimezone);
-            ZoneId targetZone = ZoneId.of(toTimezone);
+            ZoneId sourceZone = timezoneConversionService.resolve(fromTimezone);
+            ZoneId targetZone = timezoneConversionService.resolve(toTimezone);
             
             ZonedDateTime sourceTime;
             if (dateTime != null && !dateTime.trim().isEmpty()) {
                 // If dateTime is provided, parse it (expecting format: yyyy-MM-dd HH:mm:ss)
-                sourceTime = ZonedDateTime.parse(dateTime.trim() + " " + fromTimezone,
-                    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z"));
+                sourceTime = timezoneConversionService.parseLocal(dateTime, sourceZone).atZone(sourceZone);
             } else {
                 // Use current time if no dateTime provided
                 sourceTime = ZonedDateTime.now(sourceZone);
@@ -136,4 +145,85 @@ public class TimezoneController {
                 .body(Map.of("message", "Error: " + e.getMessage() + ". For custom time, use format: yyyy-MM-dd HH:mm:ss"));
         }
     }
+
+    // Many local times (in one source zone) converted into many zones, e.g. one meeting in 12 cities.
+    // The response is array-shaped: times[row][col] for row = input time, col = zone.
+    @PostMapping("/convert/batch")
+    public ResponseEntity<?> convertBatch(@Valid @RequestBody TimezoneBatchRequest request) {
+        try {
+            ZoneId sourceZone = timezoneConversionService.resolve(request.getFromTimezone());
+            Instant[] instants = new Instant[request.getTimes().size()];
+            for (int i = 0; i < instants.length; i++) {
+                instants[i] = timezoneConversionService.parseLocal(request.getTimes().get(i), sourceZone);
+            }
+            return ResponseEntity.ok(Map.of("data", gridBody(instants, resolveZones(request.getZones()))));
+        } catch (ZoneRulesException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("message", "Invalid timezone. Please use one of the supported timezones from /timezones endpoint"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("message", "Error: " + e.getMessage() + ". For custom time, use format: yyyy-MM-dd HH:mm:ss"));
+        }
+    }
+
+    // Meeting-planner grid: one row per step starting at date/start in the source zone, one column per zone
+    //http://localhost:8080/api/timezone/grid?fromTimezone=Europe/London&date=2024-03-01&zones=Asia/Kolkata,America/New_York
+    @GetMapping("/grid")
+    public ResponseEntity<?> scheduleGrid(
+            @RequestParam String fromTimezone,
+            @RequestParam String date,
+            @RequestParam List<String> zones,
+            @RequestParam(defaultValue = "00:00") String start,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "60") int stepMinutes) {
+        try {
+            if (hours < 1 || hours > 168 || stepMinutes < 15 || stepMinutes > 1440) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("message", "hours must be 1-168 and stepMinutes 15-1440"));
+            }
+            ZoneId sourceZone = timezoneConversionService.resolve(fromTimezone);
+            List<ZoneId> targets = new ArrayList<>();
+            targets.add(sourceZone);
+            targets.addAll(resolveZones(zones));
+            // Step in real time from the first slot so DST changes show up as shifted local times
+            Instant first = LocalDate.parse(date).atTime(LocalTime.parse(start)).atZone(sourceZone).toInstant();
+            Instant[] instants = new Instant[hours * 60 / stepMinutes];
+            for (int i = 0; i < instants.length; i++) {
+                instants[i] = first.plusSeconds((long) i * stepMinutes * 60);
+            }
+            return ResponseEntity.ok(Map.of("data", gridBody(instants, targets)));
+        } catch (ZoneRulesException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("message", "Invalid timezone. Please use one of the supported timezones from /timezones endpoint"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("message", "Error: " + e.getMessage() + ". Use date yyyy-MM-dd and start HH:mm"));
+        }
+    }
+
+    private List<ZoneId> resolveZones(List<String> ids) {
+        List<ZoneId> zones = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            zones.add(timezoneConversionService.resolve(id.trim()));
+        }
+        return zones;
+    }
+
+    private Map<String, Object> gridBody(Instant[] instants, List<ZoneId> zones) {
+        TimezoneConversionService.Grid grid = timezoneConversionService.convert(instants, zones);
+        List<String> zoneIds = new ArrayList<>(zones.size());
+        for (ZoneId zone : zones) {
+            zoneIds.add(zone.getId());
+        }
+        String[] utc = new String[instants.length];
+        for (int i = 0; i < instants.length; i++) {
+            utc[i] = instants[i].toString();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("zones", zoneIds);
+        body.put("instants", utc);
+        body.put("times", grid.times());
+        body.put("offsets", grid.offsets());
+        return body;
+    }
 }
@@ -1,12 +1,14 @@
 package com.utilityzone.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles",
+        indexes = @Index(name = "idx_article_status_created", columnList = "status, created_at, id"))
 public class Article {
 
     @Id
@@ -24,8 +26,11 @@ public class Article {
     private String content;
 
     @ElementCollection(fetch = FetchType.EAGER) // Use EAGER fetching to avoid lazy loading issues
-    @CollectionTable(name = "article_tags", joinColumns = @JoinColumn(name = "article_id"))
+    @CollectionTable(name = "article_tags", joinColumns = @JoinColumn(name = "article_id"),
+            indexes = @Index(name = "idx_article_tags_tag", columnList = "tag, article_id"))
     @Column(name = "tag")
+    // Load tags for up to 100 articles per IN (...) query instead of one select per article
+    @BatchSize(size = 100)
     private Set<String> tags = new HashSet<>();
 
     @Column(name = "read_time")
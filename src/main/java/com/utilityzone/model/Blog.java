@@ -6,6 +6,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import java.time.LocalDateTime;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -13,7 +14,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs",
+        indexes = @Index(name = "idx_blog_status_publish", columnList = "status, publish_date, id"))
 public class Blog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,34 @@
+package com.utilityzone.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+
+/** One chapter of an ebook, ordered by position; only the columns that changed are updated. */
+@Entity
+@Table(name = "ebook_chapters")
+@DynamicUpdate
+@Getter
+@Setter
+public class EbookChapterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ebook_id", nullable = false)
+    private Long ebookId;
+
+    @Column(name = "position", nullable = false)
+    private int position;
+
+    @Column(name = "title", length = 500)
+    private String title;
+
+    @Column(name = "content", columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "filename", length = 255)
+    private String filename;
+}
@@ -24,9 +24,13 @@ public class EbookCoverEntity {
     // Store as PostgreSQL BYTEA. Using @Lob on PostgreSQL maps to OID (bigint),
     // which caused a type mismatch when our column is BYTEA.
     // So we explicitly map to bytea and avoid @Lob.
-    @Column(name = "data", nullable = false, columnDefinition = "bytea")
+    // Legacy: covers now live in BlobStore under content_hash; this is null once a row is migrated.
+    @Column(name = "data", columnDefinition = "bytea")
     private byte[] data;
 
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
     @Column(name = "content_hash", length = 64, unique = true)
     private String contentHash;
 
@@ -3,10 +3,17 @@ package com.utilityzone.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.Instant;
 
+/**
+ * An ebook's own fields. Chapters and research notes are rows in ebook_chapters / ebook_notes, so an
+ * autosave writes only what changed; {@code @DynamicUpdate} keeps the UPDATE to the modified columns.
+ */
 @Entity
 @Table(name = "ebooks")
+@DynamicUpdate
 @Getter
 @Setter
 public class EbookEntity {
@@ -17,7 +24,8 @@ public class EbookEntity {
     @Column(name = "title", nullable = false, length = 255)
     private String title;
 
-    @Column(name = "book_json", nullable = false, columnDefinition = "TEXT")
+    // Legacy whole-book JSON; null once the row has been split into columns and child rows
+    @Column(name = "book_json", columnDefinition = "TEXT")
     private String bookJson;
 
     @Column(name = "status", length = 20)
@@ -26,6 +34,12 @@ public class EbookEntity {
     @Column(name = "cover_url", length = 500)
     private String coverUrl;
 
+    @Column(name = "preface", columnDefinition = "TEXT")
+    private String preface;
+
+    @Column(name = "disclaimer", columnDefinition = "TEXT")
+    private String disclaimer;
+
     @Column(name = "updated_at")
     private Instant updatedAt;
 }
@@ -0,0 +1,40 @@
+package com.utilityzone.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+
+/**
+ * Research and ideation material attached to an ebook. Single-valued kinds (chapter ideas, research
+ * notes, data/stats, personal thoughts) have one row at position 0; NotebookLM questions have a row each.
+ */
+@Entity
+@Table(name = "ebook_notes")
+@DynamicUpdate
+@Getter
+@Setter
+public class EbookNoteEntity {
+
+    public static final String CHAPTER_IDEAS = "chapter_ideas";
+    public static final String RESEARCH_NOTES = "research_notes";
+    public static final String DATA_STATS_EXAMPLES = "data_stats_examples";
+    public static final String PERSONAL_THOUGHTS = "personal_thoughts";
+    public static final String NOTEBOOKLM_QUESTION = "notebooklm_question";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ebook_id", nullable = false)
+    private Long ebookId;
+
+    @Column(name = "kind", nullable = false, length = 30)
+    private String kind;
+
+    @Column(name = "position", nullable = false)
+    private int position;
+
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+}
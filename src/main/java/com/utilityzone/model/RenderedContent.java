@@ -0,0 +1,61 @@
+package com.utilityzone.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.Instant;
+
+/**
+ * Publish-time rendering of an article or blog body: sanitized HTML, its deflate-compressed bytes
+ * and the page metadata derived from it. One row per source, re-rendered when the source changes.
+ */
+@Entity
+@Table(name = "rendered_content",
+       uniqueConstraints = @UniqueConstraint(name = "ux_rendered_content_source", columnNames = {"source_type", "source_id"}))
+@Getter
+@Setter
+public class RenderedContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_type", nullable = false, length = 20)
+    private String sourceType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    // Bumped on every re-render; part of the ETag
+    @Column(name = "version", nullable = false)
+    private int version;
+
+    // SHA-256 of the source body, so unchanged content is not re-rendered
+    @Column(name = "source_hash", nullable = false, length = 64)
+    private String sourceHash;
+
+    @Column(name = "html", nullable = false, columnDefinition = "TEXT")
+    private String html;
+
+    // Same bytes as html (UTF-8), zlib/deflate compressed; see EbookCoverEntity for why not @Lob
+    @Column(name = "html_deflate", nullable = false, columnDefinition = "bytea")
+    private byte[] htmlDeflate;
+
+    @Column(name = "toc_json", nullable = false, columnDefinition = "TEXT")
+    private String tocJson;
+
+    @Column(name = "excerpt", length = 1000)
+    private String excerpt;
+
+    @Column(name = "word_count", nullable = false)
+    private int wordCount;
+
+    @Column(name = "read_time_minutes", nullable = false)
+    private int readTimeMinutes;
+
+    @Column(name = "etag", nullable = false, length = 100)
+    private String etag;
+
+    @Column(name = "rendered_at")
+    private Instant renderedAt;
+}
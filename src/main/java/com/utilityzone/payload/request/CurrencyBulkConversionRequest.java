@@ -0,0 +1,103 @@
+package com.utilityzone.payload.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Either a list of independent (amount, from, to) items, or one amount/from converted into every
+ * code in {@code targets}. Both forms may be sent together; items are answered first.
+ */
+public class CurrencyBulkConversionRequest {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @Size(max = MAX_ITEMS, message = "At most 1000 conversions per request")
+    private List<@NotNull(message = "Items must not be null") @Valid Item> items;
+
+    // One amount against many targets
+    private BigDecimal amount;
+    private String from;
+
+    @Size(max = MAX_ITEMS, message = "At most 1000 target currencies per request")
+    private List<@NotBlank(message = "Target currency is required") String> targets;
+
+    public static class Item {
+        @NotNull(message = "Amount is required")
+        private BigDecimal amount;
+
+        @NotBlank(message = "Source currency is required")
+        private String from;
+
+        @NotBlank(message = "Target currency is required")
+        private String to;
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public void setFrom(String from) {
+            this.from = from;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public void setTo(String to) {
+            this.to = to;
+        }
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public List<String> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(List<String> targets) {
+        this.targets = targets;
+    }
+
+    public boolean hasItems() {
+        return items != null && !items.isEmpty();
+    }
+
+    public boolean hasTargets() {
+        return targets != null && !targets.isEmpty();
+    }
+}
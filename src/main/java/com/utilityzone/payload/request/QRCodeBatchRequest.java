@@ -0,0 +1,151 @@
+package com.utilityzone.payload.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class QRCodeBatchRequest {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @Valid
+    @NotEmpty(message = "At least one QR code item is required")
+    @Size(max = MAX_ITEMS, message = "A batch may contain at most 1000 QR codes")
+    private List<Item> items;
+
+    // "zip" (one PNG per item) or "pdf" (printable label sheet)
+    private String format = "zip";
+
+    // Shared rendering options applied to every item in the batch
+    @Min(value = 50, message = "Width must be at least 50px")
+    @Max(value = 2000, message = "Width must be at most 2000px")
+    private int width = 300;
+
+    @Min(value = 50, message = "Height must be at least 50px")
+    @Max(value = 2000, message = "Height must be at most 2000px")
+    private int height = 300;
+
+    private String errorCorrection = "L";
+    private int margin = 4;
+    private String foregroundColor = "#000000";
+    private String backgroundColor = "#FFFFFF";
+
+    // Label sheet layout (pdf format only)
+    @Min(value = 1, message = "Columns must be at least 1")
+    @Max(value = 6, message = "Columns must be at most 6")
+    private int columns = 3;
+
+    public static class Item {
+        @NotBlank(message = "Content for QR code is required")
+        private String content;
+
+        // Optional caption printed under the code on label sheets and used as the ZIP entry name
+        private String label;
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+
+    /** Builds the single-code request for one item using the batch's shared rendering options. */
+    public QRCodeRequest toRequest(Item item) {
+        QRCodeRequest request = new QRCodeRequest();
+        request.setContent(item.getContent());
+        request.setWidth(width);
+        request.setHeight(height);
+        request.setErrorCorrection(errorCorrection);
+        request.setMargin(margin);
+        request.setForegroundColor(foregroundColor);
+        request.setBackgroundColor(backgroundColor);
+        return request;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public String getErrorCorrection() {
+        return errorCorrection;
+    }
+
+    public void setErrorCorrection(String errorCorrection) {
+        this.errorCorrection = errorCorrection;
+    }
+
+    public int getMargin() {
+        return margin;
+    }
+
+    public void setMargin(int margin) {
+        this.margin = margin;
+    }
+
+    public String getForegroundColor() {
+        return foregroundColor;
+    }
+
+    public void setForegroundColor(String foregroundColor) {
+        this.foregroundColor = foregroundColor;
+    }
+
+    public String getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    public void setBackgroundColor(String backgroundColor) {
+        this.backgroundColor = backgroundColor;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public void setColumns(int columns) {
+        this.columns = columns;
+    }
+}
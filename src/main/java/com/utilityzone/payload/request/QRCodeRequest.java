@@ -9,6 +9,13 @@ public class QRCodeRequest {
     private int width = 300;  // default width
     private int height = 300; // default height
 
+    // Rendering options; defaults match ZXing's QRCodeWriter defaults so existing callers see identical output
+    private String errorCorrection = "L"; // L, M, Q or H
+    private int margin = 4;               // quiet zone in modules
+    private String foregroundColor = "#000000";
+    private String backgroundColor = "#FFFFFF";
+    private String format = "PNG";        // PNG or SVG
+
     // Getters and Setters
     public String getContent() {
         return content;
@@ -33,4 +40,58 @@ public class QRCodeRequest {
     public void setHeight(int height) {
         this.height = height;
     }
-}
\ No newline at end of file
+
+    public String getErrorCorrection() {
+        return errorCorrection;
+    }
+
+    public void setErrorCorrection(String errorCorrection) {
+        this.errorCorrection = errorCorrection;
+    }
+
+    public int getMargin() {
+        return margin;
+    }
+
+    public void setMargin(int margin) {
+        this.margin = margin;
+    }
+
+    public String getForegroundColor() {
+        return foregroundColor;
+    }
+
+    public void setForegroundColor(String foregroundColor) {
+        this.foregroundColor = foregroundColor;
+    }
+
+    public String getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    public void setBackgroundColor(String backgroundColor) {
+        this.backgroundColor = backgroundColor;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * Cache key covering every input that affects the rendered image.
+     * Content goes last so any delimiter characters inside it cannot collide with the fixed fields.
+     */
+    public String cacheKey() {
+        return (format != null ? format.trim().toUpperCase() : "PNG")
+                + "|" + width + "x" + height
+                + "|" + (errorCorrection != null ? errorCorrection.trim().toUpperCase() : "L")
+                + "|" + margin
+                + "|" + (foregroundColor != null ? foregroundColor.trim().toUpperCase() : "")
+                + "|" + (backgroundColor != null ? backgroundColor.trim().toUpperCase() : "")
+                + "|" + content;
+    }
+}
@@ -0,0 +1,47 @@
+package com.utilityzone.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TimezoneBatchRequest {
+
+    // Zone the local times are given in
+    @NotBlank(message = "Source timezone is required")
+    private String fromTimezone;
+
+    // Local times as "yyyy-MM-dd HH:mm:ss"
+    @NotEmpty(message = "At least one time is required")
+    @Size(max = 500, message = "At most 500 times per request")
+    private List<String> times;
+
+    @NotEmpty(message = "At least one target timezone is required")
+    @Size(max = 100, message = "At most 100 target timezones per request")
+    private List<String> zones;
+
+    public String getFromTimezone() {
+        return fromTimezone;
+    }
+
+    public void setFromTimezone(String fromTimezone) {
+        this.fromTimezone = fromTimezone;
+    }
+
+    public List<String> getTimes() {
+        return times;
+    }
+
+    public void setTimes(List<String> times) {
+        this.times = times;
+    }
+
+    public List<String> getZones() {
+        return zones;
+    }
+
+    public void setZones(List<String> zones) {
+        this.zones = zones;
+    }
+}
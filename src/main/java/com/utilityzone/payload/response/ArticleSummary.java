@@ -0,0 +1,80 @@
+package com.utilityzone.payload.response;
+
+import com.utilityzone.model.ArticleCategory;
+import com.utilityzone.model.PublicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Article as shown in list endpoints: everything except the content body, which is only served
+ * by {@code GET /api/articles/{id}}. JSON field names match {@link com.utilityzone.model.Article}.
+ */
+public class ArticleSummary {
+    private Long id;
+    private String title;
+    private String description;
+    private List<String> tags = new ArrayList<>();
+    private String readTime;
+    private ArticleCategory category;
+    private PublicationStatus status;
+    private String header;
+    private LocalDateTime publishDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public ArticleSummary() {}
+
+    /** One row of the article/tag join; rows of the same article are merged with {@link #addTags}. */
+    public ArticleSummary(Long id, String title, String description, String readTime, ArticleCategory category,
+                          PublicationStatus status, String header, LocalDateTime publishDate,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, String tag) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.readTime = readTime;
+        this.category = category;
+        this.status = status;
+        this.header = header;
+        this.publishDate = publishDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        if (tag != null) this.tags.add(tag);
+    }
+
+    public void addTags(List<String> more) { this.tags.addAll(more); }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+
+    public String getReadTime() { return readTime; }
+    public void setReadTime(String readTime) { this.readTime = readTime; }
+
+    public ArticleCategory getCategory() { return category; }
+    public void setCategory(ArticleCategory category) { this.category = category; }
+
+    public PublicationStatus getStatus() { return status; }
+    public void setStatus(PublicationStatus status) { this.status = status; }
+
+    public String getHeader() { return header; }
+    public void setHeader(String header) { this.header = header; }
+
+    public LocalDateTime getPublishDate() { return publishDate; }
+    public void setPublishDate(LocalDateTime publishDate) { this.publishDate = publishDate; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,39 @@
+package com.utilityzone.payload.response;
+
+import java.math.BigDecimal;
+
+public class CurrencyConversionResponse {
+    private final String from;
+    private final String to;
+    private final BigDecimal amount;
+    private final BigDecimal result;
+    private final BigDecimal rate;
+
+    public CurrencyConversionResponse(String from, String to, BigDecimal amount, BigDecimal result, BigDecimal rate) {
+        this.from = from;
+        this.to = to;
+        this.amount = amount;
+        this.result = result;
+        this.rate = rate;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BigDecimal getResult() {
+        return result;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+}
@@ -3,10 +3,15 @@ package com.utilityzone.repository;
 import com.utilityzone.model.Article;
 import com.utilityzone.model.ArticleCategory;
 import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.ArticleSummary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 public interface ArticleRepository extends JpaRepository<Article, Long> {
     List<Article> findByCategory(ArticleCategory category);
     List<Article> findByTagsContaining(String tag);
+    List<Article> findByHeader(String header);
 
     // Ordered variants: newest first by createdAt, with id as deterministic tiebreaker
     List<Article> findAllByOrderByCreatedAtDescIdDesc();
@@ -32,10 +38,44 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     List<Article> findByCategoryAndStatusOrderByCreatedAtAscIdAsc(ArticleCategory category, PublicationStatus status);
     List<Article> findByTagsContainingAndStatusOrderByCreatedAtAscIdAsc(String tag, PublicationStatus status);
 
+    // Admin drafts list returns full entities; fetch their tags in the same query
+    @EntityGraph(attributePaths = "tags")
     List<Article> findAllByStatusOrderByCreatedAtDescIdDesc(PublicationStatus status);
     List<Article> findByCategoryAndStatusOrderByCreatedAtDescIdDesc(ArticleCategory category, PublicationStatus status);
     List<Article> findByTagsContainingAndStatusOrderByCreatedAtDescIdDesc(String tag, PublicationStatus status);
 
+    // List views without content: one row per (article, tag), merged into one summary per article by the caller.
+    // Ordered oldest first with id as tiebreaker so rows of an article are adjacent.
+    String SUMMARY_ROWS = "select new com.utilityzone.payload.response.ArticleSummary(a.id, a.title, a.description, a.readTime, "
+            + "a.category, a.status, a.header, a.publishDate, a.createdAt, a.updatedAt, t) from Article a left join a.tags t ";
+
+    @Query(SUMMARY_ROWS + "where a.status = :status order by a.createdAt asc, a.id asc, t asc")
+    List<ArticleSummary> findSummaryRowsByStatus(@Param("status") PublicationStatus status);
+
+    @Query(SUMMARY_ROWS + "where a.category = :category and a.status = :status order by a.createdAt asc, a.id asc, t asc")
+    List<ArticleSummary> findSummaryRowsByCategoryAndStatus(@Param("category") ArticleCategory category, @Param("status") PublicationStatus status);
+
+    // Article ids come from the (tag, article_id) index on article_tags rather than a per-article probe
+    @Query(SUMMARY_ROWS + "where a.id in (select ta.id from Article ta join ta.tags tt where tt = :tag) "
+            + "and a.status = :status order by a.createdAt asc, a.id asc, t asc")
+    List<ArticleSummary> findSummaryRowsByTagAndStatus(@Param("tag") String tag, @Param("status") PublicationStatus status);
+
+    // Keyset pages of published article ids in list order (createdAt, id); backed by idx_article_status_created
+    @Query("select a.id from Article a where a.status = :status order by a.createdAt asc, a.id asc")
+    List<Long> findIdsByStatusFirstPage(@Param("status") PublicationStatus status, Pageable limit);
+
+    @Query("select a.id from Article a where a.status = :status and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id)) "
+            + "order by a.createdAt asc, a.id asc")
+    List<Long> findIdsByStatusAfter(@Param("status") PublicationStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Pageable limit);
+
+    @Query(SUMMARY_ROWS + "where a.id in :ids order by a.createdAt asc, a.id asc, t asc")
+    List<ArticleSummary> findSummaryRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // id + last modification of every article in a status, for reconciling the search index without loading content
+    @Query("select a.id, a.updatedAt from Article a where a.status = :status")
+    List<Object[]> findIdAndUpdatedAtByStatus(@Param("status") PublicationStatus status);
+
     @Modifying
     @Transactional
     @Query("update Article a set a.header = :newName where a.header = :oldName")
@@ -5,7 +5,10 @@ import com.utilityzone.model.PublicationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +19,26 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     List<Blog> findAllByStatusOrderByPublishDateDesc(PublicationStatus status);
     Page<Blog> findAllByStatus(PublicationStatus status, Pageable pageable);
     List<Blog> findAllByStatus(PublicationStatus status);
+    List<Blog> findAllByStatusOrderByCreatedAtDescIdDesc(PublicationStatus status);
+
+    // Keyset pages, newest first by (publishDate, id). Blogs published without a date sort by createdAt,
+    // so every row has a key; backed by idx_blog_status_listed
+    String LISTED_AT = "coalesce(b.publishDate, b.createdAt)";
+
+    @Query("select b from Blog b where b.status = :status order by " + LISTED_AT + " desc, b.id desc")
+    List<Blog> findByStatusFirstPage(@Param("status") PublicationStatus status, Pageable limit);
+
+    @Query("select b from Blog b where b.status = :status and (" + LISTED_AT + " < :listedAt or (" + LISTED_AT + " = :listedAt and b.id < :id)) "
+            + "order by " + LISTED_AT + " desc, b.id desc")
+    List<Blog> findByStatusBefore(@Param("status") PublicationStatus status, @Param("listedAt") LocalDateTime listedAt,
+                                  @Param("id") Long id, Pageable limit);
 
     Optional<Blog> findFirstByTitleIgnoreCaseAndAuthorAndStatus(String title, String author, PublicationStatus status);
 
     // For robust draft upsert, fetch drafts for an author and match in-service with normalized titles
     List<Blog> findAllByAuthorAndStatus(String author, PublicationStatus status);
+
+    // id + last modification of every blog in a status, for reconciling the search index without loading content
+    @Query("select b.id, b.updatedAt from Blog b where b.status = :status")
+    List<Object[]> findIdAndUpdatedAtByStatus(@Param("status") PublicationStatus status);
 }
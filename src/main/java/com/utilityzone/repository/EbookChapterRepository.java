@@ -0,0 +1,25 @@
+package com.utilityzone.repository;
+
+import com.utilityzone.model.EbookChapterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EbookChapterRepository extends JpaRepository<EbookChapterEntity, Long> {
+
+    List<EbookChapterEntity> findByEbookIdOrderByPosition(Long ebookId);
+
+    // All chapters of several books in one query (listings)
+    List<EbookChapterEntity> findByEbookIdInOrderByEbookIdAscPositionAsc(Collection<Long> ebookIds);
+
+    Optional<EbookChapterEntity> findByEbookIdAndPosition(Long ebookId, int position);
+
+    @Modifying
+    @Query("delete from EbookChapterEntity c where c.ebookId = :ebookId")
+    int deleteByEbook(@Param("ebookId") Long ebookId);
+}
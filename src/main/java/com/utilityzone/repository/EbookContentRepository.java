@@ -5,6 +5,10 @@ import org.springframework.stereotype.Repository;
 
 import com.utilityzone.model.EbookContentEntity;
 
+import java.util.Optional;
+
 @Repository
 public interface EbookContentRepository extends JpaRepository<EbookContentEntity, Long> {
+    // The site uses a single row
+    Optional<EbookContentEntity> findFirstByOrderByIdAsc();
 }
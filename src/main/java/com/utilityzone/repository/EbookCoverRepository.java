@@ -2,7 +2,14 @@ package com.utilityzone.repository;
 
 import com.utilityzone.model.EbookCoverEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface EbookCoverRepository extends JpaRepository<EbookCoverEntity, Long> {
 	java.util.Optional<EbookCoverEntity> findByContentHash(String contentHash);
+
+	// Rows whose image bytes are still in the database rather than the blob store
+	@Query("select c.id from EbookCoverEntity c where c.data is not null order by c.id")
+	List<Long> findIdsWithInlineData();
 }
@@ -0,0 +1,21 @@
+package com.utilityzone.repository;
+
+import com.utilityzone.model.EbookNoteEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EbookNoteRepository extends JpaRepository<EbookNoteEntity, Long> {
+
+    List<EbookNoteEntity> findByEbookIdOrderByKindAscPositionAsc(Long ebookId);
+
+    List<EbookNoteEntity> findByEbookIdInOrderByEbookIdAscKindAscPositionAsc(Collection<Long> ebookIds);
+
+    @Modifying
+    @Query("delete from EbookNoteEntity n where n.ebookId = :ebookId")
+    int deleteByEbook(@Param("ebookId") Long ebookId);
+}
@@ -2,11 +2,30 @@ package com.utilityzone.repository;
 
 import com.utilityzone.model.EbookEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface EbookRepository extends JpaRepository<EbookEntity, Long> {
     List<EbookEntity> findAllByStatus(String status);
+
+    // Rows still holding the old whole-book JSON
+    @Query("select e.id from EbookEntity e where e.bookJson is not null order by e.id")
+    List<Long> findIdsWithBookJson();
+
+    @Query("select e.id from EbookEntity e")
+    List<Long> findAllIds();
+
+    // Just the columns the storefront catalog shows
+    interface CatalogRow {
+        Long getId();
+        String getTitle();
+        String getCoverUrl();
+        String getStatus();
+    }
+
+    List<CatalogRow> findByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,27 @@
+package com.utilityzone.repository;
+
+import com.utilityzone.model.RenderedContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RenderedContentRepository extends JpaRepository<RenderedContent, Long> {
+
+    Optional<RenderedContent> findBySourceTypeAndSourceId(String sourceType, Long sourceId);
+
+    @Modifying
+    @Query("delete from RenderedContent r where r.sourceType = :type and r.sourceId = :id")
+    int deleteBySource(@Param("type") String sourceType, @Param("id") Long sourceId);
+
+    @Query("select a.id from Article a where a.status = com.utilityzone.model.PublicationStatus.PUBLISHED and not exists "
+         + "(select 1 from RenderedContent r where r.sourceType = 'article' and r.sourceId = a.id)")
+    List<Long> findUnrenderedPublishedArticleIds();
+
+    @Query("select b.id from Blog b where b.status = com.utilityzone.model.PublicationStatus.PUBLISHED and not exists "
+         + "(select 1 from RenderedContent r where r.sourceType = 'blog' and r.sourceId = b.id)")
+    List<Long> findUnrenderedPublishedBlogIds();
+}
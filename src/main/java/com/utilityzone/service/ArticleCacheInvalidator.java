@@ -0,0 +1,178 @@
+package com.utilityzone.service;
+
+import com.utilityzone.config.CacheReloaders;
+import com.utilityzone.model.Article;
+import com.utilityzone.model.ArticleCategory;
+import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.ArticleSummary;
+import com.utilityzone.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Targeted invalidation for the article caches.
+ *
+ * A write only touches the cache entries that can contain the article: its {@code articleById}
+ * entry, the category and tag lists it was in before and is in after the write, and the full list.
+ * Drafts are in no public list, so a draft edit only evicts {@code articleById}. Affected lists
+ * are rebuilt on a background thread and swapped in (refresh-ahead): readers keep getting the
+ * previous list for the few milliseconds the rebuild takes instead of hitting the database.
+ * Also owns the summary queries behind the list caches so a rebuild loads exactly what a miss would.
+ */
+@Component
+public class ArticleCacheInvalidator {
+    private static final Logger log = LoggerFactory.getLogger(ArticleCacheInvalidator.class);
+
+    private final ArticleRepository articleRepository;
+    private final CacheManager cacheManager;
+    private final ResponseCache responseCache;
+    private final Set<ListKey> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "article-cache-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Autowired
+    public ArticleCacheInvalidator(ArticleRepository articleRepository, CacheManager cacheManager,
+                                   ResponseCache responseCache) {
+        this.articleRepository = articleRepository;
+        this.cacheManager = cacheManager;
+        this.responseCache = responseCache;
+    }
+
+    // Background refresh (app.cache.specs.<name>.refresh-after-write) reuses the list loaders; the
+    // stored responses built from the previous lists go with them
+    @Autowired
+    void registerReloaders(CacheReloaders reloaders) {
+        Runnable dropResponses = () -> responseCache.invalidate(ResponseCache.ARTICLES);
+        reloaders.register("articles", key -> loadAll(), dropResponses);
+        reloaders.register("articlesByCategory", key -> loadByCategory((ArticleCategory) key), dropResponses);
+        reloaders.register("articlesByTag", key -> loadByTag((String) key), dropResponses);
+    }
+
+    /** The cache keys an article contributes to: its id plus, when published, its category and tags. */
+    public record Footprint(Long id, boolean published, ArticleCategory category, Set<String> tags) {
+        public static Footprint of(Article a) {
+            return new Footprint(a.getId(), a.getStatus() == PublicationStatus.PUBLISHED, a.getCategory(),
+                    a.getTags() != null ? Set.copyOf(a.getTags()) : Set.of());
+        }
+    }
+
+    private record ListKey(String cache, Object key) {}
+
+    public List<ArticleSummary> loadAll() {
+        // Public list: only published articles, oldest first for deterministic chronological order
+        return mergeTags(articleRepository.findSummaryRowsByStatus(PublicationStatus.PUBLISHED));
+    }
+
+    public List<ArticleSummary> loadByCategory(ArticleCategory category) {
+        return mergeTags(articleRepository.findSummaryRowsByCategoryAndStatus(category, PublicationStatus.PUBLISHED));
+    }
+
+    public List<ArticleSummary> loadByTag(String tag) {
+        return mergeTags(articleRepository.findSummaryRowsByTagAndStatus(tag, PublicationStatus.PUBLISHED));
+    }
+
+    // Rows of one article are adjacent (ordered by createdAt, id); fold their tags into the first
+    static List<ArticleSummary> mergeTags(List<ArticleSummary> rows) {
+        List<ArticleSummary> out = new ArrayList<>();
+        ArticleSummary current = null;
+        for (ArticleSummary row : rows) {
+            if (current != null && current.getId().equals(row.getId())) {
+                current.addTags(row.getTags());
+            } else {
+                current = row;
+                out.add(row);
+            }
+        }
+        return out;
+    }
+
+    /** Call after a write; {@code before}/{@code after} are null for creates/deletes. Applied after commit. */
+    public void articleChanged(Footprint before, Footprint after) {
+        List<Footprint> changed = new ArrayList<>(2);
+        if (before != null) changed.add(before);
+        if (after != null) changed.add(after);
+        articlesChanged(changed);
+    }
+
+    public void articlesChanged(Collection<Footprint> changed) {
+        Set<Long> ids = new HashSet<>();
+        Set<ListKey> lists = new HashSet<>();
+        for (Footprint f : changed) {
+            if (f.id() != null) ids.add(f.id());
+            if (!f.published()) continue;
+            lists.add(new ListKey("articles", SimpleKey.EMPTY));
+            if (f.category() != null) lists.add(new ListKey("articlesByCategory", f.category()));
+            for (String tag : f.tags()) lists.add(new ListKey("articlesByTag", tag));
+        }
+        if (ids.isEmpty() && lists.isEmpty()) return;
+        AfterCommit.run(() -> {
+            Cache byId = cacheManager.getCache("articleById");
+            if (byId != null) ids.forEach(byId::evict);
+            pending.addAll(lists);
+            if (!lists.isEmpty()) responseCache.invalidate(ResponseCache.ARTICLES);
+            if (!lists.isEmpty() && refreshQueued.compareAndSet(false, true)) {
+                executor.execute(this::refreshPending);
+            }
+        });
+    }
+
+    // Rebuild only lists somebody has cached; the rest load on their first miss as usual. The presence
+    // check must not load: cache.get on a refresh-after-write (loading) cache would build the list itself
+    private void refreshPending() {
+        refreshQueued.set(false);
+        List<ListKey> keys = new ArrayList<>(pending);
+        pending.removeAll(keys);
+        for (ListKey k : keys) {
+            Cache cache = cacheManager.getCache(k.cache());
+            if (cache == null || !isCached(cache, k.key())) continue;
+            try {
+                cache.put(k.key(), load(k));
+            } catch (Exception e) {
+                log.warn("Refreshing {}[{}] failed, evicting: {}", k.cache(), k.key(), e.getMessage());
+                cache.evict(k.key());
+            }
+            // Responses built from the list that was just replaced are stale too
+            if (k.cache().equals("articles")) responseCache.invalidate(ResponseCache.ARTICLES);
+        }
+    }
+
+    private static boolean isCached(Cache cache, Object key) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return caffeine.asMap().containsKey(key);
+        }
+        return cache.get(key) != null;
+    }
+
+    private List<ArticleSummary> load(ListKey k) {
+        return switch (k.cache()) {
+            case "articlesByCategory" -> loadByCategory((ArticleCategory) k.key());
+            case "articlesByTag" -> loadByTag((String) k.key());
+            default -> loadAll();
+        };
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+}
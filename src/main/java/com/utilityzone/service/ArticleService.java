@@ -4,10 +4,11 @@ import com.utilityzone.model.Article;
 import com.utilityzone.model.ArticleCategory;
 import com.utilityzone.repository.ArticleRepository;
 import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.ArticleSummary;
+import com.utilityzone.payload.response.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,16 +19,28 @@ import java.util.Optional;
 @Transactional
 public class ArticleService {
 
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final String CURSOR_LISTING = "articles";
+
     @Autowired
     private ArticleRepository articleRepository;
 
     @Autowired
     private com.utilityzone.repository.ArticleGroupRepository articleGroupRepository;
 
+    @Autowired
+    private ContentSearchService contentSearchService;
+
+    @Autowired
+    private ArticleCacheInvalidator articleCacheInvalidator;
+
+    @Autowired
+    private ContentRenderService contentRenderService;
+
     @Cacheable(value = "articles")
-    public List<Article> getAllArticles() {
+    public List<ArticleSummary> getAllArticles() {
         // Public list: only published articles, oldest first for deterministic chronological order
-        return articleRepository.findAllByStatusOrderByCreatedAtAscIdAsc(PublicationStatus.PUBLISHED);
+        return articleCacheInvalidator.loadAll();
     }
 
     @Cacheable(value = "articleById", key = "#id")
@@ -36,15 +49,42 @@ public class ArticleService {
     }
 
     @Cacheable(value = "articlesByCategory", key = "#category")
-    public List<Article> getArticlesByCategory(ArticleCategory category) {
+    public List<ArticleSummary> getArticlesByCategory(ArticleCategory category) {
         // Public list: only published in category
-        return articleRepository.findByCategoryAndStatusOrderByCreatedAtAscIdAsc(category, PublicationStatus.PUBLISHED);
+        return articleCacheInvalidator.loadByCategory(category);
     }
 
     @Cacheable(value = "articlesByTag", key = "#tag")
-    public List<Article> getArticlesByTag(String tag) {
+    public List<ArticleSummary> getArticlesByTag(String tag) {
         // Public list: only published with tag
-        return articleRepository.findByTagsContainingAndStatusOrderByCreatedAtAscIdAsc(tag, PublicationStatus.PUBLISHED);
+        return articleCacheInvalidator.loadByTag(tag);
+    }
+
+    /**
+     * Published article summaries in list order, one keyset page at a time. {@code after} is the
+     * previous page's {@code nextCursor} (null for the first page); cost does not grow with depth.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummary> getPublishedArticlesPage(String after, int size) {
+        int pageSize = Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, pageSize + 1); // one extra row tells us whether there is a next page
+        List<Long> ids;
+        if (after == null || after.isBlank()) {
+            ids = articleRepository.findIdsByStatusFirstPage(PublicationStatus.PUBLISHED, limit);
+        } else {
+            PageCursor.Position pos = PageCursor.decode(CURSOR_LISTING, after);
+            ids = articleRepository.findIdsByStatusAfter(PublicationStatus.PUBLISHED, pos.at(), pos.id(), limit);
+        }
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) ids = ids.subList(0, pageSize);
+        List<ArticleSummary> content = ids.isEmpty() ? List.of()
+                : ArticleCacheInvalidator.mergeTags(articleRepository.findSummaryRowsByIdIn(ids));
+        String next = null;
+        if (hasNext && !content.isEmpty()) {
+            ArticleSummary last = content.get(content.size() - 1);
+            next = PageCursor.encode(CURSOR_LISTING, last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(content, pageSize, next);
     }
 
     public List<Article> getDraftArticles() {
@@ -77,17 +117,15 @@ public class ArticleService {
     }
 
     @org.springframework.transaction.annotation.Transactional
-    @org.springframework.cache.annotation.Caching(evict = {
-        @org.springframework.cache.annotation.CacheEvict(value = "articles", allEntries = true),
-        @org.springframework.cache.annotation.CacheEvict(value = "articlesByCategory", allEntries = true),
-        @org.springframework.cache.annotation.CacheEvict(value = "articlesByTag", allEntries = true),
-        @org.springframework.cache.annotation.CacheEvict(value = "articleById", allEntries = true)
-    })
     public void renameGroup(String oldName, String newName) {
         if (oldName == null || newName == null) return;
         oldName = oldName.trim();
         newName = newName.trim();
         if (oldName.equals(newName)) return;
+        // Every article in the old group shows the new header, so its cache entries change
+        java.util.List<ArticleCacheInvalidator.Footprint> renamed = new java.util.ArrayList<>();
+        for (Article a : articleRepository.findByHeader(oldName)) renamed.add(ArticleCacheInvalidator.Footprint.of(a));
+        articleCacheInvalidator.articlesChanged(renamed);
         // If a group with the target name already exists, merge old into new.
         java.util.Optional<com.utilityzone.model.ArticleGroup> existingNew = articleGroupRepository.findByName(newName);
         java.util.Optional<com.utilityzone.model.ArticleGroup> existingOld = articleGroupRepository.findByName(oldName);
@@ -121,32 +159,27 @@ public class ArticleService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "articles", allEntries = true),
-        @CacheEvict(value = "articlesByCategory", allEntries = true),
-        @CacheEvict(value = "articlesByTag", allEntries = true),
-        @CacheEvict(value = "articleById", allEntries = true)
-    })
     public Article createArticle(Article article) {
-        return articleRepository.save(article);
+        Article saved = articleRepository.save(article);
+        contentRenderService.articleSaved(saved);
+        articleCacheInvalidator.articleChanged(null, ArticleCacheInvalidator.Footprint.of(saved));
+        contentSearchService.indexArticle(saved);
+        return saved;
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "articles", allEntries = true),
-        @CacheEvict(value = "articlesByCategory", allEntries = true),
-        @CacheEvict(value = "articlesByTag", allEntries = true),
-        @CacheEvict(value = "articleById", allEntries = true)
-    })
     public Article updateArticle(Long id, Article articleDetails) {
         Optional<Article> article = articleRepository.findById(id);
         if (article.isPresent()) {
             Article existingArticle = article.get();
-            existingArticle.setTitle(articleDetails.getTitle());
-            existingArticle.setDescription(articleDetails.getDescription());
-            existingArticle.setContent(articleDetails.getContent());
-            existingArticle.setTags(articleDetails.getTags());
-            existingArticle.setReadTime(articleDetails.getReadTime());
-            existingArticle.setCategory(articleDetails.getCategory());
+            ArticleCacheInvalidator.Footprint before = ArticleCacheInvalidator.Footprint.of(existingArticle);
+            // Fields left out of the request keep their stored value; list rows carry no content, so a
+            // client saving one back must not blank the body
+            if (articleDetails.getTitle() != null) existingArticle.setTitle(articleDetails.getTitle());
+            if (articleDetails.getDescription() != null) existingArticle.setDescription(articleDetails.getDescription());
+            if (articleDetails.getContent() != null) existingArticle.setContent(articleDetails.getContent());
+            if (articleDetails.getTags() != null) existingArticle.setTags(articleDetails.getTags());
+            if (articleDetails.getReadTime() != null) existingArticle.setReadTime(articleDetails.getReadTime());
+            if (articleDetails.getCategory() != null) existingArticle.setCategory(articleDetails.getCategory());
             // Status/publish date management if provided
             if (articleDetails.getStatus() != null) {
                 existingArticle.setStatus(articleDetails.getStatus());
@@ -159,18 +192,21 @@ public class ArticleService {
             }
             // Update header/group if provided
             existingArticle.setHeader(articleDetails.getHeader());
-            return articleRepository.save(existingArticle);
+            Article saved = articleRepository.save(existingArticle);
+            // Published articles get their read time from the rendered body
+            contentRenderService.articleSaved(saved);
+            articleCacheInvalidator.articleChanged(before, ArticleCacheInvalidator.Footprint.of(saved));
+            contentSearchService.indexArticle(saved);
+            return saved;
         }
         return null;
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "articles", allEntries = true),
-        @CacheEvict(value = "articlesByCategory", allEntries = true),
-        @CacheEvict(value = "articlesByTag", allEntries = true),
-        @CacheEvict(value = "articleById", allEntries = true)
-    })
     public void deleteArticle(Long id) {
+        Optional<Article> existing = articleRepository.findById(id);
         articleRepository.deleteById(id);
+        existing.ifPresent(a -> articleCacheInvalidator.articleChanged(ArticleCacheInvalidator.Footprint.of(a), null));
+        contentSearchService.removeArticle(id);
+        contentRenderService.remove(ContentRenderService.ARTICLE, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.utilityzone.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store: each blob is a file named by the SHA-256 of its bytes, under
+ * {@code <file.upload.dir>/blobs/ab/cd/abcd...}. Two levels of sharding keep directories small.
+ * Blobs are immutable, so a write that finds the file already present is a no-op, and writes go
+ * through a temp file and an atomic rename so readers never see a partial blob.
+ */
+@Component
+public class BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public BlobStore(@Value("${file.upload.dir:./data/uploads}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize().resolve("blobs");
+    }
+
+    public Path path(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public boolean exists(String hash) {
+        return Files.isRegularFile(path(hash));
+    }
+
+    /** Stores {@code data} under {@code hash} (which must be its SHA-256) and returns the blob's path. */
+    public Path put(String hash, byte[] data) throws IOException {
+        Path target = path(hash);
+        if (Files.isRegularFile(target) && Files.size(target) == data.length) return target;
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try {
+            Files.write(tmp, data);
+            moveIntoPlace(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return target;
+    }
+
+    /**
+     * Moves an already-written temp file into place as the blob {@code hash}; if that blob exists the
+     * temp file is simply dropped. Stage temp files in {@link #stagingDir()} so the move is a rename.
+     */
+    public Path adopt(String hash, Path tmp) throws IOException {
+        Path target = path(hash);
+        if (Files.isRegularFile(target)) {
+            Files.deleteIfExists(tmp);
+            return target;
+        }
+        Files.createDirectories(target.getParent());
+        moveIntoPlace(tmp, target);
+        return target;
+    }
+
+    /** A directory on the same file system as the blobs, for uploads in progress. */
+    public Path stagingDir() {
+        return root.resolve("tmp");
+    }
+
+    public void delete(String hash) throws IOException {
+        Files.deleteIfExists(path(hash));
+    }
+
+    public static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE ships SHA-256
+        }
+    }
+
+    static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
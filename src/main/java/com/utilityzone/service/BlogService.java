@@ -1,8 +1,11 @@
 package com.utilityzone.service;
 
+import com.utilityzone.config.CacheReloaders;
 import com.utilityzone.model.Blog;
 import com.utilityzone.repository.BlogRepository;
 import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.CursorPage;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -21,10 +24,27 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class BlogService {
 
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final String CURSOR_LISTING = "blogs";
+
     private final BlogRepository blogRepository;
+    private final ContentSearchService contentSearchService;
+    private final ContentRenderService contentRenderService;
+    private final ResponseCache responseCache;
+    private final CacheReloaders cacheReloaders;
+
+    @PostConstruct
+    void registerReloaders() {
+        cacheReloaders.register("blogs", limit -> loadLatestBlogs((Integer) limit),
+                () -> responseCache.invalidate(ResponseCache.BLOGS));
+    }
 
     @Cacheable(value = "blogs", key = "#limit")
     public List<Blog> getLatestBlogs(int limit) {
+        return loadLatestBlogs(limit);
+    }
+
+    private List<Blog> loadLatestBlogs(int limit) {
         if (limit <= 0) {
             return blogRepository.findAllByStatusOrderByPublishDateDesc(PublicationStatus.PUBLISHED);
         }
@@ -34,12 +54,17 @@ public class BlogService {
 
     @CacheEvict(value = "blogs", allEntries = true)
     public Blog save(Blog blog) {
-        return blogRepository.save(blog);
+        Blog saved = blogRepository.save(blog);
+        contentSearchService.indexBlog(saved);
+        contentRenderService.blogSaved(saved);
+        responseCache.invalidate(ResponseCache.BLOGS);
+        return saved;
     }
 
     @CacheEvict(value = "blogs", allEntries = true)
     @Transactional
     public Blog createOrUpdateDraft(Blog draft, String author) {
+        responseCache.invalidate(ResponseCache.BLOGS);
         String inputTitle = draft.getTitle() != null ? draft.getTitle() : "";
         String normalizedKey = normalizeTitle(inputTitle);
 
@@ -73,7 +98,11 @@ public class BlogService {
         // keep status as DRAFT and publishDate null
         existing.setStatus(PublicationStatus.DRAFT);
         existing.setPublishDate(null);
-        return blogRepository.save(existing);
+        Blog saved = blogRepository.save(existing);
+        // A published post turned back into a draft leaves search
+        contentSearchService.indexBlog(saved);
+        contentRenderService.blogSaved(saved);
+        return saved;
     }
 
     private String normalizeTitle(String title) {
@@ -85,6 +114,9 @@ public class BlogService {
     @CacheEvict(value = "blogs", allEntries = true)
     public void deleteById(Long id) {
         blogRepository.deleteById(id);
+        contentSearchService.removeBlog(id);
+        contentRenderService.remove(ContentRenderService.BLOG, id);
+        responseCache.invalidate(ResponseCache.BLOGS);
     }
 
     @Cacheable(value = "blogById", key = "#id")
@@ -94,9 +126,8 @@ public class BlogService {
 
     public List<Blog> getDraftBlogs(int limit) {
         if (limit <= 0) {
-            // For drafts, order by createdAt desc for admin visibility
-            Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.DESC, "createdAt"));
-            return blogRepository.findAllByStatus(PublicationStatus.DRAFT, pageable).getContent();
+            // For drafts, order by createdAt desc for admin visibility; plain list, no paging or count query
+            return blogRepository.findAllByStatusOrderByCreatedAtDescIdDesc(PublicationStatus.DRAFT);
         }
         Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
         return blogRepository.findAllByStatus(PublicationStatus.DRAFT, pageable).getContent();
@@ -106,6 +137,28 @@ public class BlogService {
         return blogRepository.findAllByStatus(PublicationStatus.PUBLISHED, pageable);
     }
 
+    /** Published blogs newest first, one keyset page at a time; {@code after} is the previous page's nextCursor. */
+    public CursorPage<Blog> getPublishedBlogsPage(String after, int size) {
+        int pageSize = Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Blog> blogs;
+        if (after == null || after.isBlank()) {
+            blogs = blogRepository.findByStatusFirstPage(PublicationStatus.PUBLISHED, limit);
+        } else {
+            PageCursor.Position pos = PageCursor.decode(CURSOR_LISTING, after);
+            blogs = blogRepository.findByStatusBefore(PublicationStatus.PUBLISHED, pos.at(), pos.id(), limit);
+        }
+        String next = null;
+        if (blogs.size() > pageSize) {
+            blogs = blogs.subList(0, pageSize);
+            Blog last = blogs.get(pageSize - 1);
+            // Same key the queries sort by
+            LocalDateTime listedAt = last.getPublishDate() != null ? last.getPublishDate() : last.getCreatedAt();
+            next = PageCursor.encode(CURSOR_LISTING, listedAt, last.getId());
+        }
+        return new CursorPage<>(blogs, pageSize, next);
+    }
+
     @CacheEvict(value = "blogs", allEntries = true)
     @Transactional
     public int deduplicateDrafts() {
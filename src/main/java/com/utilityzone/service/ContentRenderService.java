@@ -0,0 +1,254 @@
+package com.utilityzone.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utilityzone.model.Article;
+import com.utilityzone.model.Blog;
+import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.model.RenderedContent;
+import com.utilityzone.repository.ArticleRepository;
+import com.utilityzone.repository.BlogRepository;
+import com.utilityzone.repository.RenderedContentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+
+/**
+ * Renders article and blog bodies once, when they are published or edited while published, and
+ * keeps the result in {@code rendered_content}. Reads are then byte serves: the cached
+ * {@link Artifact} holds the UTF-8 HTML and its deflate-compressed form next to a strong ETag.
+ *
+ * Artifacts are written in their own transaction after the source's save commits, so a render
+ * failure (or two saves racing on the same row) is logged and never rolls back an author's edit.
+ * Unpublishing or deleting a source removes its artifact. At startup, published rows without an
+ * artifact (e.g. written before this existed) are rendered in the background; that leaves the
+ * sources themselves untouched.
+ */
+@Service
+public class ContentRenderService {
+    private static final Logger log = LoggerFactory.getLogger(ContentRenderService.class);
+
+    public static final String ARTICLE = ContentSearchService.ARTICLE;
+    public static final String BLOG = ContentSearchService.BLOG;
+    public static final String CACHE = "renderedContent";
+    private static final TypeReference<List<ContentRenderer.TocEntry>> TOC_TYPE = new TypeReference<>() {};
+
+    private final RenderedContentRepository renderedContentRepository;
+    private final ArticleRepository articleRepository;
+    private final BlogRepository blogRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "content-render-backfill");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ContentRenderService(RenderedContentRepository renderedContentRepository, ArticleRepository articleRepository,
+                                BlogRepository blogRepository, CacheManager cacheManager, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.renderedContentRepository = renderedContentRepository;
+        this.articleRepository = articleRepository;
+        this.blogRepository = blogRepository;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Also used from afterCommit, where the finished transaction's resources are still bound
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** What a GET serves: immutable once built, shared through the {@value #CACHE} cache. */
+    public record Artifact(String etag, int version, byte[] html, byte[] deflated, List<ContentRenderer.TocEntry> toc,
+                           String excerpt, int wordCount, int readTimeMinutes, Instant renderedAt) {}
+
+    public static String formatReadTime(int minutes) {
+        return minutes + " min read";
+    }
+
+    /**
+     * Sets a published article's read time from its rendered text and stores the artifact once the
+     * save commits, or drops the artifact of one that is not published. Call inside the transaction
+     * that saves the article.
+     */
+    @Transactional
+    public void articleSaved(Article article) {
+        if (article.getStatus() == PublicationStatus.PUBLISHED) {
+            ContentRenderer.Result result = ContentRenderer.render(article.getContent());
+            article.setReadTime(formatReadTime(result.readTimeMinutes()));
+            renderAfterCommit(ARTICLE, article.getId(), article.getContent(), result);
+        } else {
+            remove(ARTICLE, article.getId());
+        }
+    }
+
+    @Transactional
+    public void blogSaved(Blog blog) {
+        if (blog.getStatus() == PublicationStatus.PUBLISHED) {
+            renderAfterCommit(BLOG, blog.getId(), blog.getContent(), null);
+        } else {
+            remove(BLOG, blog.getId());
+        }
+    }
+
+    @Transactional
+    public void remove(String type, Long id) {
+        if (renderedContentRepository.deleteBySource(type, id) > 0) evictAfterCommit(type, id);
+    }
+
+    @Cacheable(value = CACHE, key = "#type + ':' + #id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Artifact find(String type, Long id) {
+        return renderedContentRepository.findBySourceTypeAndSourceId(type, id).map(this::toArtifact).orElse(null);
+    }
+
+    private void renderAfterCommit(String type, Long id, String content, ContentRenderer.Result result) {
+        AfterCommit.run(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(s -> render(type, id, content, result));
+            } catch (RuntimeException e) {
+                log.warn("Rendering {} {} failed, its previous artifact (if any) stays: {}", type, id, e.getMessage());
+            }
+        });
+    }
+
+    RenderedContent render(String type, Long id, String content) {
+        return render(type, id, content, null);
+    }
+
+    // result: the already rendered content, or null to render it here if the source changed
+    private RenderedContent render(String type, Long id, String content, ContentRenderer.Result result) {
+        String sourceHash = sha256Hex(content != null ? content : "");
+        RenderedContent row = renderedContentRepository.findBySourceTypeAndSourceId(type, id).orElse(null);
+        if (row != null && row.getSourceHash().equals(sourceHash)) return row; // nothing changed
+
+        if (result == null) result = ContentRenderer.render(content);
+        byte[] html = result.html().getBytes(StandardCharsets.UTF_8);
+        if (row == null) {
+            row = new RenderedContent();
+            row.setSourceType(type);
+            row.setSourceId(id);
+        }
+        row.setVersion(row.getVersion() + 1);
+        row.setSourceHash(sourceHash);
+        row.setHtml(result.html());
+        row.setHtmlDeflate(deflate(html));
+        row.setTocJson(writeToc(result.toc()));
+        row.setExcerpt(result.excerpt());
+        row.setWordCount(result.wordCount());
+        row.setReadTimeMinutes(result.readTimeMinutes());
+        // Strong validator: changes whenever the bytes do
+        row.setEtag("\"" + type.charAt(0) + id + "-" + row.getVersion() + "-" + sha256Hex(html).substring(0, 16) + "\"");
+        row.setRenderedAt(Instant.now());
+        RenderedContent saved = renderedContentRepository.save(row);
+        evictAfterCommit(type, id);
+        return saved;
+    }
+
+    private Artifact toArtifact(RenderedContent row) {
+        List<ContentRenderer.TocEntry> toc;
+        try {
+            toc = objectMapper.readValue(row.getTocJson(), TOC_TYPE);
+        } catch (JsonProcessingException e) {
+            toc = List.of();
+        }
+        return new Artifact(row.getEtag(), row.getVersion(), row.getHtml().getBytes(StandardCharsets.UTF_8),
+                row.getHtmlDeflate(), toc, row.getExcerpt(), row.getWordCount(), row.getReadTimeMinutes(),
+                row.getRenderedAt());
+    }
+
+    private void evictAfterCommit(String type, Long id) {
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(CACHE);
+            if (cache != null) cache.evict(type + ":" + id);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderMissingOnStartup() {
+        executor.execute(() -> {
+            try {
+                int articles = 0;
+                for (Long id : renderedContentRepository.findUnrenderedPublishedArticleIds()) {
+                    // Only the artifact: the stored read time and updatedAt of old articles stay as they are
+                    transactionTemplate.executeWithoutResult(s -> articleRepository.findById(id)
+                            .ifPresent(a -> render(ARTICLE, a.getId(), a.getContent())));
+                    articles++;
+                }
+                int blogs = 0;
+                for (Long id : renderedContentRepository.findUnrenderedPublishedBlogIds()) {
+                    transactionTemplate.executeWithoutResult(s -> blogRepository.findById(id)
+                            .ifPresent(b -> render(BLOG, b.getId(), b.getContent())));
+                    blogs++;
+                }
+                if (articles + blogs > 0) log.info("Rendered {} articles and {} blogs missing artifacts", articles, blogs);
+            } catch (Exception e) {
+                log.warn("Rendering missing content artifacts failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String writeToc(List<ContentRenderer.TocEntry> toc) {
+        try {
+            return objectMapper.writeValueAsString(toc);
+        } catch (JsonProcessingException e) {
+            return "[]";
+        }
+    }
+
+    static byte[] deflate(byte[] data) {
+        // Deflater's default (zlib-wrapped) output is what HTTP calls "deflate"
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 3));
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String sha256Hex(String s) {
+        return sha256Hex(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
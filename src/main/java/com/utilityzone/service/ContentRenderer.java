@@ -0,0 +1,444 @@
+package com.utilityzone.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns stored article/blog content into safe HTML plus the bits pages need around it: a table of
+ * contents, a plain-text excerpt and a read time.
+ *
+ * Content may be HTML (from the rich-text editor) or Markdown. Markdown is converted with a small
+ * renderer covering what authors actually use (headings, lists, quotes, code, links, images,
+ * emphasis) plus the GitHub extensions the frontend renders with remark-gfm: tables, strikethrough
+ * and task lists. Bare URLs are not autolinked. Either way the result goes through a whitelist sanitizer that drops scripts, event
+ * handlers and unsafe URLs, balances tags and gives every heading a stable anchor id.
+ */
+public final class ContentRenderer {
+
+    public static final int WORDS_PER_MINUTE = 200;
+    public static final int EXCERPT_CHARS = 200;
+
+    private ContentRenderer() {}
+
+    public record TocEntry(int level, String id, String text) {}
+
+    public record Result(String html, List<TocEntry> toc, String excerpt, int wordCount, int readTimeMinutes) {}
+
+    public static Result render(String content) {
+        String source = content != null ? content : "";
+        String html = looksLikeHtml(source) ? source : markdownToHtml(source);
+        List<TocEntry> toc = new ArrayList<>();
+        String safe = sanitize(html, toc);
+        String plain = plainText(safe);
+        int words = 0;
+        Matcher m = WORD.matcher(plain);
+        while (m.find()) words++;
+        int minutes = Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+        return new Result(safe, List.copyOf(toc), excerpt(plain), words, minutes);
+    }
+
+    static boolean looksLikeHtml(String s) {
+        String t = s.stripLeading();
+        return t.startsWith("<") && CLOSING_TAG.matcher(t).find();
+    }
+
+    // ---------------------------------------------------------------- Markdown
+
+    private static final Pattern CLOSING_TAG = Pattern.compile("</[a-zA-Z][a-zA-Z0-9]*\\s*>");
+    private static final Pattern HEADING = Pattern.compile("^(#{1,6})\\s+(.*?)\\s*#*\\s*$");
+    private static final Pattern ORDERED_ITEM = Pattern.compile("^\\s*\\d+[.)]\\s+(.*)$");
+    private static final Pattern UNORDERED_ITEM = Pattern.compile("^\\s*[-*+]\\s+(.*)$");
+    private static final Pattern RULE = Pattern.compile("^\\s*([-*_])(\\s*\\1){2,}\\s*$");
+    private static final Pattern FENCE = Pattern.compile("^\\s*(```|~~~)\\s*([\\w+#.-]*)\\s*$");
+    private static final Pattern TABLE_DELIMITER = Pattern.compile("^\\s*\\|?\\s*:?-+:?\\s*(\\|\\s*:?-+:?\\s*)*\\|?\\s*$");
+    private static final Pattern CELL_SEPARATOR = Pattern.compile("(?<!\\\\)\\|");
+    private static final Pattern TASK = Pattern.compile("^\\[([ xX])]\\s+(.*)$");
+
+    static String markdownToHtml(String md) {
+        String[] lines = md.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+        StringBuilder out = new StringBuilder(md.length() + md.length() / 4);
+        List<String> paragraph = new ArrayList<>();
+        int i = 0;
+        while (i < lines.length) {
+            String line = lines[i];
+            Matcher fence = FENCE.matcher(line);
+            if (fence.matches()) {
+                flushParagraph(paragraph, out);
+                String marker = fence.group(1);
+                String lang = fence.group(2);
+                StringBuilder code = new StringBuilder();
+                i++;
+                while (i < lines.length && !lines[i].trim().startsWith(marker)) {
+                    code.append(lines[i]).append('\n');
+                    i++;
+                }
+                i++; // closing fence
+                out.append("<pre><code");
+                if (!lang.isEmpty()) out.append(" class=\"language-").append(escape(lang)).append('"');
+                out.append('>').append(escape(code.toString())).append("</code></pre>\n");
+                continue;
+            }
+            if (line.isBlank()) {
+                flushParagraph(paragraph, out);
+                i++;
+                continue;
+            }
+            Matcher heading = HEADING.matcher(line);
+            if (heading.matches()) {
+                flushParagraph(paragraph, out);
+                int level = heading.group(1).length();
+                out.append("<h").append(level).append('>').append(inline(heading.group(2)))
+                   .append("</h").append(level).append(">\n");
+                i++;
+                continue;
+            }
+            if (i + 1 < lines.length && isTableStart(line, lines[i + 1])) {
+                flushParagraph(paragraph, out);
+                i = table(lines, i, out);
+                continue;
+            }
+            if (RULE.matcher(line).matches()) {
+                flushParagraph(paragraph, out);
+                out.append("<hr>\n");
+                i++;
+                continue;
+            }
+            if (line.stripLeading().startsWith(">")) {
+                flushParagraph(paragraph, out);
+                StringBuilder quoted = new StringBuilder();
+                while (i < lines.length && lines[i].stripLeading().startsWith(">")) {
+                    String q = lines[i].stripLeading().substring(1);
+                    quoted.append(q.startsWith(" ") ? q.substring(1) : q).append('\n');
+                    i++;
+                }
+                out.append("<blockquote>\n").append(markdownToHtml(quoted.toString())).append("</blockquote>\n");
+                continue;
+            }
+            boolean ordered = ORDERED_ITEM.matcher(line).matches();
+            if (ordered || UNORDERED_ITEM.matcher(line).matches()) {
+                flushParagraph(paragraph, out);
+                Pattern item = ordered ? ORDERED_ITEM : UNORDERED_ITEM;
+                out.append(ordered ? "<ol>\n" : "<ul>\n");
+                while (i < lines.length) {
+                    Matcher im = item.matcher(lines[i]);
+                    if (!im.matches()) break;
+                    StringBuilder text = new StringBuilder(im.group(1));
+                    i++;
+                    // Indented continuation lines belong to the same item
+                    while (i < lines.length && !lines[i].isBlank() && Character.isWhitespace(lines[i].charAt(0))
+                            && !ORDERED_ITEM.matcher(lines[i]).matches() && !UNORDERED_ITEM.matcher(lines[i]).matches()) {
+                        text.append(' ').append(lines[i].trim());
+                        i++;
+                    }
+                    out.append("<li>").append(listItem(text.toString())).append("</li>\n");
+                }
+                out.append(ordered ? "</ol>\n" : "</ul>\n");
+                continue;
+            }
+            paragraph.add(line.trim());
+            i++;
+        }
+        flushParagraph(paragraph, out);
+        return out.toString();
+    }
+
+    private static String listItem(String text) {
+        Matcher task = TASK.matcher(text);
+        if (!task.matches()) return inline(text);
+        boolean done = !task.group(1).equals(" ");
+        return "<input type=\"checkbox\" disabled" + (done ? " checked" : "") + "> " + inline(task.group(2));
+    }
+
+    // A table is a header row with pipes followed by a delimiter row with as many cells
+    private static boolean isTableStart(String header, String delimiter) {
+        if (!header.contains("|") || !delimiter.contains("|") || !TABLE_DELIMITER.matcher(delimiter).matches()) return false;
+        return cells(header).size() == cells(delimiter).size();
+    }
+
+    // Returns the index of the first line after the table
+    private static int table(String[] lines, int i, StringBuilder out) {
+        List<String> header = cells(lines[i]);
+        List<String> align = new ArrayList<>();
+        for (String d : cells(lines[i + 1])) {
+            boolean left = d.startsWith(":"), right = d.endsWith(":");
+            align.add(left && right ? "center" : right ? "right" : left ? "left" : null);
+        }
+        out.append("<table>\n<thead>\n");
+        row("th", header, align, out);
+        out.append("</thead>\n");
+        i += 2;
+        boolean body = false;
+        while (i < lines.length && !lines[i].isBlank() && lines[i].contains("|")) {
+            if (!body) {
+                out.append("<tbody>\n");
+                body = true;
+            }
+            row("td", cells(lines[i]), align, out);
+            i++;
+        }
+        if (body) out.append("</tbody>\n");
+        out.append("</table>\n");
+        return i;
+    }
+
+    private static void row(String cell, List<String> cells, List<String> align, StringBuilder out) {
+        out.append("<tr>\n");
+        for (int c = 0; c < align.size(); c++) { // rows are cut or padded to the header's width
+            out.append('<').append(cell);
+            if (align.get(c) != null) out.append(" align=\"").append(align.get(c)).append('"');
+            out.append('>').append(c < cells.size() ? inline(cells.get(c)) : "").append("</").append(cell).append(">\n");
+        }
+        out.append("</tr>\n");
+    }
+
+    private static List<String> cells(String line) {
+        String t = line.trim();
+        if (t.startsWith("|")) t = t.substring(1);
+        if (t.endsWith("|") && !t.endsWith("\\|")) t = t.substring(0, t.length() - 1);
+        List<String> cells = new ArrayList<>();
+        for (String c : CELL_SEPARATOR.split(t, -1)) cells.add(c.trim().replace("\\|", "|"));
+        return cells;
+    }
+
+    private static void flushParagraph(List<String> lines, StringBuilder out) {
+        if (lines.isEmpty()) return;
+        out.append("<p>").append(inline(String.join(" ", lines))).append("</p>\n");
+        lines.clear();
+    }
+
+    private static final Pattern CODE_SPAN = Pattern.compile("`([^`]+)`");
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)\\]\\(([^)\\s]+)(?:\\s+&quot;([^&]*)&quot;)?\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]+)\\]\\(([^)\\s]+)(?:\\s+&quot;([^&]*)&quot;)?\\)");
+    private static final Pattern BOLD = Pattern.compile("(\\*\\*|__)(?=\\S)(.+?)(?<=\\S)\\1");
+    private static final Pattern ITALIC = Pattern.compile("(?<![\\w*])([*_])(?=\\S)(.+?)(?<=\\S)\\1(?![\\w*])");
+    // ~one~ or ~~two~~ tildes, as remark-gfm accepts; not after a slash so /~user/ paths in URLs survive
+    private static final Pattern STRIKE = Pattern.compile("(?<![\\w~/])(~~?)(?=\\S)(.+?)(?<=\\S)\\1(?![\\w~])");
+
+    // Escapes first, so any HTML typed into Markdown shows as text; then applies inline syntax
+    static String inline(String text) {
+        List<String> codeSpans = new ArrayList<>();
+        Matcher cm = CODE_SPAN.matcher(text);
+        StringBuilder sb = new StringBuilder();
+        while (cm.find()) {
+            codeSpans.add("<code>" + escape(cm.group(1)) + "</code>");
+            cm.appendReplacement(sb, "\u0000" + (codeSpans.size() - 1) + "\u0000");
+        }
+        cm.appendTail(sb);
+        String s = escape(sb.toString());
+        s = IMAGE.matcher(s).replaceAll(r -> Matcher.quoteReplacement("<img src=\"" + r.group(2) + "\" alt=\"" + r.group(1) + "\""
+                + (r.group(3) != null ? " title=\"" + r.group(3) + "\"" : "") + ">"));
+        s = LINK.matcher(s).replaceAll(r -> Matcher.quoteReplacement("<a href=\"" + r.group(2) + "\""
+                + (r.group(3) != null ? " title=\"" + r.group(3) + "\"" : "") + ">" + r.group(1) + "</a>"));
+        s = BOLD.matcher(s).replaceAll("<strong>$2</strong>");
+        s = ITALIC.matcher(s).replaceAll("<em>$2</em>");
+        s = STRIKE.matcher(s).replaceAll("<del>$2</del>");
+        for (int i = 0; i < codeSpans.size(); i++) {
+            s = s.replace("\u0000" + i + "\u0000", codeSpans.get(i));
+        }
+        return s;
+    }
+
+    // ---------------------------------------------------------------- Sanitizer
+
+    private static final Pattern TOKEN = Pattern.compile("<!--.*?-->|<(/?)([a-zA-Z][a-zA-Z0-9]*)((?:[^>\"']|\"[^\"]*\"|'[^']*')*)>", Pattern.DOTALL);
+    private static final Pattern ATTRIBUTE = Pattern.compile("([a-zA-Z_:][-a-zA-Z0-9_:.]*)\\s*(?:=\\s*(\"[^\"]*\"|'[^']*'|[^\\s\"'>]+))?");
+    private static final Pattern BARE_AMPERSAND = Pattern.compile("&(?!#?[a-zA-Z0-9]+;)");
+    private static final Pattern SAFE_CLASS = Pattern.compile("[\\w\\- ]{1,100}");
+    private static final Pattern HEX_ENTITY = Pattern.compile("&#[xX]([0-9a-fA-F]+);?");
+    private static final Pattern DECIMAL_ENTITY = Pattern.compile("&#([0-9]+);?");
+    private static final Set<String> SAFE_SCHEMES = Set.of("http", "https", "mailto");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern CHECKBOX = Pattern.compile("\\btype\\s*=\\s*[\"']?checkbox\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CHECKED = Pattern.compile("\\bchecked\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Set<String> ALLOWED = Set.of(
+        "p", "br", "hr", "h1", "h2", "h3", "h4", "h5", "h6", "strong", "b", "em", "i", "u", "s", "del", "ins",
+        "mark", "sub", "sup", "small", "blockquote", "pre", "code", "kbd", "samp", "ul", "ol", "li", "dl", "dt",
+        "dd", "a", "img", "figure", "figcaption", "table", "thead", "tbody", "tfoot", "tr", "th", "td", "caption",
+        "span", "div", "section", "details", "summary", "input"
+    );
+    private static final Set<String> VOID = Set.of("br", "hr", "img", "input");
+    private static final Set<String> DROP_WITH_CONTENT = Set.of(
+        "script", "style", "iframe", "object", "embed", "noscript", "template", "svg", "math", "textarea", "select"
+    );
+    private static final Map<String, Set<String>> ATTRIBUTES = Map.of(
+        "a", Set.of("href", "title"),
+        "img", Set.of("src", "alt", "title", "width", "height"),
+        "th", Set.of("colspan", "rowspan", "align"),
+        "td", Set.of("colspan", "rowspan", "align"),
+        "ol", Set.of("start"),
+        "code", Set.of("class"),
+        "pre", Set.of("class"),
+        "span", Set.of("class"),
+        "div", Set.of("class")
+    );
+
+    static String sanitize(String html, List<TocEntry> toc) {
+        StringBuilder out = new StringBuilder(html.length());
+        Deque<String> open = new ArrayDeque<>();
+        Map<String, Integer> slugs = new HashMap<>();
+        String dropping = null;          // tag whose content is being skipped
+        int headingLevel = 0;            // open heading, if any
+        int headingAttrAt = -1;          // where its id attribute goes
+        int headingTextFrom = -1;
+
+        Matcher m = TOKEN.matcher(html);
+        int pos = 0;
+        while (m.find()) {
+            if (dropping == null) appendText(html.substring(pos, m.start()), out);
+            pos = m.end();
+            if (m.group(2) == null) continue; // comment
+            boolean closing = !m.group(1).isEmpty();
+            String tag = m.group(2).toLowerCase(Locale.ROOT);
+
+            if (dropping != null) {
+                if (closing && tag.equals(dropping)) dropping = null;
+                continue;
+            }
+            if (DROP_WITH_CONTENT.contains(tag)) {
+                if (!closing && !m.group(3).trim().endsWith("/")) dropping = tag;
+                continue;
+            }
+            if (!ALLOWED.contains(tag)) continue; // unwrap: keep the text, lose the tag
+            if (tag.equals("input") && !CHECKBOX.matcher(m.group(3)).find()) continue; // task-list boxes only
+
+            int level = tag.length() == 2 && tag.charAt(0) == 'h' && Character.isDigit(tag.charAt(1)) ? tag.charAt(1) - '0' : 0;
+            if (closing) {
+                if (!open.contains(tag)) continue;
+                while (!open.isEmpty()) {
+                    String top = open.pop();
+                    if (top.equals(headingTag(headingLevel))) {
+                        finishHeading(out, headingLevel, headingAttrAt, headingTextFrom, slugs, toc);
+                        headingLevel = 0;
+                    }
+                    out.append("</").append(top).append('>');
+                    if (top.equals(tag)) break;
+                }
+                continue;
+            }
+            if (level > 0 && headingLevel > 0) continue; // no headings inside headings
+            out.append('<').append(tag);
+            if (level > 0) {
+                headingLevel = level;
+                headingAttrAt = out.length();
+            }
+            appendAttributes(tag, m.group(3), out);
+            out.append('>');
+            if (level > 0) headingTextFrom = out.length();
+            if (!VOID.contains(tag)) open.push(tag);
+        }
+        if (dropping == null) appendText(html.substring(pos), out);
+        while (!open.isEmpty()) {
+            String top = open.pop();
+            if (top.equals(headingTag(headingLevel))) {
+                finishHeading(out, headingLevel, headingAttrAt, headingTextFrom, slugs, toc);
+                headingLevel = 0;
+            }
+            out.append("</").append(top).append('>');
+        }
+        return out.toString();
+    }
+
+    private static String headingTag(int level) {
+        return level > 0 ? "h" + level : "";
+    }
+
+    // Headings get an id derived from their text ("Getting started" -> "getting-started", then "-2", "-3"...)
+    private static void finishHeading(StringBuilder out, int level, int attrAt, int textFrom,
+                                      Map<String, Integer> slugs, List<TocEntry> toc) {
+        String text = plainText(out.substring(textFrom));
+        String slug = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", "-").replaceAll("^-+|-+$", "");
+        if (slug.isEmpty()) slug = "section";
+        int n = slugs.merge(slug, 1, Integer::sum);
+        if (n > 1) slug = slug + "-" + n;
+        out.insert(attrAt, " id=\"" + slug + "\"");
+        if (!text.isEmpty()) toc.add(new TocEntry(level, slug, text));
+    }
+
+    private static void appendAttributes(String tag, String raw, StringBuilder out) {
+        if (tag.equals("input")) { // always read-only
+            out.append(" type=\"checkbox\" disabled");
+            if (CHECKED.matcher(raw).find()) out.append(" checked");
+            return;
+        }
+        Set<String> allowed = ATTRIBUTES.getOrDefault(tag, Set.of());
+        if (allowed.isEmpty()) return;
+        Matcher a = ATTRIBUTE.matcher(raw);
+        while (a.find()) {
+            String name = a.group(1).toLowerCase(Locale.ROOT);
+            if (!allowed.contains(name) || a.group(2) == null) continue;
+            String value = a.group(2);
+            if (value.startsWith("\"") || value.startsWith("'")) value = value.substring(1, value.length() - 1);
+            if ((name.equals("href") || name.equals("src")) && !isSafeUrl(value)) continue;
+            if (name.equals("class") && !SAFE_CLASS.matcher(value).matches()) continue;
+            out.append(' ').append(name).append("=\"").append(escapeAttribute(value)).append('"');
+        }
+        if (tag.equals("a")) out.append(" rel=\"noopener nofollow\"");
+    }
+
+    static boolean isSafeUrl(String value) {
+        // Decode character references the way a browser would before it reads the scheme, and drop the
+        // control/space characters browsers ignore inside schemes
+        String v = HEX_ENTITY.matcher(value).replaceAll(r -> codePoint(r.group(1), 16));
+        v = DECIMAL_ENTITY.matcher(v).replaceAll(r -> codePoint(r.group(1), 10));
+        v = v.replace("&colon;", ":").replace("&Tab;", "").replace("&NewLine;", "").replaceAll("[\\x00-\\x20]", "")
+             .toLowerCase(Locale.ROOT);
+        int boundary = v.length();
+        for (char c : new char[] {':', '/', '?', '#'}) {
+            int idx = v.indexOf(c);
+            if (idx >= 0) boundary = Math.min(boundary, idx);
+        }
+        // Any reference left undecoded before the scheme could still hide one: refuse rather than guess
+        if (v.substring(0, boundary).indexOf('&') >= 0) return false;
+        if (boundary == v.length() || v.charAt(boundary) != ':') return true; // relative
+        return SAFE_SCHEMES.contains(v.substring(0, boundary));
+    }
+
+    private static String codePoint(String digits, int radix) {
+        try {
+            int cp = Integer.parseInt(digits, radix);
+            return Matcher.quoteReplacement(Character.isValidCodePoint(cp) ? new String(Character.toChars(cp)) : "");
+        } catch (NumberFormatException e) {
+            return "";
+        }
+    }
+
+    private static void appendText(String text, StringBuilder out) {
+        if (text.isEmpty()) return;
+        String s = BARE_AMPERSAND.matcher(text).replaceAll("&amp;");
+        out.append(s.replace("<", "&lt;").replace(">", "&gt;"));
+    }
+
+    private static String escapeAttribute(String value) {
+        return BARE_AMPERSAND.matcher(value).replaceAll("&amp;")
+                .replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    // ---------------------------------------------------------------- Text
+
+    static String plainText(String html) {
+        String s = html.replaceAll("<[^>]*>", " ");
+        s = s.replace("&nbsp;", " ").replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+             .replace("&#39;", "'").replace("&amp;", "&");
+        return s.replaceAll("\\s+", " ").trim();
+    }
+
+    private static String excerpt(String plain) {
+        if (plain.length() <= EXCERPT_CHARS) return plain;
+        int cut = plain.lastIndexOf(' ', EXCERPT_CHARS);
+        if (cut < EXCERPT_CHARS / 2) cut = EXCERPT_CHARS;
+        return plain.substring(0, cut).stripTrailing() + "…";
+    }
+}
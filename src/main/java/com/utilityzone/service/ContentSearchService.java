@@ -0,0 +1,244 @@
+package com.utilityzone.service;
+
+import com.utilityzone.model.Article;
+import com.utilityzone.model.Blog;
+import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.repository.ArticleRepository;
+import com.utilityzone.repository.BlogRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Full-text search over published articles and blogs.
+ *
+ * The {@link SearchIndex} is kept up to date incrementally: article and blog writes call
+ * {@link #indexArticle}/{@link #indexBlog} (or the remove variants), applied after the surrounding
+ * transaction commits. The index is saved to disk shortly after changes and on shutdown; at startup
+ * the saved file is loaded and only rows whose {@code updatedAt} differs are re-read from the database.
+ */
+@Service
+public class ContentSearchService {
+    private static final Logger log = LoggerFactory.getLogger(ContentSearchService.class);
+
+    public static final String ARTICLE = "article";
+    public static final String BLOG = "blog";
+    public static final int MAX_LIMIT = 50;
+    private static final int SNIPPET_CHARS = 160;
+    private static final int RECONCILE_BATCH = 200;
+    private static final long SAVE_DELAY_SECONDS = 10;
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final ArticleRepository articleRepository;
+    private final BlogRepository blogRepository;
+    private final Path indexFile;
+    private volatile SearchIndex index = new SearchIndex();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "content-search-index");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Autowired
+    public ContentSearchService(ArticleRepository articleRepository, BlogRepository blogRepository,
+                                @Value("${app.search.index-file:./data/search/content-index.bin}") String indexFile) {
+        this.articleRepository = articleRepository;
+        this.blogRepository = blogRepository;
+        this.indexFile = Paths.get(indexFile);
+        // On shutdown, drop a waiting save (stop() saves instead) but let a running one finish
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public record Result(SearchIndex.Document document, double score, String snippet) {}
+
+    /** Ranked published articles and blogs for {@code query}; {@code type} is "article", "blog" or null for both. */
+    public List<Result> search(String query, String type, int limit) {
+        List<String> terms = SearchTextAnalyzer.terms(SearchTextAnalyzer.plainText(query));
+        if (terms.isEmpty()) return List.of();
+        Set<String> termSet = new LinkedHashSet<>(terms);
+        List<Result> results = new ArrayList<>();
+        for (SearchIndex.Hit hit : index.search(terms, type, Math.max(1, Math.min(limit, MAX_LIMIT)))) {
+            SearchIndex.Document d = hit.document();
+            String snippet = SearchTextAnalyzer.highlight(d.getBody(), termSet, SNIPPET_CHARS);
+            if (!snippet.contains("<mark>") && !d.getDescription().isEmpty()) {
+                String fromDescription = SearchTextAnalyzer.highlight(d.getDescription(), termSet, SNIPPET_CHARS);
+                if (fromDescription.contains("<mark>")) snippet = fromDescription;
+            }
+            results.add(new Result(d, hit.score(), snippet));
+        }
+        return results;
+    }
+
+    public void indexArticle(Article article) {
+        if (article == null || article.getId() == null) return;
+        if (article.getStatus() != PublicationStatus.PUBLISHED) {
+            removeArticle(article.getId());
+            return;
+        }
+        // updatedAt (the document version) is only final once the flush ran
+        AfterCommit.run(() -> {
+            index.upsert(toDocument(article));
+            scheduleSave();
+        });
+    }
+
+    public void removeArticle(Long id) {
+        if (id == null) return;
+        AfterCommit.run(() -> {
+            index.remove(ARTICLE, id);
+            scheduleSave();
+        });
+    }
+
+    public void indexBlog(Blog blog) {
+        if (blog == null || blog.getId() == null) return;
+        if (blog.getStatus() != PublicationStatus.PUBLISHED) {
+            removeBlog(blog.getId());
+            return;
+        }
+        AfterCommit.run(() -> {
+            index.upsert(toDocument(blog));
+            scheduleSave();
+        });
+    }
+
+    public void removeBlog(Long id) {
+        if (id == null) return;
+        AfterCommit.run(() -> {
+            index.remove(BLOG, id);
+            scheduleSave();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.execute(this::loadAndReconcile);
+    }
+
+    void loadAndReconcile() {
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                SearchIndex loaded = SearchIndex.load(indexFile);
+                // Keep anything indexed by writes that happened while the file was loading
+                if (index.size() == 0) index = loaded;
+                log.info("Loaded search index with {} documents from {}", loaded.size(), indexFile);
+            } catch (Exception e) {
+                log.warn("Could not read search index {}, rebuilding: {}", indexFile, e.getMessage());
+            }
+        }
+        try {
+            int changed = reconcileArticles() + reconcileBlogs();
+            if (changed > 0) {
+                log.info("Search index reconciled: {} documents added, updated or removed", changed);
+                scheduleSave();
+            }
+        } catch (Exception e) {
+            log.warn("Search index reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    private int reconcileArticles() {
+        List<Long> stale = new ArrayList<>();
+        Map<Long, Long> indexed = new HashMap<>(index.versions(ARTICLE));
+        for (Object[] row : articleRepository.findIdAndUpdatedAtByStatus(PublicationStatus.PUBLISHED)) {
+            Long id = (Long) row[0];
+            Long version = indexed.remove(id);
+            if (version == null || version != versionOf((LocalDateTime) row[1])) stale.add(id);
+        }
+        for (int i = 0; i < stale.size(); i += RECONCILE_BATCH) {
+            for (Article a : articleRepository.findAllById(stale.subList(i, Math.min(stale.size(), i + RECONCILE_BATCH)))) {
+                if (a.getStatus() == PublicationStatus.PUBLISHED) index.upsert(toDocument(a));
+            }
+        }
+        indexed.keySet().forEach(id -> index.remove(ARTICLE, id));
+        return stale.size() + indexed.size();
+    }
+
+    private int reconcileBlogs() {
+        List<Long> stale = new ArrayList<>();
+        Map<Long, Long> indexed = new HashMap<>(index.versions(BLOG));
+        for (Object[] row : blogRepository.findIdAndUpdatedAtByStatus(PublicationStatus.PUBLISHED)) {
+            Long id = (Long) row[0];
+            Long version = indexed.remove(id);
+            if (version == null || version != versionOf((LocalDateTime) row[1])) stale.add(id);
+        }
+        for (int i = 0; i < stale.size(); i += RECONCILE_BATCH) {
+            for (Blog b : blogRepository.findAllById(stale.subList(i, Math.min(stale.size(), i + RECONCILE_BATCH)))) {
+                if (b.getStatus() == PublicationStatus.PUBLISHED) index.upsert(toDocument(b));
+            }
+        }
+        indexed.keySet().forEach(id -> index.remove(BLOG, id));
+        return stale.size() + indexed.size();
+    }
+
+    static SearchIndex.Document toDocument(Article a) {
+        String category = a.getCategory() != null ? a.getCategory().name() : null;
+        LocalDateTime date = a.getPublishDate() != null ? a.getPublishDate() : a.getCreatedAt();
+        return SearchIndex.Document.of(ARTICLE, a.getId(), versionOf(a.getUpdatedAt()), a.getTitle(),
+                a.getDescription(), a.getContent(), a.getTags(), category, versionOf(date));
+    }
+
+    static SearchIndex.Document toDocument(Blog b) {
+        LocalDateTime date = b.getPublishDate() != null ? b.getPublishDate() : b.getCreatedAt();
+        return SearchIndex.Document.of(BLOG, b.getId(), versionOf(b.getUpdatedAt()), b.getTitle(),
+                null, b.getContent(), null, null, versionOf(date));
+    }
+
+    private static long versionOf(LocalDateTime t) {
+        return t != null ? t.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    // Coalesce bursts of edits into one write
+    private void scheduleSave() {
+        if (executor.isShutdown()) return;
+        if (saveScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::save, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void save() {
+        saveScheduled.set(false);
+        try {
+            index.save(indexFile);
+        } catch (Exception e) {
+            log.warn("Could not save search index to {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+        try {
+            // A save already running writes the same temp file; let it finish first
+            if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Search index task still running after {}s, skipping the final save", SHUTDOWN_WAIT_SECONDS);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (saveScheduled.get()) save();
+    }
+}
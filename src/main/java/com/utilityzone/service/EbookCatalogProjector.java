@@ -0,0 +1,205 @@
+package com.utilityzone.service;
+
+import com.utilityzone.payload.dto.EbookContentDto;
+import com.utilityzone.payload.dto.EbookItemDto;
+import com.utilityzone.repository.EbookRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the storefront catalog (the books list in ebooks_content) from per-book change events.
+ * Events are recorded after the book's transaction commits and coalesced per book; a single background
+ * thread applies everything that arrived within the debounce window as one catalog write, so a burst of
+ * autosaves costs one write. The new catalog is put into the {@code ebooks} cache by
+ * {@link EbookContentService#upsert} rather than evicted.
+ *
+ * At startup every book is re-projected once, which picks up changes whose event was lost (e.g. the
+ * process stopped inside the debounce window).
+ */
+@Component
+public class EbookCatalogProjector {
+    private static final Logger log = LoggerFactory.getLogger(EbookCatalogProjector.class);
+    private static final long RETRY_DELAY_MS = 30_000;
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final EbookRepository repository;
+    private final EbookContentService contentService;
+    private final long debounceMillis;
+    private final Map<Long, Delta> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "ebook-catalog-projector");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public EbookCatalogProjector(EbookRepository repository, EbookContentService contentService,
+                                 @Value("${app.ebook-catalog.debounce-ms:500}") long debounceMillis) {
+        this.repository = repository;
+        this.contentService = contentService;
+        this.debounceMillis = debounceMillis;
+        // On shutdown, drop waiting runs (the final flush covers them) but let a running one finish
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /** Curated fields are null when the change did not touch them. */
+    record Delta(boolean removed, String buyLink, String description) {
+        Delta then(Delta newer) {
+            if (newer.removed()) return newer;
+            return new Delta(false,
+                    newer.buyLink() != null ? newer.buyLink() : buyLink,
+                    newer.description() != null ? newer.description() : description);
+        }
+    }
+
+    public void bookChanged(Long id, String buyLink, String description) {
+        AfterCommit.run(() -> enqueue(id, new Delta(false, buyLink, description)));
+    }
+
+    public void bookRemoved(Long id) {
+        AfterCommit.run(() -> enqueue(id, new Delta(true, null, null)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        try {
+            for (Long id : repository.findAllIds()) enqueue(id, new Delta(false, null, null));
+            contentService.getContent().map(EbookContentDto::getBooks).orElse(List.of()).stream()
+                    .map(EbookItemDto::getId)
+                    .filter(id -> id != null && id.matches("\\d+"))
+                    .forEach(id -> enqueue(Long.valueOf(id), new Delta(false, null, null)));
+        } catch (Exception e) {
+            log.warn("Reconciling the ebook catalog failed: {}", e.getMessage());
+        }
+    }
+
+    private void enqueue(Long id, Delta delta) {
+        pending.merge(id, delta, Delta::then);
+        schedule(debounceMillis);
+    }
+
+    private void schedule(long delayMillis) {
+        if (executor.isShutdown()) return;
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Applies all pending deltas as one catalog write. */
+    void flush() {
+        // Events arriving from here on schedule the next run
+        scheduled.set(false);
+        Map<Long, Delta> batch = new HashMap<>();
+        for (Long id : new ArrayList<>(pending.keySet())) {
+            Delta delta = pending.remove(id);
+            if (delta != null) batch.put(id, delta);
+        }
+        if (batch.isEmpty()) return;
+        try {
+            apply(batch);
+        } catch (Exception e) {
+            if (executor.isShutdown()) {
+                // Startup reconciliation re-projects these books next time
+                log.warn("Updating the ebook catalog for {} books failed during shutdown: {}", batch.size(), e.getMessage());
+                return;
+            }
+            log.warn("Updating the ebook catalog for {} books failed, retrying: {}", batch.size(), e.getMessage());
+            // Put the batch back underneath anything newer
+            batch.forEach((id, delta) -> pending.merge(id, delta, (newer, older) -> older.then(newer)));
+            schedule(RETRY_DELAY_MS);
+        }
+    }
+
+    private void apply(Map<Long, Delta> batch) {
+        EbookContentDto base = contentService.getContent().orElseGet(EbookContentDto::new);
+        List<EbookItemDto> books = new ArrayList<>(Optional.ofNullable(base.getBooks()).orElse(Collections.emptyList()));
+        Map<Long, EbookRepository.CatalogRow> rows = repository.findByIdIn(batch.keySet()).stream()
+                .collect(Collectors.toMap(EbookRepository.CatalogRow::getId, Function.identity()));
+        boolean changed = false;
+        for (Map.Entry<Long, Delta> entry : batch.entrySet()) {
+            String bookId = String.valueOf(entry.getKey());
+            int index = indexOf(books, bookId);
+            EbookRepository.CatalogRow row = rows.get(entry.getKey());
+            if (entry.getValue().removed() || row == null) {
+                if (index >= 0) {
+                    books.remove(index);
+                    changed = true;
+                }
+                continue;
+            }
+            EbookItemDto previous = index >= 0 ? books.get(index) : null;
+            EbookItemDto lite = new EbookItemDto();
+            lite.setId(bookId);
+            lite.setTitle(row.getTitle());
+            lite.setCoverUrl(row.getCoverUrl());
+            lite.setStatus(row.getStatus());
+            // Keep the curated storefront fields unless this change set them
+            lite.setBuyLink(entry.getValue().buyLink() != null ? entry.getValue().buyLink() : previous != null ? previous.getBuyLink() : null);
+            lite.setDescription(entry.getValue().description() != null ? entry.getValue().description() : previous != null ? previous.getDescription() : null);
+            if (previous != null && previous.equals(lite)) continue;
+            if (index >= 0) books.set(index, lite); else books.add(lite);
+            changed = true;
+        }
+        if (changed) upsertCatalog(base, books);
+    }
+
+    private static int indexOf(List<EbookItemDto> books, String bookId) {
+        for (int i = 0; i < books.size(); i++) {
+            if (bookId.equals(books.get(i).getId())) return i;
+        }
+        return -1;
+    }
+
+    // base is the cached instance, so the new catalog is built on a copy
+    private void upsertCatalog(EbookContentDto base, List<EbookItemDto> books) {
+        EbookContentDto next = new EbookContentDto();
+        next.setId(base.getId());
+        next.setHeaderTitle(base.getHeaderTitle());
+        next.setAbout(base.getAbout());
+        next.setNewsletterEnabled(base.isNewsletterEnabled());
+        next.setNewsletterEndpoint(base.getNewsletterEndpoint());
+        next.setContacts(base.getContacts());
+        next.setBooks(books);
+        // Top-level status reflects whether any book is published
+        boolean anyPublished = books.stream().anyMatch(i -> "published".equalsIgnoreCase(i.getStatus()));
+        next.setStatus(anyPublished ? "published" : "draft");
+        next.setUpdatedAt(Instant.now());
+        contentService.upsert(next);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            // A flush already running must finish first; both rewrite the catalog row
+            if (!executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Ebook catalog flush still running after {}s, skipping the final flush", SHUTDOWN_WAIT_SECONDS);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // Write out whatever is still waiting for its debounce window
+        flush();
+    }
+}
@@ -1,12 +1,13 @@
 package com.utilityzone.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utilityzone.config.CacheReloaders;
 import com.utilityzone.model.EbookContentEntity;
 import com.utilityzone.payload.dto.EbookContentDto;
 import com.utilityzone.repository.EbookContentRepository;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -18,14 +19,27 @@ import java.util.Optional;
 public class EbookContentService {
 
     private final EbookContentRepository repository;
-    private final ObjectMapper objectMapper;
+    private final EbookJsonCodec jsonCodec;
+    private final ResponseCache responseCache;
+    private final CacheReloaders cacheReloaders;
+
+    @PostConstruct
+    void registerReloaders() {
+        cacheReloaders.register("ebooks", key -> loadContent().orElse(null),
+                () -> responseCache.invalidate(ResponseCache.EBOOKS));
+    }
 
     @Cacheable(value = "ebooks", key = "'content'")
     public Optional<EbookContentDto> getContent() {
-        return repository.findAll().stream().findFirst().map(this::fromEntity);
+        return loadContent();
+    }
+
+    private Optional<EbookContentDto> loadContent() {
+        return repository.findFirstByOrderByIdAsc().map(this::fromEntity);
     }
 
-    @CacheEvict(value = "ebooks", key = "'content'", beforeInvocation = false)
+    // The saved catalog replaces the cached one, so the storefront never reads through a cold cache
+    @CachePut(value = "ebooks", key = "'content'")
     public EbookContentDto upsert(EbookContentDto dto) {
         // Sanitize: do not persist authoring-only fields in ebooks_content
         dto = sanitizeForCatalog(dto);
@@ -34,7 +48,7 @@ public class EbookContentService {
         if (idVal != null) {
             entity = repository.findById(idVal).orElseGet(EbookContentEntity::new);
         } else {
-            entity = repository.findAll().stream().findFirst().orElseGet(EbookContentEntity::new);
+            entity = repository.findFirstByOrderByIdAsc().orElseGet(EbookContentEntity::new);
         }
             dto.setUpdatedAt(Instant.now());
             entity.setContentJson(toJson(dto));
@@ -48,6 +62,7 @@ public class EbookContentService {
         if (dto.getStatus() == null) {
             dto.setStatus(saved.getStatus());
         }
+        responseCache.invalidate(ResponseCache.EBOOKS);
         return dto;
     }
 
@@ -93,10 +108,8 @@ public class EbookContentService {
         try {
             // Ensure catalog JSON never contains authoring-only fields
             EbookContentDto clean = sanitizeForCatalog(dto);
-            // Do not serialize nulls to avoid noisy null fields like preface:null
-            com.fasterxml.jackson.databind.ObjectMapper mapper = objectMapper.copy();
-            mapper.setSerializationInclusion(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL);
-            return mapper.writeValueAsString(clean);
+            // Nulls are omitted by the codec's catalog writer
+            return jsonCodec.writeContent(clean);
         } catch (Exception e) {
             throw new RuntimeException("Failed to serialize ebook content", e);
         }
@@ -108,7 +121,7 @@ public class EbookContentService {
 
     public EbookContentDto fromEntity(EbookContentEntity entity) {
         try {
-            EbookContentDto dto = objectMapper.readValue(entity.getContentJson(), EbookContentDto.class);
+            EbookContentDto dto = jsonCodec.readContent(entity.getContentJson());
             dto.setId(entity.getId());
             // Ensure top-level status reflects the column if missing in JSON
             if (dto.getStatus() == null) {
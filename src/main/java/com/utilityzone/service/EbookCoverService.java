@@ -2,32 +2,149 @@ package com.utilityzone.service;
 
 import com.utilityzone.model.EbookCoverEntity;
 import com.utilityzone.repository.EbookCoverRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Cover metadata lives in {@code ebooks_covers}; the image itself is a file in {@link BlobStore} named by
+ * its content hash. Rows written before the blob store still carry their bytes in {@code data} and are
+ * moved out on startup (or on first read, whichever comes first). A legacy row whose bytes duplicate
+ * another cover cannot take that cover's hash (content_hash is unique), so it keeps its bytes in the
+ * database and is served from there; see {@link #inlineData}.
+ */
 @Service
 @RequiredArgsConstructor
 public class EbookCoverService {
 
+    private static final Logger log = LoggerFactory.getLogger(EbookCoverService.class);
+
     private final EbookCoverRepository repository;
+    private final BlobStore blobStore;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cover-blob-migration");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * What the cover caches keep on the heap; the image is the file at {@link #file}, or for an
+     * {@link #inline} cover the bytes from {@link #inlineData}.
+     */
+    public record CoverHandle(Long id, String mimeType, String contentHash, Instant createdAt, long length) {
+        static CoverHandle of(EbookCoverEntity e) {
+            long length = e.getSizeBytes() != null ? e.getSizeBytes() : e.getData() != null ? e.getData().length : 0L;
+            return new CoverHandle(e.getId(), e.getMimeType(), e.getContentHash(), e.getCreatedAt(), length);
+        }
+
+        public boolean inline() {
+            return contentHash == null;
+        }
+    }
 
     @Cacheable(value = "ebookCoverById", key = "#id")
-    public Optional<EbookCoverEntity> findById(Long id) {
-        return repository.findById(id);
+    public Optional<CoverHandle> findById(Long id) {
+        return repository.findById(id).map(this::migrated).map(CoverHandle::of);
     }
 
     @Cacheable(value = "ebookCoverByHash", key = "#hash")
-    public Optional<EbookCoverEntity> findByHash(String hash) {
-        return repository.findByContentHash(hash);
+    public Optional<CoverHandle> findByHash(String hash) {
+        return repository.findByContentHash(hash).map(this::migrated).map(CoverHandle::of);
+    }
+
+    /** Bytes of a cover still stored in the database (not cached: these are rare legacy duplicates). */
+    public Optional<byte[]> inlineData(CoverHandle cover) {
+        return repository.findById(cover.id()).map(EbookCoverEntity::getData);
+    }
+
+    public Path file(CoverHandle cover) throws IOException {
+        Path path = blobStore.path(cover.contentHash());
+        if (!Files.isRegularFile(path)) throw new NoSuchFileException(path.toString());
+        return path;
     }
 
-    // If we save a new cover (or replace), clear cache so subsequent fetch uses fresh bytes
-    @CacheEvict(value = "ebookCoverById", allEntries = true, beforeInvocation = false)
-    public EbookCoverEntity save(EbookCoverEntity entity) {
+    // If we save a new cover (or replace), clear cache so subsequent fetch uses fresh bytes.
+    // The by-hash cache may hold a "not found" for this very hash from the upload's dedup check.
+    @Caching(evict = {
+        @CacheEvict(value = "ebookCoverById", allEntries = true, beforeInvocation = false),
+        @CacheEvict(value = "ebookCoverByHash", allEntries = true, beforeInvocation = false)
+    })
+    public EbookCoverEntity save(EbookCoverEntity entity) throws IOException {
+        if (entity.getData() != null) {
+            moveToBlobStore(entity);
+        }
         return repository.save(entity);
     }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInlineCoversOnStartup() {
+        executor.execute(() -> {
+            try {
+                int moved = 0;
+                for (Long id : repository.findIdsWithInlineData()) {
+                    Optional<EbookCoverEntity> cover = repository.findById(id);
+                    if (cover.isPresent() && cover.get().getData() != null
+                            && migrated(cover.get()).getData() == null) {
+                        moved++;
+                    }
+                }
+                if (moved > 0) log.info("Moved {} ebook covers from the database to the blob store", moved);
+            } catch (Exception e) {
+                log.warn("Moving ebook covers to the blob store failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private EbookCoverEntity migrated(EbookCoverEntity entity) {
+        if (entity.getData() == null) return entity;
+        try {
+            String hash = entity.getContentHash();
+            if (hash == null) {
+                hash = BlobStore.sha256(entity.getData());
+                Optional<EbookCoverEntity> twin = repository.findByContentHash(hash);
+                if (twin.isPresent() && !twin.get().getId().equals(entity.getId())) {
+                    // Pre-dedup duplicate: content_hash is unique, so this row keeps serving its own bytes
+                    log.debug("Cover {} duplicates cover {}; served from the database", entity.getId(), twin.get().getId());
+                    return entity;
+                }
+            }
+            moveToBlobStore(entity);
+            return repository.save(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not move cover " + entity.getId() + " to the blob store", e);
+        }
+    }
+
+    // The file is written (and renamed into place) before the row stops pointing at its own bytes
+    private void moveToBlobStore(EbookCoverEntity entity) throws IOException {
+        byte[] data = entity.getData();
+        String hash = entity.getContentHash() != null ? entity.getContentHash() : BlobStore.sha256(data);
+        blobStore.put(hash, data);
+        entity.setContentHash(hash);
+        entity.setSizeBytes((long) data.length);
+        entity.setData(null);
+    }
 }
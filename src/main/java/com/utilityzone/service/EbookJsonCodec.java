@@ -0,0 +1,47 @@
+package com.utilityzone.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.utilityzone.payload.dto.EbookContentDto;
+import com.utilityzone.payload.dto.EbookItemDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * JSON for the ebook columns: ebooks_content.content_json both ways, and legacy ebooks.book_json,
+ * which is only read now (books are stored as rows). Readers and writers are built once from the
+ * application ObjectMapper: they are immutable and thread-safe, and reusing them keeps Jackson's
+ * serializer/deserializer caches warm. Copying the mapper per call (as the catalog writer used to, to
+ * switch on NON_NULL) starts each call with empty caches.
+ */
+@Component
+public class EbookJsonCodec {
+
+    private final ObjectReader itemReader;
+    private final ObjectReader contentReader;
+    private final ObjectWriter contentWriter;
+
+    public EbookJsonCodec(ObjectMapper objectMapper) {
+        this.itemReader = objectMapper.readerFor(EbookItemDto.class);
+        this.contentReader = objectMapper.readerFor(EbookContentDto.class);
+        // Catalog JSON omits nulls (no noisy preface:null etc.); one copy of the mapper, made here
+        this.contentWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(EbookContentDto.class);
+    }
+
+    public EbookItemDto readItem(String json) throws IOException {
+        return itemReader.readValue(json);
+    }
+
+    public EbookContentDto readContent(String json) throws IOException {
+        return contentReader.readValue(json);
+    }
+
+    public String writeContent(EbookContentDto content) throws IOException {
+        return contentWriter.writeValueAsString(content);
+    }
+}
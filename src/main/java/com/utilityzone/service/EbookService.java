@@ -1,126 +1,196 @@
 package com.utilityzone.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utilityzone.model.EbookChapterEntity;
 import com.utilityzone.model.EbookEntity;
-import com.utilityzone.payload.dto.EbookContentDto;
+import com.utilityzone.model.EbookNoteEntity;
+import com.utilityzone.payload.dto.ChapterDto;
 import com.utilityzone.payload.dto.EbookItemDto;
+import com.utilityzone.repository.EbookChapterRepository;
+import com.utilityzone.repository.EbookNoteRepository;
 import com.utilityzone.repository.EbookRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
+/**
+ * Ebooks are stored as a book row plus chapter and note rows. Saves patch only the fields that were
+ * sent (and, through dirty checking, only the rows and columns whose values changed), and the storefront
+ * catalog in ebooks_content is updated for the one book that changed, by {@link EbookCatalogProjector}.
+ *
+ * Rows written before this layout keep their book_json until they are split, which happens on their
+ * next save or in the background at startup.
+ */
 @Service
 @RequiredArgsConstructor
 public class EbookService {
+    private static final Logger log = LoggerFactory.getLogger(EbookService.class);
+
     private final EbookRepository repository;
-    private final ObjectMapper objectMapper;
-    private final EbookContentService contentService;
+    private final EbookChapterRepository chapterRepository;
+    private final EbookNoteRepository noteRepository;
+    private final EbookJsonCodec jsonCodec;
+    private final EbookCatalogProjector catalogProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ebook-normalize");
+        t.setDaemon(true);
+        return t;
+    });
 
     public List<EbookEntity> listAll() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<EbookItemDto> listAllDto() {
+        return toDtos(repository.findAll());
+    }
+
+    @Transactional(readOnly = true)
     public List<EbookItemDto> listPublishedDto() {
-        return repository.findAllByStatus("published").stream()
-                .map(this::fromEntity)
-                .toList();
+        return toDtos(repository.findAllByStatus("published"));
     }
 
     public Optional<EbookEntity> get(Long id) {
         return repository.findById(id);
     }
 
+    @Transactional
     public EbookEntity create(EbookItemDto book) {
         EbookEntity entity = new EbookEntity();
         entity.setTitle(book.getTitle() != null ? book.getTitle() : "");
         entity.setCoverUrl(book.getCoverUrl());
         entity.setStatus(book.getStatus() != null ? book.getStatus() : "draft");
+        entity.setPreface(book.getPreface());
+        entity.setDisclaimer(book.getDisclaimer());
         entity.setUpdatedAt(Instant.now());
-        // Avoid storing curated storefront fields in per-ebook JSON
-        EbookItemDto authoring = new EbookItemDto();
-        authoring.setId(book.getId());
-        authoring.setTitle(book.getTitle());
-        authoring.setCoverUrl(book.getCoverUrl());
-        authoring.setStatus(book.getStatus());
-        authoring.setPreface(book.getPreface());
-        authoring.setDisclaimer(book.getDisclaimer());
-        authoring.setChapters(book.getChapters());
-        authoring.setChapterIdeas(book.getChapterIdeas());
-        authoring.setResearchNotes(book.getResearchNotes());
-        authoring.setDataStatsExamples(book.getDataStatsExamples());
-        authoring.setPersonalThoughts(book.getPersonalThoughts());
-        authoring.setQuestionsForNotebookLm(book.getQuestionsForNotebookLm());
-        // Intentionally do NOT include buyLink/description in book_json
-        entity.setBookJson(toJson(authoring));
         EbookEntity saved = repository.save(entity);
-        syncAggregatedCatalog();
+        if (book.getChapters() != null) writeChapters(saved.getId(), book.getChapters());
+        patchNotes(saved.getId(), book);
+        // Intentionally do NOT take buyLink/description from a new book: they are curated in the catalog
+        catalogProjector.bookChanged(saved.getId(), null, null);
         return saved;
     }
 
+    @Transactional
     public EbookEntity update(Long id, EbookItemDto book) {
         java.util.Optional<EbookEntity> opt = repository.findById(id);
         boolean exists = opt.isPresent();
         EbookEntity entity = exists ? opt.get() : new EbookEntity();
-        // Only update shallow storefront fields when provided
+        if (entity.getBookJson() != null) normalize(entity);
+        // Only fields that were provided are patched
         if (book.getTitle() != null) entity.setTitle(book.getTitle());
         if (book.getCoverUrl() != null) entity.setCoverUrl(book.getCoverUrl());
         if (book.getStatus() != null) entity.setStatus(book.getStatus());
+        if (book.getPreface() != null) entity.setPreface(book.getPreface());
+        if (book.getDisclaimer() != null) entity.setDisclaimer(book.getDisclaimer());
         entity.setUpdatedAt(Instant.now());
-
-        // Merge authoring content: read existing JSON and patch only non-null fields
-        EbookItemDto existing;
-        try {
-            existing = entity.getBookJson() != null ? objectMapper.readValue(entity.getBookJson(), EbookItemDto.class) : new EbookItemDto();
-        } catch (Exception e) {
-            existing = new EbookItemDto();
-        }
-        // Never store curated fields in book_json
-        existing.setId(book.getId() != null ? book.getId() : existing.getId());
-        if (book.getTitle() != null) existing.setTitle(book.getTitle());
-        if (book.getCoverUrl() != null) existing.setCoverUrl(book.getCoverUrl());
-        if (book.getStatus() != null) existing.setStatus(book.getStatus());
-        if (book.getPreface() != null) existing.setPreface(book.getPreface());
-        if (book.getDisclaimer() != null) existing.setDisclaimer(book.getDisclaimer());
-        if (book.getChapters() != null) existing.setChapters(book.getChapters());
-        if (book.getChapterIdeas() != null) existing.setChapterIdeas(book.getChapterIdeas());
-        if (book.getResearchNotes() != null) existing.setResearchNotes(book.getResearchNotes());
-        if (book.getDataStatsExamples() != null) existing.setDataStatsExamples(book.getDataStatsExamples());
-        if (book.getPersonalThoughts() != null) existing.setPersonalThoughts(book.getPersonalThoughts());
-        if (book.getQuestionsForNotebookLm() != null) existing.setQuestionsForNotebookLm(book.getQuestionsForNotebookLm());
-        entity.setBookJson(toJson(existing));
         EbookEntity saved = repository.save(entity);
-        // If curated fields were provided, patch them into ebooks_content
-        if (book.getBuyLink() != null || book.getDescription() != null) {
-            try {
-                String targetId = String.valueOf(saved.getId());
-                patchCuratedCatalogFields(targetId, book.getBuyLink(), book.getDescription());
-            } catch (Exception ignored) {
-                // Non-fatal
-            }
-        }
-        syncAggregatedCatalog();
+        if (book.getChapters() != null) writeChapters(saved.getId(), book.getChapters());
+        patchNotes(saved.getId(), book);
+        catalogProjector.bookChanged(saved.getId(), book.getBuyLink(), book.getDescription());
         return saved;
     }
 
+    /** Patches one chapter (non-null fields only); empty if the book has no chapter at that position. */
+    @Transactional
+    public Optional<ChapterDto> patchChapter(Long id, int position, ChapterDto patch) {
+        Optional<EbookEntity> book = repository.findById(id);
+        if (book.isEmpty()) return Optional.empty();
+        if (book.get().getBookJson() != null) normalize(book.get());
+        Optional<EbookChapterEntity> chapter = chapterRepository.findByEbookIdAndPosition(id, position);
+        chapter.ifPresent(c -> {
+            if (patch.getTitle() != null) c.setTitle(patch.getTitle());
+            if (patch.getContent() != null) c.setContent(patch.getContent());
+            if (patch.getFilename() != null) c.setFilename(patch.getFilename());
+            book.get().setUpdatedAt(Instant.now());
+        });
+        return chapter.map(EbookService::toChapterDto);
+    }
+
+    @Transactional
     public void delete(Long id) {
+        chapterRepository.deleteByEbook(id);
+        noteRepository.deleteByEbook(id);
         repository.deleteById(id);
-        syncAggregatedCatalog();
+        catalogProjector.bookRemoved(id);
     }
 
-    public String toJson(Object obj) {
-        try {
-            return objectMapper.writeValueAsString(obj);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to serialize book", e);
+    public EbookItemDto fromEntity(EbookEntity entity) {
+        if (entity.getBookJson() != null) return fromLegacyJson(entity);
+        return toDto(entity,
+                chapterRepository.findByEbookIdOrderByPosition(entity.getId()),
+                noteRepository.findByEbookIdOrderByKindAscPositionAsc(entity.getId()));
+    }
+
+    // Listings load the chapters and notes of all books in two queries
+    private List<EbookItemDto> toDtos(List<EbookEntity> entities) {
+        List<Long> ids = entities.stream()
+                .filter(e -> e.getBookJson() == null)
+                .map(EbookEntity::getId)
+                .toList();
+        Map<Long, List<EbookChapterEntity>> chapters = ids.isEmpty() ? Map.of()
+                : chapterRepository.findByEbookIdInOrderByEbookIdAscPositionAsc(ids).stream()
+                        .collect(Collectors.groupingBy(EbookChapterEntity::getEbookId));
+        Map<Long, List<EbookNoteEntity>> notes = ids.isEmpty() ? Map.of()
+                : noteRepository.findByEbookIdInOrderByEbookIdAscKindAscPositionAsc(ids).stream()
+                        .collect(Collectors.groupingBy(EbookNoteEntity::getEbookId));
+        return entities.stream()
+                .map(e -> e.getBookJson() != null ? fromLegacyJson(e)
+                        : toDto(e, chapters.getOrDefault(e.getId(), List.of()), notes.getOrDefault(e.getId(), List.of())))
+                .toList();
+    }
+
+    private EbookItemDto toDto(EbookEntity entity, List<EbookChapterEntity> chapters, List<EbookNoteEntity> notes) {
+        EbookItemDto book = new EbookItemDto();
+        book.setId(String.valueOf(entity.getId()));
+        book.setTitle(entity.getTitle());
+        book.setCoverUrl(entity.getCoverUrl());
+        book.setStatus(entity.getStatus());
+        book.setPreface(entity.getPreface());
+        book.setDisclaimer(entity.getDisclaimer());
+        book.setChapters(chapters.stream().map(EbookService::toChapterDto).collect(Collectors.toCollection(ArrayList::new)));
+        List<String> questions = new ArrayList<>();
+        for (EbookNoteEntity note : notes) {
+            switch (note.getKind()) {
+                case EbookNoteEntity.CHAPTER_IDEAS -> book.setChapterIdeas(note.getBody());
+                case EbookNoteEntity.RESEARCH_NOTES -> book.setResearchNotes(note.getBody());
+                case EbookNoteEntity.DATA_STATS_EXAMPLES -> book.setDataStatsExamples(note.getBody());
+                case EbookNoteEntity.PERSONAL_THOUGHTS -> book.setPersonalThoughts(note.getBody());
+                case EbookNoteEntity.NOTEBOOKLM_QUESTION -> questions.add(note.getBody());
+                default -> { }
+            }
         }
+        book.setQuestionsForNotebookLm(questions);
+        return book;
     }
 
-    public EbookItemDto fromEntity(EbookEntity entity) {
+    private static ChapterDto toChapterDto(EbookChapterEntity c) {
+        ChapterDto dto = new ChapterDto();
+        dto.setTitle(c.getTitle());
+        dto.setContent(c.getContent());
+        dto.setFilename(c.getFilename());
+        return dto;
+    }
+
+    private EbookItemDto fromLegacyJson(EbookEntity entity) {
         try {
-            EbookItemDto book = objectMapper.readValue(entity.getBookJson(), EbookItemDto.class);
+            EbookItemDto book = jsonCodec.readItem(entity.getBookJson());
             book.setId(entity.getId() != null ? String.valueOf(entity.getId()) : book.getId());
             if (book.getStatus() == null) book.setStatus(entity.getStatus());
             if (book.getCoverUrl() == null) book.setCoverUrl(entity.getCoverUrl());
@@ -130,73 +200,95 @@ public class EbookService {
         }
     }
 
-    // Keep ebooks_content in sync with per-ebook rows for storefront rendering
-    private void syncAggregatedCatalog() {
-        try {
-            // Load existing global content to preserve header/about/newsletter/contacts
-            EbookContentDto base = contentService.getContent().orElseGet(EbookContentDto::new);
-            java.util.Map<String, EbookItemDto> existingById = java.util.Optional.ofNullable(base.getBooks())
-                    .orElse(java.util.Collections.emptyList())
-                    .stream()
-                    .filter(b -> b.getId() != null && !b.getId().isEmpty())
-                    .collect(java.util.stream.Collectors.toMap(EbookItemDto::getId, b -> b, (a,b)->a));
-            // Map all items (both draft and published) into lightweight list
-            List<EbookItemDto> items = repository.findAll().stream()
-                    .map(this::fromEntity)
-                    .map(b -> {
-                        EbookItemDto lite = new EbookItemDto();
-                        lite.setId(b.getId());
-                        lite.setTitle(b.getTitle());
-                        lite.setCoverUrl(b.getCoverUrl());
-                        lite.setStatus(b.getStatus());
-                        // carry over curated fields from existing aggregated catalog if present
-                        EbookItemDto prev = existingById.get(b.getId());
-                        if (prev != null) {
-                            lite.setBuyLink(prev.getBuyLink());
-                            lite.setDescription(prev.getDescription());
-                        } else {
-                            // fallback to values present in per-ebook JSON if any
-                            lite.setBuyLink(b.getBuyLink());
-                            lite.setDescription(b.getDescription());
-                        }
-                        return lite;
-                    })
-                    .toList();
-
-            base.setBooks(items);
-            // Top-level status reflects whether any book is published
-            boolean anyPublished = items.stream().anyMatch(i -> "published".equalsIgnoreCase(i.getStatus()));
-            base.setStatus(anyPublished ? "published" : "draft");
-            base.setUpdatedAt(Instant.now());
-            contentService.upsert(base);
-        } catch (Exception ignored) {
-            // Non-fatal: storefront can still read directly from /items/published
+    // Position-by-position diff: changed rows are updated, extra rows inserted or deleted
+    private void writeChapters(Long ebookId, List<ChapterDto> chapters) {
+        List<EbookChapterEntity> existing = chapterRepository.findByEbookIdOrderByPosition(ebookId);
+        List<EbookChapterEntity> rows = new ArrayList<>(chapters.size());
+        for (int i = 0; i < chapters.size(); i++) {
+            ChapterDto c = chapters.get(i) != null ? chapters.get(i) : new ChapterDto();
+            EbookChapterEntity row = i < existing.size() ? existing.get(i) : new EbookChapterEntity();
+            row.setEbookId(ebookId);
+            row.setPosition(i);
+            row.setTitle(c.getTitle());
+            row.setContent(c.getContent());
+            row.setFilename(c.getFilename());
+            rows.add(row);
+        }
+        chapterRepository.saveAll(rows);
+        if (existing.size() > chapters.size()) {
+            chapterRepository.deleteAll(existing.subList(chapters.size(), existing.size()));
         }
     }
 
-    // Patch a single book's curated fields (buyLink/description) in ebooks_content
-    private void patchCuratedCatalogFields(String bookId, String buyLink, String description) {
-        EbookContentDto base = contentService.getContent().orElseGet(EbookContentDto::new);
-        java.util.List<EbookItemDto> list = java.util.Optional.ofNullable(base.getBooks())
-                .orElse(new java.util.ArrayList<>());
-        boolean found = false;
-        for (EbookItemDto b : list) {
-            if (b.getId() != null && b.getId().equals(bookId)) {
-                if (buyLink != null) b.setBuyLink(buyLink);
-                if (description != null) b.setDescription(description);
-                found = true;
-                break;
+    private void patchNotes(Long ebookId, EbookItemDto book) {
+        Map<String, List<EbookNoteEntity>> byKind = noteRepository.findByEbookIdOrderByKindAscPositionAsc(ebookId).stream()
+                .collect(Collectors.groupingBy(EbookNoteEntity::getKind));
+        setNote(byKind, ebookId, EbookNoteEntity.CHAPTER_IDEAS, book.getChapterIdeas());
+        setNote(byKind, ebookId, EbookNoteEntity.RESEARCH_NOTES, book.getResearchNotes());
+        setNote(byKind, ebookId, EbookNoteEntity.DATA_STATS_EXAMPLES, book.getDataStatsExamples());
+        setNote(byKind, ebookId, EbookNoteEntity.PERSONAL_THOUGHTS, book.getPersonalThoughts());
+        if (book.getQuestionsForNotebookLm() != null) {
+            List<String> questions = book.getQuestionsForNotebookLm();
+            List<EbookNoteEntity> existing = byKind.getOrDefault(EbookNoteEntity.NOTEBOOKLM_QUESTION, List.of());
+            List<EbookNoteEntity> rows = new ArrayList<>(questions.size());
+            for (int i = 0; i < questions.size(); i++) {
+                EbookNoteEntity row = i < existing.size() ? existing.get(i) : newNote(ebookId, EbookNoteEntity.NOTEBOOKLM_QUESTION, i);
+                row.setBody(questions.get(i));
+                rows.add(row);
+            }
+            noteRepository.saveAll(rows);
+            if (existing.size() > questions.size()) {
+                noteRepository.deleteAll(existing.subList(questions.size(), existing.size()));
             }
         }
-        if (!found) {
-            EbookItemDto b = new EbookItemDto();
-            b.setId(bookId);
-            b.setBuyLink(buyLink);
-            b.setDescription(description);
-            list.add(b);
-        }
-        base.setBooks(list);
-        base.setUpdatedAt(Instant.now());
-        contentService.upsert(base);
+    }
+
+    private void setNote(Map<String, List<EbookNoteEntity>> byKind, Long ebookId, String kind, String body) {
+        if (body == null) return;
+        List<EbookNoteEntity> rows = byKind.getOrDefault(kind, List.of());
+        EbookNoteEntity row = rows.isEmpty() ? newNote(ebookId, kind, 0) : rows.get(0);
+        row.setBody(body);
+        noteRepository.save(row);
+    }
+
+    private static EbookNoteEntity newNote(Long ebookId, String kind, int position) {
+        EbookNoteEntity note = new EbookNoteEntity();
+        note.setEbookId(ebookId);
+        note.setKind(kind);
+        note.setPosition(position);
+        return note;
+    }
+
+    // Splits a legacy book_json row into columns and child rows (caller saves the entity)
+    private void normalize(EbookEntity entity) {
+        EbookItemDto legacy = fromLegacyJson(entity);
+        if (entity.getPreface() == null) entity.setPreface(legacy.getPreface());
+        if (entity.getDisclaimer() == null) entity.setDisclaimer(legacy.getDisclaimer());
+        if (legacy.getChapters() != null) writeChapters(entity.getId(), legacy.getChapters());
+        patchNotes(entity.getId(), legacy);
+        entity.setBookJson(null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void normalizeLegacyBooksOnStartup() {
+        executor.execute(() -> {
+            try {
+                int split = 0;
+                for (Long id : repository.findIdsWithBookJson()) {
+                    transactionTemplate.executeWithoutResult(s -> repository.findById(id).ifPresent(e -> {
+                        if (e.getBookJson() != null) normalize(e);
+                    }));
+                    split++;
+                }
+                if (split > 0) log.info("Split {} ebooks from book_json into chapter and note rows", split);
+            } catch (Exception e) {
+                log.warn("Splitting legacy ebook JSON failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 }
@@ -0,0 +1,89 @@
+package com.utilityzone.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every pairwise rate of one snapshot, computed once when the snapshot is built.
+ * Currency codes map to dense indexes and rates live in a flat N×N array of fixed-scale longs, so a
+ * conversion is two index lookups, an array read and one multiply, with no division on the request path.
+ */
+public final class FxCrossRateTable {
+
+    /** Decimal places held by {@link #fixedRate(int, int)}. */
+    public static final int RATE_SCALE = 12;
+
+    // Marks a cross rate too large for the fixed-scale form (a million or more units per unit)
+    private static final long OUT_OF_RANGE = Long.MIN_VALUE;
+
+    private final String[] codes;
+    private final Map<String, Integer> index;
+    private final long[] fixedRates;    // fixedRates[from * n + to], scaled by 10^RATE_SCALE
+    private final BigDecimal[] perBase; // units per one base unit, kept exact for out-of-range pairs
+
+    FxCrossRateTable(Map<String, BigDecimal> ratesPerBase) {
+        int n = ratesPerBase.size();
+        this.codes = new String[n];
+        this.perBase = new BigDecimal[n];
+        Map<String, Integer> idx = new HashMap<>(n * 2);
+        int i = 0;
+        for (Map.Entry<String, BigDecimal> e : ratesPerBase.entrySet()) {
+            codes[i] = e.getKey();
+            perBase[i] = e.getValue();
+            idx.put(e.getKey(), i);
+            i++;
+        }
+        this.index = Collections.unmodifiableMap(idx);
+
+        this.fixedRates = new long[n * n];
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                // to-per-from = (to per base) / (from per base)
+                BigDecimal cross = from == to
+                        ? BigDecimal.ONE
+                        : perBase[to].divide(perBase[from], MathContext.DECIMAL128);
+                BigDecimal scaled = cross.setScale(RATE_SCALE, RoundingMode.HALF_UP);
+                fixedRates[from * n + to] = scaled.precision() - scaled.scale() > 6
+                        ? OUT_OF_RANGE
+                        : scaled.unscaledValue().longValue();
+            }
+        }
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    /** Index of an upper-case ISO code, or -1 when the snapshot has no rate for it. */
+    public int indexOf(String code) {
+        Integer i = index.get(code);
+        return i != null ? i : -1;
+    }
+
+    public String codeAt(int i) {
+        return codes[i];
+    }
+
+    /** Units of {@code to} per unit of {@code from}, scaled by 10^{@link #RATE_SCALE}. */
+    public long fixedRate(int from, int to) {
+        return fixedRates[from * codes.length + to];
+    }
+
+    /** Cross rate as a decimal with {@link #RATE_SCALE} places. */
+    public BigDecimal rateDecimal(int from, int to) {
+        long fixed = fixedRate(from, to);
+        if (fixed == OUT_OF_RANGE) {
+            return perBase[to].divide(perBase[from], RATE_SCALE, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(fixed, RATE_SCALE);
+    }
+
+    /** Converts and rounds half-up to {@code scale} decimal places. */
+    public BigDecimal convert(BigDecimal amount, int from, int to, int scale) {
+        return amount.multiply(rateDecimal(from, to)).setScale(scale, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,278 @@
+package com.utilityzone.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Daily FX rates kept on local disk, one memory-mapped column file per currency. Slot {@code i} of a
+ * column holds that currency's rate (per snapshot base) for {@link #EPOCH} + i days, so a date range
+ * is one contiguous read. Empty slots are 0.0 (weekends, holidays, days never fetched).
+ *
+ * Days are recorded by whichever thread published the snapshot (normally the FX refresh thread);
+ * the bulk backfill only ever runs on the refresh thread. Request threads read concurrently.
+ */
+@Service
+public class FxHistoryStore {
+    private static final Logger log = LoggerFactory.getLogger(FxHistoryStore.class);
+
+    /** First day of ECB reference rates; day offsets are counted from here. */
+    public static final LocalDate EPOCH = LocalDate.of(1999, 1, 4);
+
+    /** How far back {@link #rateOn} looks for the last published day (long weekends, holidays). */
+    public static final int MAX_LOOKBACK_DAYS = 7;
+
+    private static final String SUFFIX = ".col";
+    private static final int GROW_DAYS = 366; // grow columns a year at a time
+
+    private final FxRateProvider provider;
+    private final Path dir;
+    private final int backfillDays;
+    private final Map<String, Column> columns = new ConcurrentHashMap<>();
+    private volatile boolean opened;
+    private final AtomicBoolean backfilled = new AtomicBoolean();
+
+    @Autowired
+    public FxHistoryStore(FxRateProvider provider,
+                          @Value("${app.fx.history-dir:./data/fx-history}") String dir,
+                          @Value("${app.fx.history.backfill-days:365}") int backfillDays) {
+        this.provider = provider;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.backfillDays = backfillDays;
+    }
+
+    /** A stored rate and the day it was published (may be before the requested date). */
+    public record Point(LocalDate date, double rate) {}
+
+    /** Rates for consecutive days from {@code start}; entries are NaN where no rate was published. */
+    public record Series(LocalDate start, double[] rates) {}
+
+    /** Stores one day's rates. */
+    public void record(FxRateSnapshot snapshot) {
+        writeDay(snapshot);
+        force();
+    }
+
+    /**
+     * Fetches up to {@code backfill-days} of history before {@code latest} from the provider, so trends
+     * are available without waiting for daily refreshes. Only the first call does any work; a failed
+     * backfill lets the next call try again. This is a slow provider call, so call it from the refresh
+     * thread, never from a request.
+     */
+    public void backfillOnce(FxRateSnapshot latest) {
+        if (backfillDays <= 0 || !backfilled.compareAndSet(false, true)) return;
+        if (backfill(latest.getDate(), latest.getBase())) {
+            force();
+        } else {
+            backfilled.set(false);
+        }
+    }
+
+    private void force() {
+        for (Column c : columns.values()) {
+            c.force();
+        }
+    }
+
+    public boolean hasCurrency(String code) {
+        ensureOpen();
+        return columns.containsKey(code);
+    }
+
+    /** Units of {@code to} per unit of {@code from} on the last published day at or before {@code date}. */
+    public Point rateOn(String from, String to, LocalDate date) {
+        ensureOpen();
+        Column f = columns.get(from);
+        Column t = columns.get(to);
+        if (f == null || t == null) return null;
+        int day = dayOffset(date);
+        for (int d = day; d >= 0 && d > day - MAX_LOOKBACK_DAYS; d--) {
+            double fr = f.get(d);
+            double tr = t.get(d);
+            if (fr > 0 && tr > 0) {
+                return new Point(EPOCH.plusDays(d), tr / fr);
+            }
+        }
+        return null;
+    }
+
+    /** Daily cross rates for {@code [start, end]}, read as two contiguous column slices. */
+    public Series series(String from, String to, LocalDate start, LocalDate end) {
+        ensureOpen();
+        Column f = columns.get(from);
+        Column t = columns.get(to);
+        if (f == null || t == null) return null;
+        LocalDate first = start.isBefore(EPOCH) ? EPOCH : start;
+        int startDay = dayOffset(first);
+        int len = Math.max(0, dayOffset(end) - startDay + 1);
+        double[] fr = f.read(startDay, len);
+        double[] tr = t.read(startDay, len);
+        double[] out = new double[len];
+        for (int i = 0; i < len; i++) {
+            out[i] = fr[i] > 0 && tr[i] > 0 ? tr[i] / fr[i] : Double.NaN;
+        }
+        return new Series(first, out);
+    }
+
+    private void writeDay(FxRateSnapshot snapshot) {
+        ensureOpen();
+        int day = dayOffset(snapshot.getDate());
+        if (day < 0) return;
+        try {
+            for (Map.Entry<String, BigDecimal> e : snapshot.getRates().entrySet()) {
+                if (!e.getKey().matches("[A-Z]{3}")) continue; // codes become file names
+                column(e.getKey()).put(day, e.getValue().doubleValue());
+            }
+        } catch (IOException e) {
+            log.warn("Could not store FX history for {}: {}", snapshot.getDate(), e.getMessage());
+        }
+    }
+
+    private boolean backfill(LocalDate latest, String baseCode) {
+        ensureOpen();
+        LocalDate start = latest.minusDays(backfillDays);
+        Column base = columns.get(baseCode);
+        if (base != null && hasAnyDay(base, dayOffset(start), MAX_LOOKBACK_DAYS)) {
+            return true; // history already reaches back far enough
+        }
+        try {
+            List<FxRateSnapshot> days = provider.fetchRange(start, latest.minusDays(1));
+            for (FxRateSnapshot day : days) {
+                writeDay(day);
+            }
+            log.info("FX history backfilled {} days from {}", days.size(), start);
+            return true;
+        } catch (Exception e) {
+            log.warn("FX history backfill failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hasAnyDay(Column column, int fromDay, int days) {
+        for (int d = Math.max(fromDay, 0); d < fromDay + days; d++) {
+            if (column.get(d) > 0) return true;
+        }
+        return false;
+    }
+
+    // Maps existing column files on first use rather than at startup, so a missing or read-only
+    // directory only affects history requests
+    private void ensureOpen() {
+        if (opened) return;
+        synchronized (this) {
+            if (opened) return;
+            try {
+                Files.createDirectories(dir);
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        String code = name.substring(0, name.length() - SUFFIX.length());
+                        columns.put(code, new Column(file));
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not open FX history store at {}: {}", dir, e.getMessage());
+            }
+            opened = true;
+        }
+    }
+
+    private Column column(String code) throws IOException {
+        Column c = columns.get(code);
+        if (c == null) {
+            synchronized (this) {
+                c = columns.get(code);
+                if (c == null) {
+                    c = new Column(dir.resolve(code + SUFFIX));
+                    columns.put(code, c);
+                }
+            }
+        }
+        return c;
+    }
+
+    static int dayOffset(LocalDate date) {
+        return (int) (date.toEpochDay() - EPOCH.toEpochDay());
+    }
+
+    @PreDestroy
+    void close() {
+        for (Column c : columns.values()) {
+            c.close();
+        }
+    }
+
+    /** One currency's rates as little-endian doubles, indexed by day offset. */
+    private static final class Column {
+        private final FileChannel channel;
+        private volatile MappedByteBuffer mapped;
+        private volatile DoubleBuffer values;
+
+        Column(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(Math.max(1, (int) (channel.size() / Double.BYTES)));
+        }
+
+        private void map(int days) throws IOException {
+            MappedByteBuffer m = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) days * Double.BYTES);
+            m.order(ByteOrder.LITTLE_ENDIAN);
+            mapped = m;
+            values = m.asDoubleBuffer();
+        }
+
+        double get(int day) {
+            DoubleBuffer v = values;
+            return day >= 0 && day < v.capacity() ? v.get(day) : 0.0;
+        }
+
+        double[] read(int fromDay, int len) {
+            double[] out = new double[len];
+            DoubleBuffer v = values;
+            int lo = Math.max(fromDay, 0);
+            int hi = Math.min(fromDay + len, v.capacity());
+            if (hi > lo) {
+                v.get(lo, out, lo - fromDay, hi - lo);
+            }
+            return out;
+        }
+
+        synchronized void put(int day, double rate) throws IOException {
+            if (day >= values.capacity()) {
+                map(day + GROW_DAYS);
+            }
+            values.put(day, rate);
+        }
+
+        synchronized void force() {
+            mapped.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // best effort on shutdown
+            }
+        }
+    }
+}
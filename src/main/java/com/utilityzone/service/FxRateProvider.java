@@ -0,0 +1,26 @@
+package com.utilityzone.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of foreign-exchange reference rates. The production implementation calls Frankfurter
+ * (ECB rates); tests plug in a local stub.
+ */
+public interface FxRateProvider {
+
+    /** Fetches the latest rates. Implementations throw on any failure; callers keep their last good snapshot. */
+    FxRateSnapshot fetchLatest();
+
+    /** Fetches ISO code -> display name for every supported currency. */
+    Map<String, String> fetchCurrencies();
+
+    /**
+     * Fetches one snapshot per published day in {@code [start, end]}, oldest first. Used to backfill
+     * the local history store; providers without historical data return an empty list.
+     */
+    default List<FxRateSnapshot> fetchRange(LocalDate start, LocalDate end) {
+        return List.of();
+    }
+}
@@ -0,0 +1,250 @@
+package com.utilityzone.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current FX rates as an immutable snapshot that request threads read without locking.
+ * A background task refreshes it shortly after the daily ECB publication (16:30 CET); failed
+ * refreshes are retried with jittered exponential backoff while the last good snapshot keeps serving.
+ */
+@Service
+public class FxRateService {
+    private static final Logger log = LoggerFactory.getLogger(FxRateService.class);
+
+    private static final ZoneId CET_ZONE = ZoneId.of("Europe/Paris"); // Paris observes CET/CEST
+    private static final long RETRY_INITIAL_MS = 30_000L;              // first retry after ~30s
+    private static final long RETRY_MAX_MS = 30 * 60_000L;             // never wait more than 30 min between retries
+    private static final long PUBLISH_JITTER_MS = 2 * 60_000L;         // spread daily refreshes over 2 min
+
+    private final FxRateProvider provider;
+    private final Clock clock;
+    private final AtomicReference<FxRateSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<Map<String, String>> currencies = new AtomicReference<>();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicReference<CompletableFuture<Void>> coldLoadInFlight = new AtomicReference<>();
+    private volatile long coldLoadNotBefore = 0L;
+    private ScheduledExecutorService scheduler;
+
+    // Optional so the service can be built without a store in tests
+    @Autowired(required = false)
+    private FxHistoryStore historyStore;
+
+    @Value("${app.fx.refresh-on-startup:true}")
+    private boolean refreshOnStartup = true;
+
+    // How long callers wait for another request's cold load before giving up with null
+    @Value("${app.fx.cold-load-wait-ms:2000}")
+    private long coldLoadWaitMillis = 2000;
+
+    @Autowired
+    public FxRateService(FxRateProvider provider) {
+        this(provider, Clock.systemDefaultZone());
+    }
+
+    FxRateService(FxRateProvider provider, Clock clock) {
+        this.provider = provider;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fx-rate-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        if (refreshOnStartup) {
+            scheduler.execute(this::scheduledRefresh);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+
+    /**
+     * Latest rates, or {@code null} if none could ever be fetched. Before the first successful refresh
+     * one caller fetches on its own thread; concurrent callers wait up to {@code app.fx.cold-load-wait-ms}
+     * for that fetch instead of starting their own. Every later call is a plain read.
+     */
+    public FxRateSnapshot current() {
+        FxRateSnapshot s = snapshot.get();
+        return s != null ? s : coldLoad().snapshot();
+    }
+
+    /** ISO code -> display name, or {@code null} if never fetched. */
+    public Map<String, String> currencies() {
+        Map<String, String> c = currencies.get();
+        return c != null ? c : coldLoad().currencies();
+    }
+
+    /**
+     * Fetches rates and currency names now and publishes them. Returns false when the provider
+     * failed; the previously published values stay in place.
+     */
+    public boolean refreshNow() {
+        boolean ok = true;
+        try {
+            FxRateSnapshot fresh = provider.fetchLatest();
+            snapshot.set(fresh);
+            log.info("FX rates refreshed: base={} date={} currencies={}", fresh.getBase(), fresh.getDate(), fresh.getRates().size());
+            recordHistory(fresh);
+        } catch (Exception e) {
+            ok = false;
+            log.warn("FX rate refresh failed, serving last good snapshot: {}", e.getMessage());
+        }
+        try {
+            Map<String, String> names = provider.fetchCurrencies();
+            currencies.set(Collections.unmodifiableMap(new LinkedHashMap<>(names)));
+        } catch (Exception e) {
+            // Currency names rarely change; only count this as a failure if we have none at all
+            if (currencies.get() == null) ok = false;
+            log.warn("FX currency list refresh failed: {}", e.getMessage());
+        }
+        return ok;
+    }
+
+    private void recordHistory(FxRateSnapshot fresh) {
+        if (historyStore == null) return;
+        try {
+            historyStore.record(fresh);
+        } catch (Exception e) {
+            log.warn("Could not record FX history: {}", e.getMessage());
+        }
+    }
+
+    // Runs on the refresh thread only: the backfill is one large provider call
+    private void backfillHistory(FxRateSnapshot latest) {
+        if (historyStore == null || latest == null) return;
+        try {
+            historyStore.backfillOnce(latest);
+        } catch (Exception e) {
+            log.warn("FX history backfill failed: {}", e.getMessage());
+        }
+    }
+
+    private void scheduledRefresh() {
+        long delayMs;
+        if (refreshNow()) {
+            consecutiveFailures.set(0);
+            backfillHistory(snapshot.get());
+            delayMs = millisUntil(next1630CET()) + ThreadLocalRandom.current().nextLong(PUBLISH_JITTER_MS);
+        } else {
+            delayMs = retryDelayMillis(consecutiveFailures.incrementAndGet());
+        }
+        log.debug("Next FX rate refresh in {}s", delayMs / 1000);
+        try {
+            scheduler.schedule(this::scheduledRefresh, delayMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Scheduler shut down (application stopping)
+        }
+    }
+
+    // Request-path fallback for when nothing has been published yet. A single caller fetches, outside any
+    // lock, and only fills in values still missing so it cannot overwrite a newer background refresh.
+    // Other callers wait a bounded time for that fetch, so a slow provider never stalls them for long.
+    // After a failure, request threads stop calling the provider for a while and leave retries to the
+    // background task.
+    private Loaded coldLoad() {
+        CompletableFuture<Void> inFlight = coldLoadInFlight.get();
+        if (inFlight == null && clock.millis() >= coldLoadNotBefore) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            if (coldLoadInFlight.compareAndSet(null, mine)) {
+                try {
+                    if (!loadMissing()) {
+                        coldLoadNotBefore = clock.millis() + RETRY_INITIAL_MS;
+                    }
+                } finally {
+                    coldLoadInFlight.set(null);
+                    mine.complete(null);
+                }
+                return new Loaded(snapshot.get(), currencies.get());
+            }
+            inFlight = coldLoadInFlight.get();
+        }
+        if (inFlight != null) awaitColdLoad(inFlight);
+        return new Loaded(snapshot.get(), currencies.get());
+    }
+
+    private void awaitColdLoad(CompletableFuture<Void> inFlight) {
+        try {
+            inFlight.get(coldLoadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Still loading: answer with whatever is published, which may be nothing
+        }
+    }
+
+    private boolean loadMissing() {
+        boolean ok = true;
+        if (snapshot.get() == null) {
+            try {
+                FxRateSnapshot fresh = provider.fetchLatest();
+                if (snapshot.compareAndSet(null, fresh)) {
+                    log.info("FX rates loaded on demand: base={} date={}", fresh.getBase(), fresh.getDate());
+                    recordHistory(fresh);
+                }
+            } catch (Exception e) {
+                ok = false;
+                log.warn("FX rate cold load failed: {}", e.getMessage());
+            }
+        }
+        if (currencies.get() == null) {
+            try {
+                currencies.compareAndSet(null, Collections.unmodifiableMap(new LinkedHashMap<>(provider.fetchCurrencies())));
+            } catch (Exception e) {
+                ok = false;
+                log.warn("FX currency list cold load failed: {}", e.getMessage());
+            }
+        }
+        return ok;
+    }
+
+    /** Next 16:30 in Paris time (ECB reference rates are published around 16:00 CET). */
+    ZonedDateTime next1630CET() {
+        ZonedDateTime nowCET = ZonedDateTime.now(clock.withZone(CET_ZONE));
+        ZonedDateTime today1630 = nowCET.withHour(16).withMinute(30).withSecond(0).withNano(0);
+        if (!nowCET.isBefore(today1630)) {
+            today1630 = today1630.plusDays(1);
+        }
+        return today1630;
+    }
+
+    // Exponential backoff with "equal jitter": half the window fixed, half random, so retries from restarts don't align
+    long retryDelayMillis(int failures) {
+        int shift = Math.min(Math.max(failures - 1, 0), 16);
+        long window = Math.min(RETRY_MAX_MS, RETRY_INITIAL_MS << shift);
+        return window / 2 + ThreadLocalRandom.current().nextLong(window / 2 + 1);
+    }
+
+    private long millisUntil(ZonedDateTime when) {
+        return Math.max(0L, Duration.between(clock.instant(), when.toInstant()).toMillis());
+    }
+
+    private record Loaded(FxRateSnapshot snapshot, Map<String, String> currencies) {}
+}
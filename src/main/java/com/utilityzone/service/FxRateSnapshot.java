@@ -0,0 +1,58 @@
+package com.utilityzone.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of rates against a single base currency, as published on one day.
+ * Instances are shared between request threads without locking, so nothing here may change after construction.
+ */
+public final class FxRateSnapshot {
+
+    private final String base;
+    private final LocalDate date;
+    private final Map<String, BigDecimal> rates;
+    private final Instant fetchedAt;
+    private final FxCrossRateTable crossRates;
+
+    public FxRateSnapshot(String base, LocalDate date, Map<String, BigDecimal> rates, Instant fetchedAt) {
+        this.base = base;
+        this.date = date;
+        Map<String, BigDecimal> copy = new LinkedHashMap<>(rates);
+        // The base currency is implicit in provider payloads; make it addressable like any other code
+        copy.putIfAbsent(base, BigDecimal.ONE);
+        this.rates = Collections.unmodifiableMap(copy);
+        this.fetchedAt = fetchedAt;
+        this.crossRates = new FxCrossRateTable(this.rates);
+    }
+
+    public String getBase() {
+        return base;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /** Units of each currency per one unit of {@link #getBase()}. */
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public BigDecimal rate(String currency) {
+        return rates.get(currency);
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /** Every pairwise rate, precomputed when this snapshot was built. */
+    public FxCrossRateTable getCrossRates() {
+        return crossRates;
+    }
+}
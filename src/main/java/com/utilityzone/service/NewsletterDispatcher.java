@@ -0,0 +1,280 @@
+package com.utilityzone.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk SMTP sender for newsletters. {@code JavaMailSender.send} opens a connection (and does STARTTLS
+ * and AUTH) for every message; this keeps a few authenticated {@link Transport}s open and sends many
+ * messages over each, reconnecting after {@code messages-per-connection} messages (servers commonly cap
+ * a session) or when the server drops the connection.
+ *
+ * Sending is paced to {@code max-per-second} messages across all connections and to
+ * {@code max-per-second-per-connection} on each one (0 turns either limit off). Messages are composed
+ * just before they are sent, so a large list is never held in memory as MimeMessages.
+ *
+ * Connections are worked from a pool of {@code connections} threads shared by all dispatches. If the
+ * dispatching thread is interrupted the workers are cancelled too: each stops before its next message.
+ * A worker that cannot connect {@value #MAX_CONNECT_FAILURES} times in a row gives up; recipients no
+ * worker got to are reported as failed.
+ */
+@Component
+public class NewsletterDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(NewsletterDispatcher.class);
+    static final int MAX_CONNECT_FAILURES = 3;
+
+    private final JavaMailSender mailSender;
+    private final int connections;
+    private final int messagesPerConnection;
+    private final int maxPerSecond;
+    private final int maxPerSecondPerConnection;
+    private final ExecutorService executor;
+
+    public NewsletterDispatcher(JavaMailSender mailSender,
+                                @Value("${app.newsletter.smtp.connections:3}") int connections,
+                                @Value("${app.newsletter.smtp.messages-per-connection:100}") int messagesPerConnection,
+                                @Value("${app.newsletter.smtp.max-per-second:10}") int maxPerSecond,
+                                @Value("${app.newsletter.smtp.max-per-second-per-connection:5}") int maxPerSecondPerConnection) {
+        this.mailSender = mailSender;
+        this.connections = Math.max(1, connections);
+        this.messagesPerConnection = Math.max(1, messagesPerConnection);
+        this.maxPerSecond = maxPerSecond;
+        this.maxPerSecondPerConnection = maxPerSecondPerConnection;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.connections, r -> {
+            Thread t = new Thread(r, "newsletter-smtp-" + threads.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    public interface Composer {
+        MimeMessage compose(String recipient) throws Exception;
+    }
+
+    public record Result(int sent, List<String> failed) {}
+
+    /**
+     * Sends one message per recipient and blocks until all have been attempted. If the calling thread
+     * is interrupted, the remaining sends are cancelled and InterruptedException is thrown.
+     */
+    public Result dispatch(List<String> recipients, Composer composer) throws InterruptedException {
+        if (recipients.isEmpty()) return new Result(0, List.of());
+        Iterator<String> queue = recipients.iterator();
+        AtomicInteger sent = new AtomicInteger();
+        List<String> failed = new ArrayList<>();
+        Pacer pacer = new Pacer(maxPerSecond);
+
+        if (!(mailSender instanceof JavaMailSenderImpl impl)) {
+            // No access to the session: fall back to one connection per message, still paced
+            new Worker(null, queue, composer, pacer, sent, failed).run();
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedException("Newsletter dispatch cancelled");
+            return new Result(sent.get(), List.copyOf(failed));
+        }
+        int workers = Math.min(connections, recipients.size());
+        List<Future<?>> futures = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(new Worker(impl, queue, composer, pacer, sent, failed)));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    log.error("Newsletter connection failed: {}", e.getCause().getMessage());
+                }
+            }
+            // Left over only when every connection gave up
+            for (String recipient; (recipient = next(queue)) != null; ) failed.add(recipient);
+        } finally {
+            // Only does anything when we are leaving early (interrupted): stop the workers too
+            for (Future<?> f : futures) f.cancel(true);
+        }
+        log.info("Newsletter dispatched: {} sent, {} failed over {} connections", sent.get(), failed.size(), workers);
+        return new Result(sent.get(), List.copyOf(failed));
+    }
+
+    private static String next(Iterator<String> queue) {
+        synchronized (queue) {
+            return queue.hasNext() ? queue.next() : null;
+        }
+    }
+
+    /** The SMTP server could not be reached {@link #MAX_CONNECT_FAILURES} times in a row. */
+    static final class ConnectFailedException extends RuntimeException {
+        ConnectFailedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final JavaMailSenderImpl impl;
+        private final Iterator<String> queue;
+        private final Composer composer;
+        private final Pacer pacer;
+        private final Pacer connectionPacer = new Pacer(maxPerSecondPerConnection);
+        private final AtomicInteger sent;
+        private final List<String> failed;
+        private Transport transport;
+        private int sentOnConnection;
+        private int connectFailures;
+
+        Worker(JavaMailSenderImpl impl, Iterator<String> queue, Composer composer, Pacer pacer,
+               AtomicInteger sent, List<String> failed) {
+            this.impl = impl;
+            this.queue = queue;
+            this.composer = composer;
+            this.pacer = pacer;
+            this.sent = sent;
+            this.failed = failed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                String recipient;
+                while (!Thread.currentThread().isInterrupted() && (recipient = next(queue)) != null) {
+                    connectionPacer.acquire();
+                    pacer.acquire();
+                    boolean delivered = false;
+                    try {
+                        delivered = send(recipient);
+                    } finally {
+                        if (delivered) {
+                            sent.incrementAndGet();
+                        } else {
+                            synchronized (failed) {
+                                failed.add(recipient);
+                            }
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private boolean send(String recipient) {
+            MimeMessage message;
+            try {
+                message = composer.compose(recipient);
+            } catch (Exception e) {
+                log.error("Failed to compose newsletter for {}: {}", recipient, e.getMessage());
+                return false;
+            }
+            if (impl == null) {
+                try {
+                    mailSender.send(message);
+                    return true;
+                } catch (Exception e) {
+                    log.error("Failed to send newsletter to {}: {}", recipient, e.getMessage());
+                    return false;
+                }
+            }
+            // One retry on a fresh connection covers servers that drop idle or capped sessions
+            for (int attempt = 0; attempt < 2; attempt++) {
+                Transport t;
+                try {
+                    t = transport();
+                } catch (MessagingException e) {
+                    // Not worth a retry: the next recipient tries again, until the worker gives up
+                    if (++connectFailures >= MAX_CONNECT_FAILURES) {
+                        throw new ConnectFailedException("could not connect to " + impl.getHost() + ":" + impl.getPort()
+                                + " " + connectFailures + " times in a row: " + e.getMessage(), e);
+                    }
+                    log.error("Failed to connect for newsletter to {}: {}", recipient, e.getMessage());
+                    return false;
+                }
+                try {
+                    message.saveChanges();
+                    t.sendMessage(message, message.getAllRecipients());
+                    sentOnConnection++;
+                    return true;
+                } catch (MessagingException e) {
+                    boolean connectionLost = transport == null || !transport.isConnected();
+                    if (!connectionLost || attempt == 1) {
+                        log.error("Failed to send newsletter to {}: {}", recipient, e.getMessage());
+                        return false;
+                    }
+                    close();
+                }
+            }
+            return false;
+        }
+
+        private Transport transport() throws MessagingException {
+            if (transport != null && (sentOnConnection >= messagesPerConnection || !transport.isConnected())) {
+                close();
+            }
+            if (transport == null) {
+                Session session = impl.getSession();
+                Transport t = session.getTransport(impl.getProtocol() != null ? impl.getProtocol() : "smtp");
+                t.connect(impl.getHost(), impl.getPort(), impl.getUsername(), impl.getPassword());
+                transport = t;
+                sentOnConnection = 0;
+                connectFailures = 0;
+            }
+            return transport;
+        }
+
+        private void close() {
+            if (transport == null) return;
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+                // connection already gone
+            }
+            transport = null;
+        }
+    }
+
+    // Spaces sends evenly: each caller waits for the next free slot, at most maxPerSecond per second
+    static final class Pacer {
+        private final long intervalNanos;
+        private long nextSlot;
+
+        Pacer(int maxPerSecond) {
+            this.intervalNanos = maxPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxPerSecond : 0;
+            this.nextSlot = System.nanoTime();
+        }
+
+        void acquire() throws InterruptedException {
+            if (intervalNanos == 0) return;
+            long slot;
+            synchronized (this) {
+                long now = System.nanoTime();
+                slot = Math.max(now, nextSlot);
+                nextSlot = slot + intervalNanos;
+            }
+            long wait = slot - System.nanoTime();
+            if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -20,6 +20,7 @@ public class NewsletterEmailService {
 
     private final JavaMailSender mailSender;
     private final NewsletterTokenService tokenService;
+    private final NewsletterDispatcher dispatcher;
 
     @Value("${app.mail.from:bharat.prasad@utilityzone.in}")
     private String fromAddress;
@@ -27,9 +28,11 @@ public class NewsletterEmailService {
     @Value("${app.api.base-url:https://api.utilityzone.in}")
     private String apiBaseUrl;
 
-    public NewsletterEmailService(JavaMailSender mailSender, NewsletterTokenService tokenService) {
+    public NewsletterEmailService(JavaMailSender mailSender, NewsletterTokenService tokenService,
+                                  NewsletterDispatcher dispatcher) {
         this.mailSender = mailSender;
         this.tokenService = tokenService;
+        this.dispatcher = dispatcher;
     }
 
     @Async("newsletterExecutor")
@@ -51,16 +54,23 @@ public class NewsletterEmailService {
 
     @Async("newsletterExecutor")
     public void sendToAllAsync(@NonNull List<String> emails, @NonNull String subject, @NonNull String htmlBody, String baseUri) {
-        for (String email : emails) {
-            try {
-                sendOne(email, subject, htmlBody, baseUri);
-            } catch (Exception ex) {
-                log.error("Failed to send newsletter to {}: {}", email, ex.getMessage());
+        try {
+            NewsletterDispatcher.Result result = dispatcher.dispatch(emails, email -> compose(email, subject, htmlBody, baseUri));
+            if (!result.failed().isEmpty()) {
+                log.warn("Newsletter '{}' not delivered to {} of {} subscribers", subject, result.failed().size(), emails.size());
             }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Newsletter '{}' dispatch interrupted", subject);
         }
     }
 
     private void sendOne(String toEmail, String subject, String htmlBody, String baseUri) throws Exception {
+        mailSender.send(compose(toEmail, subject, htmlBody, baseUri));
+        log.debug("Email dispatched to {} with subject '{}'", toEmail, subject);
+    }
+
+    private MimeMessage compose(String toEmail, String subject, String htmlBody, String baseUri) throws Exception {
         if (fromAddress == null || fromAddress.isBlank()) {
             // Fallback to a sane default to avoid startup failures due to missing property
             fromAddress = "bharat.prasad@utilityzone.in";
@@ -83,8 +93,6 @@ public class NewsletterEmailService {
         helper.setTo(toEmail);
         helper.setSubject(subject);
         helper.setText(composedHtml, true);
-
-        mailSender.send(message);
-        log.debug("Email dispatched to {} with subject '{}'", toEmail, subject);
+        return message;
     }
 }
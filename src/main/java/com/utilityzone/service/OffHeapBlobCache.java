@@ -0,0 +1,121 @@
+package com.utilityzone.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Second cache tier for large binaries (template mockups, buyer PDFs), kept in direct
+ * ByteBuffers outside the Java heap so the catalogue size does not show up as heap pressure or GC
+ * time. Heap caches hold only small handles; the bytes are looked up here by key and written to the
+ * response straight from the buffer.
+ *
+ * Bounded by a byte budget with least-recently-used eviction. Files above max-entry-bytes are not
+ * cached (they are streamed from disk instead).
+ */
+@Component
+public class OffHeapBlobCache {
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, ByteBuffer> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public OffHeapBlobCache(@Value("${app.blob-cache.max-bytes:134217728}") long maxBytes,
+                            @Value("${app.blob-cache.max-entry-bytes:8388608}") int maxEntryBytes,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("blob.cache.bytes", this, c -> c.usedBytes()).baseUnit("bytes").register(registry);
+            Gauge.builder("blob.cache.entries", this, c -> c.entries()).register(registry);
+            FunctionCounter.builder("blob.cache.gets", hits, AtomicLong::get).tag("result", "hit").register(registry);
+            FunctionCounter.builder("blob.cache.gets", misses, AtomicLong::get).tag("result", "miss").register(registry);
+            FunctionCounter.builder("blob.cache.evictions", evictions, AtomicLong::get).register(registry);
+        });
+    }
+
+    /** A read-only view of the cached bytes (its own position/limit), or null. */
+    public synchronized ByteBuffer get(String key) {
+        ByteBuffer buffer = index.get(key);
+        if (buffer == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Cached contents of {@code file}, read straight into off-heap memory on a miss; null when the
+     * file is too large to cache. Include the file's size and modification time in {@code key} so a
+     * replaced file is not served stale.
+     */
+    public ByteBuffer getFile(String key, Path file) throws IOException {
+        ByteBuffer cached = get(key);
+        if (cached != null) return cached;
+        long size = Files.size(file);
+        if (size > maxEntryBytes) return null;
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until full or EOF
+            }
+        }
+        return store(key, buffer.flip());
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int entries() {
+        return index.size();
+    }
+
+    private synchronized ByteBuffer store(String key, ByteBuffer buffer) {
+        ByteBuffer previous = index.put(key, buffer);
+        if (previous != null) usedBytes -= previous.capacity();
+        usedBytes += buffer.capacity();
+        // Dropped buffers are released when collected (direct memory has a Cleaner)
+        Iterator<Map.Entry<String, ByteBuffer>> lru = index.entrySet().iterator();
+        while (usedBytes > maxBytes && lru.hasNext()) {
+            Map.Entry<String, ByteBuffer> eldest = lru.next();
+            if (eldest.getValue() == buffer) continue;
+            usedBytes -= eldest.getValue().capacity();
+            lru.remove();
+            evictions.incrementAndGet();
+        }
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /** Writes the remaining bytes of {@code buffer} without copying them onto the heap in one piece. */
+    public static void writeTo(ByteBuffer buffer, OutputStream out) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        out.flush();
+    }
+}
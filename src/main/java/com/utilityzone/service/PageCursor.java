@@ -0,0 +1,43 @@
+package com.utilityzone.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque keyset-pagination cursor: the sort key (a timestamp) and id of the last row on a page,
+ * tagged with the listing it belongs to so a blog cursor cannot be replayed against articles.
+ * Clients only pass it back; the encoding is URL-safe base64 and may change.
+ */
+public final class PageCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private PageCursor() {}
+
+    public record Position(LocalDateTime at, long id) {}
+
+    public static String encode(String listing, LocalDateTime at, long id) {
+        // A null key would produce a cursor decode() cannot read; the listing must sort on a non-null key
+        Objects.requireNonNull(at, "cursor sort key");
+        String raw = listing + "|" + at + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decodes a cursor issued for {@code listing}; throws IllegalArgumentException for anything else. */
+    public static Position decode(String listing, String cursor) {
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !parts[0].equals(listing)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Position(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException and base64 errors are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
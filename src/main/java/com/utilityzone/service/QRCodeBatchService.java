@@ -0,0 +1,170 @@
+package com.utilityzone.service;
+
+import com.utilityzone.payload.request.QRCodeBatchRequest;
+import com.utilityzone.payload.request.QRCodeRequest;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders many QR codes in one request (e.g. one per event guest) and packages them
+ * either as a ZIP of PNGs or as a printable A4 label sheet.
+ * Rendering goes through {@link QRCodeService} so repeated codes are served from its cache.
+ */
+@Service
+public class QRCodeBatchService {
+
+    private static final float PAGE_MARGIN = 36f;   // page margins
+    private static final float CELL_PADDING = 8f;   // gap around each code inside its cell
+    private static final float LABEL_SIZE = 9f;     // caption font size
+    private static final float LABEL_LINE = 14f;    // space reserved under each code for the caption
+
+    private final QRCodeService qrCodeService;
+    private final Executor qrCodeExecutor;
+
+    public QRCodeBatchService(QRCodeService qrCodeService, @Qualifier("qrCodeExecutor") Executor qrCodeExecutor) {
+        this.qrCodeService = qrCodeService;
+        this.qrCodeExecutor = qrCodeExecutor;
+    }
+
+    /** Renders every item in parallel and returns the PNG bytes in request order. */
+    public List<byte[]> renderAll(QRCodeBatchRequest batch) {
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>(batch.getItems().size());
+        for (QRCodeBatchRequest.Item item : batch.getItems()) {
+            QRCodeRequest request = batch.toRequest(item);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return qrCodeService.generateQRCode(request).getQrCodeImage();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, qrCodeExecutor));
+        }
+        List<byte[]> images = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<byte[]> future : futures) {
+                images.add(future.join());
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IllegalArgumentException iae) throw iae;
+            throw new IllegalStateException("Failed to render QR code: " + cause.getMessage(), cause);
+        }
+        return images;
+    }
+
+    public byte[] generateZip(QRCodeBatchRequest batch) throws IOException {
+        List<byte[]> images = renderAll(batch);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            // PNG data is already deflate-compressed; spend as little CPU as possible re-compressing it
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (int i = 0; i < images.size(); i++) {
+                String name = entryName(i, batch.getItems().get(i).getLabel());
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(images.get(i));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] generateLabelSheet(QRCodeBatchRequest batch) throws IOException {
+        List<byte[]> images = renderAll(batch);
+        PDRectangle pageSize = PDRectangle.A4;
+        int columns = Math.max(1, batch.getColumns());
+        float cellW = (pageSize.getWidth() - 2 * PAGE_MARGIN) / columns;
+        float qrSize = cellW - 2 * CELL_PADDING;
+        float cellH = qrSize + 2 * CELL_PADDING + LABEL_LINE;
+        int rows = Math.max(1, (int) ((pageSize.getHeight() - 2 * PAGE_MARGIN) / cellH));
+        int perPage = rows * columns;
+
+        try (PDDocument doc = new PDDocument()) {
+            PDPageContentStream cs = null;
+            try {
+                for (int i = 0; i < images.size(); i++) {
+                    int slot = i % perPage;
+                    if (slot == 0) {
+                        if (cs != null) cs.close();
+                        PDPage page = new PDPage(pageSize);
+                        doc.addPage(page);
+                        cs = new PDPageContentStream(doc, page);
+                    }
+                    int col = slot % columns;
+                    int row = slot / columns;
+                    float cellX = PAGE_MARGIN + col * cellW;
+                    float cellTop = pageSize.getHeight() - PAGE_MARGIN - row * cellH;
+
+                    PDImageXObject img = PDImageXObject.createFromByteArray(doc, images.get(i), "qr-" + i);
+                    float qrX = cellX + CELL_PADDING;
+                    float qrY = cellTop - CELL_PADDING - qrSize;
+                    cs.drawImage(img, qrX, qrY, qrSize, qrSize);
+
+                    String label = sanitizeLabel(batch.getItems().get(i).getLabel());
+                    if (!label.isEmpty()) {
+                        label = fitToWidth(label, qrSize);
+                        float textW = textWidth(label);
+                        cs.beginText();
+                        cs.setFont(PDType1Font.HELVETICA, LABEL_SIZE);
+                        cs.newLineAtOffset(cellX + (cellW - textW) / 2f, qrY - LABEL_LINE + 3f);
+                        cs.showText(label);
+                        cs.endText();
+                    }
+                }
+            } finally {
+                if (cs != null) cs.close();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    // Filesystem-safe ZIP entry name; the index prefix keeps names unique and preserves request order
+    private String entryName(int index, String label) {
+        String base = label != null ? label.trim().replaceAll("[^A-Za-z0-9._-]+", "_") : "";
+        if (base.isEmpty()) base = "qrcode";
+        if (base.length() > 60) base = base.substring(0, 60);
+        return String.format("%04d-%s.png", index + 1, base);
+    }
+
+    // Helvetica (Type1) can only encode WinAnsi; replace anything else so labels never break rendering
+    private String sanitizeLabel(String label) {
+        if (label == null) return "";
+        StringBuilder sb = new StringBuilder(label.length());
+        for (char c : label.trim().toCharArray()) {
+            sb.append(c >= 0x20 && c <= 0x7E || c >= 0xA0 && c <= 0xFF ? c : '?');
+        }
+        return sb.toString();
+    }
+
+    // Trim long captions and mark the cut with "..." so they stay inside the cell
+    private String fitToWidth(String label, float maxWidth) throws IOException {
+        if (textWidth(label) <= maxWidth) return label;
+        String text = label;
+        while (text.length() > 1 && textWidth(text + "...") > maxWidth) {
+            text = text.substring(0, text.length() - 1);
+        }
+        return text + "...";
+    }
+
+    private float textWidth(String text) throws IOException {
+        return PDType1Font.HELVETICA.getStringWidth(text) / 1000f * LABEL_SIZE;
+    }
+}
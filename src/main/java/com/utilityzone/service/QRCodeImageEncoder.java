@@ -0,0 +1,213 @@
+package com.utilityzone.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes QR codes straight from the module grid instead of going through a full-size
+ * {@link BufferedImage}. Each module row is packed once as a 1-bit scanline (using runs of
+ * equal modules) and repeated for the scale factor, so memory stays at one scanline regardless
+ * of output size and the repeated rows deflate to almost nothing.
+ *
+ * Scaling and padding mirror ZXing's QRCodeWriter, so PNG output is pixel-identical to
+ * {@code MatrixToImageWriter} for the same width/height.
+ */
+public final class QRCodeImageEncoder {
+
+    private static final QRCodeWriter WRITER = new QRCodeWriter();
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private QRCodeImageEncoder() {}
+
+    /** Encodes content to a matrix with one bit per module (quiet zone included). */
+    public static BitMatrix encodeModules(String content, Map<EncodeHintType, ?> hints) throws WriterException {
+        // Width/height 0 asks ZXing for the bare module grid without upscaling
+        return WRITER.encode(content, BarcodeFormat.QR_CODE, 0, 0, hints);
+    }
+
+    /**
+     * Renders the module grid as a 2-colour indexed PNG of the requested size.
+     * Colours are opaque RGB ints (alpha ignored); set modules use {@code onColor}.
+     */
+    public static byte[] toPng(BitMatrix modules, int width, int height, int onColor, int offColor) throws IOException {
+        Layout layout = Layout.of(modules, width, height);
+        int rowBytes = (layout.outWidth + 7) / 8;
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(1024);
+        png.write(PNG_SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream ihdr = new DataOutputStream(header);
+        ihdr.writeInt(layout.outWidth);
+        ihdr.writeInt(layout.outHeight);
+        ihdr.writeByte(1); // bit depth
+        ihdr.writeByte(3); // colour type: indexed
+        ihdr.writeByte(0); // deflate
+        ihdr.writeByte(0); // adaptive filtering (we only use filter type 0)
+        ihdr.writeByte(0); // no interlace
+        writeChunk(png, "IHDR", header.toByteArray());
+
+        // Palette index 0 = background, 1 = module
+        writeChunk(png, "PLTE", new byte[] {
+            (byte) (offColor >> 16), (byte) (offColor >> 8), (byte) offColor,
+            (byte) (onColor >> 16), (byte) (onColor >> 8), (byte) onColor
+        });
+
+        ByteArrayOutputStream idat = new ByteArrayOutputStream(1024);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream zout = new DeflaterOutputStream(idat, deflater)) {
+            byte[] blank = new byte[rowBytes];
+            byte[] row = new byte[rowBytes];
+            for (int y = 0; y < layout.topPadding; y++) {
+                zout.write(0);
+                zout.write(blank);
+            }
+            for (int my = 0; my < modules.getHeight(); my++) {
+                packRow(modules, my, layout, row);
+                for (int r = 0; r < layout.multiple; r++) {
+                    zout.write(0);
+                    zout.write(row);
+                }
+            }
+            for (int y = layout.topPadding + modules.getHeight() * layout.multiple; y < layout.outHeight; y++) {
+                zout.write(0);
+                zout.write(blank);
+            }
+        } finally {
+            deflater.end();
+        }
+        writeChunk(png, "IDAT", idat.toByteArray());
+        writeChunk(png, "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+
+    /**
+     * Renders the module grid as an SVG with a single path made of one rectangle per horizontal run.
+     * The view box is in module units, so the image stays sharp at any display size.
+     */
+    public static String toSvg(BitMatrix modules, int width, int height, int onColor, int offColor) {
+        int w = modules.getWidth();
+        int h = modules.getHeight();
+        StringBuilder path = new StringBuilder(w * h / 2);
+        for (int y = 0; y < h; y++) {
+            int x = 0;
+            while (x < w) {
+                if (!modules.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < w && modules.get(x, y)) x++;
+                path.append('M').append(start).append(' ').append(y)
+                    .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\""
+                + " width=\"" + Math.max(width, w) + "\" height=\"" + Math.max(height, h) + "\""
+                + " viewBox=\"0 0 " + w + " " + h + "\" shape-rendering=\"crispEdges\">"
+                + "<rect width=\"" + w + "\" height=\"" + h + "\" fill=\"" + hex(offColor) + "\"/>"
+                + "<path fill=\"" + hex(onColor) + "\" d=\"" + path + "\"/>"
+                + "</svg>";
+    }
+
+    public static byte[] toSvgBytes(BitMatrix modules, int width, int height, int onColor, int offColor) {
+        return toSvg(modules, width, height, onColor, offColor).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One pixel per module, black on white, 1 bit per pixel. Intended for PDF embedding where the
+     * page scales the image; a 33-module code stays a 33x33 image instead of hundreds of pixels square.
+     */
+    public static BufferedImage toModuleImage(BitMatrix modules) {
+        int w = modules.getWidth();
+        int h = modules.getHeight();
+        BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_BYTE_BINARY);
+        WritableRaster raster = image.getRaster();
+        int[] row = new int[w];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                row[x] = modules.get(x, y) ? 0 : 1; // binary palette: 0 = black, 1 = white
+            }
+            raster.setPixels(0, y, w, 1, row);
+        }
+        return image;
+    }
+
+    // Pack one module row into a scanline: padding bits stay 0 (background), runs of set modules become 1s
+    private static void packRow(BitMatrix modules, int my, Layout layout, byte[] row) {
+        Arrays.fill(row, (byte) 0);
+        int w = modules.getWidth();
+        int mx = 0;
+        while (mx < w) {
+            if (!modules.get(mx, my)) {
+                mx++;
+                continue;
+            }
+            int start = mx;
+            while (mx < w && modules.get(mx, my)) mx++;
+            setBits(row, layout.leftPadding + start * layout.multiple, layout.leftPadding + mx * layout.multiple);
+        }
+    }
+
+    // Set bits [from, to) in an MSB-first packed row
+    private static void setBits(byte[] row, int from, int to) {
+        int i = from;
+        while (i < to && (i & 7) != 0) {
+            row[i >> 3] |= (byte) (0x80 >>> (i & 7));
+            i++;
+        }
+        while (i + 8 <= to) {
+            row[i >> 3] = (byte) 0xFF;
+            i += 8;
+        }
+        while (i < to) {
+            row[i >> 3] |= (byte) (0x80 >>> (i & 7));
+            i++;
+        }
+    }
+
+    private static void writeChunk(ByteArrayOutputStream out, String type, byte[] data) throws IOException {
+        DataOutputStream dos = new DataOutputStream(out);
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        dos.writeInt(data.length);
+        dos.write(typeBytes);
+        dos.write(data);
+        dos.writeInt((int) crc.getValue());
+    }
+
+    private static String hex(int rgb) {
+        return String.format("#%06X", rgb & 0xFFFFFF);
+    }
+
+    // Same arithmetic as QRCodeWriter.renderResult, applied to a grid that already includes the quiet zone
+    private record Layout(int outWidth, int outHeight, int multiple, int leftPadding, int topPadding) {
+        static Layout of(BitMatrix modules, int width, int height) {
+            int qrWidth = modules.getWidth();
+            int qrHeight = modules.getHeight();
+            int outWidth = Math.max(width, qrWidth);
+            int outHeight = Math.max(height, qrHeight);
+            int multiple = Math.min(outWidth / qrWidth, outHeight / qrHeight);
+            return new Layout(outWidth, outHeight, multiple,
+                    (outWidth - qrWidth * multiple) / 2,
+                    (outHeight - qrHeight * multiple) / 2);
+        }
+    }
+}
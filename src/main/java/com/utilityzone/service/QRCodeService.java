@@ -1,33 +1,71 @@
 package com.utilityzone.service;
 
-import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import com.utilityzone.payload.request.QRCodeRequest;
 import com.utilityzone.payload.response.QRCodeResponse;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Service
 public class QRCodeService {
 
+    // Rendered images are cached by every input that affects the output (see QRCodeRequest#cacheKey)
+    @Cacheable(value = "qrCodes", key = "#request.cacheKey()", sync = true)
     public QRCodeResponse generateQRCode(QRCodeRequest request) throws WriterException, IOException {
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        BitMatrix bitMatrix = qrCodeWriter.encode(
-            request.getContent(),
-            BarcodeFormat.QR_CODE,
-            request.getWidth(),
-            request.getHeight()
-        );
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
-
-        return new QRCodeResponse(outputStream.toByteArray());
+        BitMatrix modules = QRCodeImageEncoder.encodeModules(request.getContent(), buildHints(request));
+        int onColor = parseColor(request.getForegroundColor(), 0x000000);
+        int offColor = parseColor(request.getBackgroundColor(), 0xFFFFFF);
+
+        String format = request.getFormat() != null ? request.getFormat().trim().toUpperCase() : "PNG";
+        QRCodeResponse response;
+        switch (format) {
+            case "PNG" -> response = new QRCodeResponse(
+                    QRCodeImageEncoder.toPng(modules, request.getWidth(), request.getHeight(), onColor, offColor));
+            case "SVG" -> response = new QRCodeResponse(
+                    QRCodeImageEncoder.toSvgBytes(modules, request.getWidth(), request.getHeight(), onColor, offColor));
+            default -> throw new IllegalArgumentException("Unsupported image format: " + request.getFormat() + " (use PNG or SVG)");
+        }
+        response.setFormat(format);
+        return response;
+    }
+
+    private Map<EncodeHintType, Object> buildHints(QRCodeRequest request) {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        String level = request.getErrorCorrection();
+        if (level != null && !level.isBlank()) {
+            try {
+                hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.valueOf(level.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported error correction level: " + level + " (use L, M, Q or H)");
+            }
+        }
+        if (request.getMargin() < 0) {
+            throw new IllegalArgumentException("Margin must not be negative");
+        }
+        hints.put(EncodeHintType.MARGIN, request.getMargin());
+        return hints;
+    }
+
+    // Accepts #RRGGBB or RRGGBB and returns the 24-bit RGB value
+    private int parseColor(String hex, int fallback) {
+        if (hex == null || hex.isBlank()) return fallback;
+        String value = hex.trim();
+        if (value.startsWith("#")) value = value.substring(1);
+        if (value.length() != 6) {
+            throw new IllegalArgumentException("Invalid colour: " + hex + " (expected #RRGGBB)");
+        }
+        try {
+            return Integer.parseInt(value, 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid colour: " + hex + " (expected #RRGGBB)");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.utilityzone.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Finished responses of the hot public JSON listings, kept as the serialized bytes plus their gzip
+ * form so a hit costs neither Jackson nor compression. Entries are grouped by listing
+ * ({@link #ARTICLES}, {@link #BLOGS}, ...); the services that evict the matching Spring caches call
+ * {@link #invalidate} for the group. Served by {@code ResponseCacheFilter}.
+ */
+@Component
+public class ResponseCache {
+
+    public static final String ARTICLES = "articles";
+    public static final String BLOGS = "blogs";
+    public static final String EBOOKS = "ebooks";
+    public static final String CANVA_TEMPLATES = "canva-templates";
+
+    // Path -> group; only these exact paths are cached
+    private static final Map<String, String> GROUPS = Map.of(
+        "/api/articles", ARTICLES,
+        "/api/blogs", BLOGS,
+        "/api/ebooks", EBOOKS,
+        "/api/canva-templates", CANVA_TEMPLATES
+    );
+    // Below this, gzip costs more than it saves (same as server.compression.min-response-size)
+    private static final int MIN_GZIP_BYTES = 1024;
+
+    private final boolean enabled;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${app.response-cache.enabled:true}") boolean enabled,
+                         @Value("${app.response-cache.max-bytes:33554432}") long maxBytes) {
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry e) -> e.weight())
+                .build();
+    }
+
+    /** A cached 200 response. {@code gzip} is null for bodies too small to be worth compressing. */
+    public record Entry(String group, String contentType, byte[] body, byte[] gzip, String etag) {
+        int weight() {
+            return body.length + (gzip != null ? gzip.length : 0) + 128;
+        }
+    }
+
+    /** The group a GET of {@code path} belongs to, or null when the path is not cached. */
+    public String groupFor(String path) {
+        return enabled ? GROUPS.get(path) : null;
+    }
+
+    public Entry get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    /** Take before producing a response; {@link #put} drops it if the group was invalidated meanwhile. */
+    public long generation(String group) {
+        return generations.computeIfAbsent(group, g -> new AtomicLong()).get();
+    }
+
+    public Entry put(String group, String key, long generation, String contentType, byte[] body) {
+        Entry entry = new Entry(group, contentType, body, body.length >= MIN_GZIP_BYTES ? gzip(body) : null, etag(body));
+        if (generation(group) == generation) {
+            entries.put(key, entry);
+            // An invalidation may have run between the check and the put
+            if (generation(group) != generation) entries.invalidate(key);
+        }
+        return entry;
+    }
+
+    /** Drops every cached response of {@code group}; deferred until commit inside a transaction. */
+    public void invalidate(String group) {
+        AfterCommit.run(() -> invalidateNow(group));
+    }
+
+    private void invalidateNow(String group) {
+        generations.computeIfAbsent(group, g -> new AtomicLong()).incrementAndGet();
+        entries.asMap().values().removeIf(e -> e.group().equals(group));
+    }
+
+    /** True when {@code coding} is listed in an Accept-Encoding header and not refused with q=0. */
+    public static boolean acceptsEncoding(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] codingAndParams = part.trim().split(";");
+            String c = codingAndParams[0].trim();
+            if (!c.equals(coding) && !c.equals("*")) continue;
+            for (int i = 1; i < codingAndParams.length; i++) {
+                String p = codingAndParams[i].trim().replace(" ", "");
+                if (p.matches("q=0(\\.0*)?")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** If-None-Match uses weak comparison, so W/"x" matches "x". */
+    public static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
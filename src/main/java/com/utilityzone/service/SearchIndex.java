@@ -0,0 +1,317 @@
+package com.utilityzone.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory inverted index over articles and blogs with BM25 ranking.
+ *
+ * Each document's fields are analysed with {@link SearchTextAnalyzer} and folded into one weighted
+ * term-frequency map (title and tags count more than body text), which is what BM25 scores against.
+ * Documents can be added, replaced and removed one at a time, and the whole index can be written to
+ * and read from a compact file so startup does not have to re-analyse every row.
+ */
+public final class SearchIndex {
+
+    static final float TITLE_WEIGHT = 3.0f;
+    static final float TAG_WEIGHT = 2.5f;
+    static final float DESCRIPTION_WEIGHT = 1.5f;
+    static final float BODY_WEIGHT = 1.0f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int FILE_VERSION = 1;
+
+    private final Map<String, Document> docs = new HashMap<>();
+    private final Map<String, Map<String, Float>> postings = new HashMap<>();
+    private double totalLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** One indexed item. {@code version} lets startup detect rows that changed since the index was saved. */
+    public static final class Document {
+        private final String type;
+        private final long id;
+        private final long version;
+        private final String title;
+        private final String description;
+        private final String body;
+        private final List<String> tags;
+        private final String category;
+        private final long date;
+        private final Map<String, Float> termWeights;
+        private final float length;
+
+        private Document(String type, long id, long version, String title, String description, String body,
+                         List<String> tags, String category, long date, Map<String, Float> termWeights) {
+            this.type = type;
+            this.id = id;
+            this.version = version;
+            this.title = title;
+            this.description = description;
+            this.body = body;
+            this.tags = tags;
+            this.category = category;
+            this.date = date;
+            this.termWeights = termWeights;
+            float len = 0;
+            for (float w : termWeights.values()) len += w;
+            this.length = len;
+        }
+
+        /** Analyses the given fields; {@code content} may contain HTML or markdown. */
+        public static Document of(String type, long id, long version, String title, String description, String content,
+                                  Collection<String> tags, String category, long date) {
+            String plainBody = SearchTextAnalyzer.plainText(content);
+            List<String> tagList = tags != null ? new ArrayList<>(tags) : List.of();
+            Map<String, Float> weights = new HashMap<>();
+            addTerms(weights, SearchTextAnalyzer.terms(nullToEmpty(title)), TITLE_WEIGHT);
+            addTerms(weights, SearchTextAnalyzer.terms(String.join(" ", tagList)), TAG_WEIGHT);
+            addTerms(weights, SearchTextAnalyzer.terms(nullToEmpty(description)), DESCRIPTION_WEIGHT);
+            addTerms(weights, SearchTextAnalyzer.terms(plainBody), BODY_WEIGHT);
+            return new Document(type, id, version, nullToEmpty(title), nullToEmpty(description), plainBody,
+                    Collections.unmodifiableList(tagList), category, date, weights);
+        }
+
+        private static void addTerms(Map<String, Float> weights, List<String> terms, float weight) {
+            for (String t : terms) weights.merge(t, weight, Float::sum);
+        }
+
+        public String key() {
+            return SearchIndex.key(type, id);
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        /** Plain-text body, kept for snippets. */
+        public String getBody() {
+            return body;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        /** Publish or creation time in epoch millis, 0 if unknown. */
+        public long getDate() {
+            return date;
+        }
+    }
+
+    public record Hit(Document document, double score) {}
+
+    static String key(String type, long id) {
+        return type + ":" + id;
+    }
+
+    public void upsert(Document doc) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc.key());
+            docs.put(doc.key(), doc);
+            totalLength += doc.length;
+            for (Map.Entry<String, Float> e : doc.termWeights.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(doc.key(), e.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String type, long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String key) {
+        Document old = docs.remove(key);
+        if (old == null) return;
+        totalLength -= old.length;
+        for (String term : old.termWeights.keySet()) {
+            Map<String, Float> p = postings.get(term);
+            if (p != null) {
+                p.remove(key);
+                if (p.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** id -> version of every indexed document of {@code type}. */
+    public Map<Long, Long> versions(String type) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> out = new HashMap<>();
+            for (Document d : docs.values()) {
+                if (d.type.equals(type)) out.put(d.id, d.version);
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** BM25 over the weighted fields. {@code type} null searches everything. */
+    public List<Hit> search(List<String> queryTerms, String type, int limit) {
+        lock.readLock().lock();
+        try {
+            int n = docs.size();
+            if (n == 0 || queryTerms.isEmpty()) return List.of();
+            double avgLength = totalLength / n;
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Map<String, Float> p = postings.get(term);
+                if (p == null) continue;
+                double idf = Math.log(1 + (n - p.size() + 0.5) / (p.size() + 0.5));
+                for (Map.Entry<String, Float> e : p.entrySet()) {
+                    Document d = docs.get(e.getKey());
+                    if (type != null && !d.type.equals(type)) continue;
+                    double tf = e.getValue();
+                    double norm = tf + K1 * (1 - B + B * d.length / avgLength);
+                    scores.merge(e.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<String, Double> s : scores.entrySet()) {
+                hits.add(new Hit(docs.get(s.getKey()), s.getValue()));
+            }
+            hits.sort((a, b) -> {
+                int c = Double.compare(b.score(), a.score());
+                return c != 0 ? c : Long.compare(b.document().date, a.document().date);
+            });
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Writes the index to {@code file} atomically (temp file + move). */
+    public void save(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.readLock().lock();
+        try (OutputStream raw = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(raw)))) {
+            out.writeInt(FILE_VERSION);
+            out.writeInt(docs.size());
+            for (Document d : docs.values()) {
+                out.writeUTF(d.type);
+                out.writeLong(d.id);
+                out.writeLong(d.version);
+                writeLong(out, d.title);
+                writeLong(out, d.description);
+                writeLong(out, d.body);
+                out.writeInt(d.tags.size());
+                for (String t : d.tags) out.writeUTF(t);
+                out.writeUTF(d.category != null ? d.category : "");
+                out.writeLong(d.date);
+                out.writeInt(d.termWeights.size());
+                for (Map.Entry<String, Float> e : d.termWeights.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    out.writeFloat(e.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Reads an index written by {@link #save}; term weights are loaded as stored, nothing is re-analysed. */
+    public static SearchIndex load(Path file) throws IOException {
+        SearchIndex index = new SearchIndex();
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw)))) {
+            if (in.readInt() != FILE_VERSION) {
+                throw new IOException("Unsupported search index version");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String type = in.readUTF();
+                long id = in.readLong();
+                long version = in.readLong();
+                String title = readLong(in);
+                String description = readLong(in);
+                String body = readLong(in);
+                int tagCount = in.readInt();
+                List<String> tags = new ArrayList<>(tagCount);
+                for (int t = 0; t < tagCount; t++) tags.add(in.readUTF());
+                String category = in.readUTF();
+                long date = in.readLong();
+                int termCount = in.readInt();
+                Map<String, Float> weights = new HashMap<>(termCount * 2);
+                for (int t = 0; t < termCount; t++) weights.put(in.readUTF(), in.readFloat());
+                index.upsert(new Document(type, id, version, title, description, body,
+                        Collections.unmodifiableList(tags), category.isEmpty() ? null : category, date, weights));
+            }
+        }
+        return index;
+    }
+
+    // writeUTF is limited to 64KB; article bodies can be larger
+    private static void writeLong(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readLong(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    private static String nullToEmpty(String s) {
+        return s != null ? s : "";
+    }
+}
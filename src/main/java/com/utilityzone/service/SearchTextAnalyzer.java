@@ -0,0 +1,182 @@
+package com.utilityzone.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns article and blog text into index terms: strips markup, lower-cases, drops stop words and
+ * reduces words to a stem so "converting", "converted" and "converts" all match "convert".
+ * The stemmer is a light suffix stripper in the spirit of Porter's, tuned for English prose.
+ */
+public final class SearchTextAnalyzer {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+(?:['’][\\p{L}]+)?");
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern ENTITY = Pattern.compile("&(?:nbsp|amp|lt|gt|quot|#39|#x27);");
+    private static final Pattern MARKDOWN = Pattern.compile("[*_`#>\\[\\]]+|!\\[|\\]\\([^)]*\\)");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "he",
+        "her", "his", "i", "if", "in", "into", "is", "it", "its", "me", "my", "no", "not", "of", "on",
+        "or", "our", "she", "so", "such", "that", "the", "their", "them", "then", "there", "these",
+        "they", "this", "to", "was", "we", "were", "will", "with", "you", "your"
+    );
+
+    private SearchTextAnalyzer() {}
+
+    /** A stemmed term and where its word sits in the analysed text. */
+    public record Token(String term, int start, int end) {}
+
+    /** Plain text with HTML tags, common entities and markdown punctuation removed. */
+    public static String plainText(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String s = TAG.matcher(text).replaceAll(" ");
+        s = ENTITY.matcher(s).replaceAll(" ");
+        s = MARKDOWN.matcher(s).replaceAll(" ");
+        return SPACES.matcher(s).replaceAll(" ").trim();
+    }
+
+    /** Stemmed terms of already-plain text, in order, stop words removed. */
+    public static List<String> terms(String plain) {
+        List<String> out = new ArrayList<>();
+        for (Token t : tokens(plain)) out.add(t.term());
+        return out;
+    }
+
+    public static List<Token> tokens(String plain) {
+        List<Token> out = new ArrayList<>();
+        if (plain == null || plain.isEmpty()) return out;
+        Matcher m = WORD.matcher(plain);
+        while (m.find()) {
+            String word = m.group().toLowerCase(Locale.ROOT);
+            int apostrophe = Math.max(word.indexOf('\''), word.indexOf('’'));
+            if (apostrophe > 0) word = word.substring(0, apostrophe); // "article's" -> "article"
+            if (word.isEmpty() || STOP_WORDS.contains(word)) continue;
+            out.add(new Token(stem(word), m.start(), m.end()));
+        }
+        return out;
+    }
+
+    /**
+     * HTML-escaped excerpt of at most about {@code maxChars} characters around the densest run of
+     * words whose stems are in {@code terms}, with those words wrapped in {@code <mark>}. Falls back
+     * to the start of the text when nothing matches.
+     */
+    public static String highlight(String plain, Set<String> terms, int maxChars) {
+        if (plain == null || plain.isEmpty()) return "";
+        List<Token> hits = new ArrayList<>();
+        for (Token t : tokens(plain)) {
+            if (terms.contains(t.term())) hits.add(t);
+        }
+        // Window with the most hits that fits in maxChars (two pointers over hit positions)
+        int bestFrom = 0, bestCount = 0;
+        for (int i = 0, j = 0; i < hits.size(); i++) {
+            if (j < i) j = i;
+            while (j + 1 < hits.size() && hits.get(j + 1).end() - hits.get(i).start() <= maxChars) j++;
+            if (j - i + 1 > bestCount) {
+                bestCount = j - i + 1;
+                bestFrom = i;
+            }
+        }
+        int start = 0;
+        if (bestCount > 0) {
+            // Lead in with a little context before the first hit
+            int firstHit = hits.get(bestFrom).start();
+            start = Math.max(0, firstHit - maxChars / 5);
+            while (start > 0 && start < firstHit && !Character.isWhitespace(plain.charAt(start - 1))) start++;
+        }
+        int end = Math.min(plain.length(), start + maxChars);
+        while (end < plain.length() && end > start && !Character.isWhitespace(plain.charAt(end))) end--;
+        if (end <= start) end = Math.min(plain.length(), start + maxChars);
+
+        StringBuilder sb = new StringBuilder(end - start + 32);
+        if (start > 0) sb.append("… ");
+        int pos = start;
+        for (Token t : hits) {
+            if (t.start() < start || t.end() > end) continue;
+            escape(plain, pos, t.start(), sb);
+            sb.append("<mark>");
+            escape(plain, t.start(), t.end(), sb);
+            sb.append("</mark>");
+            pos = t.end();
+        }
+        escape(plain, pos, end, sb);
+        if (end < plain.length()) sb.append(" …");
+        return sb.toString();
+    }
+
+    private static void escape(String s, int from, int to, StringBuilder sb) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+    }
+
+    static String stem(String w) {
+        if (w.length() <= 3 || !Character.isLetter(w.charAt(0))) return w;
+        // Plurals
+        if (w.endsWith("sses")) w = w.substring(0, w.length() - 2);
+        else if (w.endsWith("ies") && w.length() > 4) w = w.substring(0, w.length() - 3) + "y";
+        else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) w = w.substring(0, w.length() - 1);
+
+        // Derivational suffixes, longest first; keep at least a 3-letter stem
+        for (String[] rule : SUFFIXES) {
+            String suffix = rule[0];
+            if (w.endsWith(suffix) && w.length() - suffix.length() >= 3) {
+                w = w.substring(0, w.length() - suffix.length()) + rule[1];
+                break;
+            }
+        }
+
+        // -ed / -ing, undoing doubled consonants ("planned" -> "plan")
+        if (w.endsWith("ing") && w.length() > 5 && hasVowel(w, w.length() - 3)) {
+            w = undouble(w.substring(0, w.length() - 3));
+        } else if (w.endsWith("ed") && w.length() > 4 && hasVowel(w, w.length() - 2)) {
+            w = undouble(w.substring(0, w.length() - 2));
+        }
+        if (w.endsWith("e") && w.length() > 3) w = w.substring(0, w.length() - 1);
+        if (w.endsWith("y") && w.length() > 3 && !isVowel(w.charAt(w.length() - 2))) {
+            w = w.substring(0, w.length() - 1) + "i";
+        }
+        return w;
+    }
+
+    private static final String[][] SUFFIXES = {
+        {"ational", "ate"}, {"ization", "ize"}, {"fulness", "ful"}, {"iveness", "ive"},
+        {"ousness", "ous"}, {"biliti", "ble"}, {"ation", "ate"}, {"ement", ""}, {"ment", ""},
+        {"ness", ""}, {"ably", "able"}, {"ibly", "ible"}, {"ally", "al"}, {"ly", ""}, {"ity", ""},
+        {"izer", "ize"}, {"ator", "ate"}, {"er", ""}
+    };
+
+    private static boolean hasVowel(String w, int end) {
+        for (int i = 0; i < end; i++) {
+            if (isVowel(w.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    private static String undouble(String w) {
+        int n = w.length();
+        if (n >= 2 && w.charAt(n - 1) == w.charAt(n - 2) && !isVowel(w.charAt(n - 1))
+                && w.charAt(n - 1) != 'l' && w.charAt(n - 1) != 's' && w.charAt(n - 1) != 'z') {
+            return w.substring(0, n - 1);
+        }
+        return w;
+    }
+}
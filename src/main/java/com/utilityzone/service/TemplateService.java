@@ -34,11 +34,8 @@ import java.util.Optional;
 
 import javax.imageio.ImageIO;
 
-import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 
 @Service
 public class TemplateService {
@@ -60,13 +57,15 @@ public class TemplateService {
         private volatile String cachedDefaultTitle = null;
         private volatile long cachedDefaultTitleTime = 0;
     private final TemplateRepository repo;
+    private final ResponseCache responseCache;
     private static final Logger log = LoggerFactory.getLogger(TemplateService.class);
 
     @Value("${file.upload.dir:./data/uploads}")
     private String uploadBaseDir;
 
-    public TemplateService(TemplateRepository repo) {
+    public TemplateService(TemplateRepository repo, ResponseCache responseCache) {
         this.repo = repo;
+        this.responseCache = responseCache;
     }
 
     // ---- Shared style constants for consistent layout ----
@@ -116,6 +115,7 @@ public class TemplateService {
         if (changes.getBuyerPdfType() != null) existing.setBuyerPdfType(changes.getBuyerPdfType());
         existing.setStatus("draft"); // Always set to draft on update from this page
         Template saved = repo.save(existing);
+        responseCache.invalidate(ResponseCache.CANVA_TEMPLATES); // it may have been published
         return saved;
     }
 
@@ -134,6 +134,7 @@ public class TemplateService {
                 deleteMockupByUrl(t.getMobileMockupUrl());
             } catch (IOException ignored) {}
             repo.deleteById(id);
+            responseCache.invalidate(ResponseCache.CANVA_TEMPLATES);
         });
     }
 
@@ -183,6 +184,14 @@ public class TemplateService {
         if (fileName.contains("..") || fileName.contains("/") || fileName.contains("\\")) return;
         Path mockup = getMockupDir().resolve(fileName);
         if (Files.exists(mockup)) Files.delete(mockup);
+        Files.deleteIfExists(getMockupDir().resolve(thumbnailFileName(fileName)));
+    }
+
+    /** Name of the optional thumbnail written next to an uploaded mockup. */
+    public static String thumbnailFileName(String mockupFileName) {
+        int dot = mockupFileName.lastIndexOf('.');
+        String stem = dot > 0 ? mockupFileName.substring(0, dot) : mockupFileName;
+        return stem + "_thumb.png";
     }
 
     public Path getBaseDir() throws IOException {
@@ -509,7 +518,7 @@ public class TemplateService {
                     // QR code with better positioning and alignment
                     float qrLabelX1 = 0f; float qrLabelDefaultY1 = 0f; boolean qrDrawn1 = false;
                     try {
-                        BufferedImage qr = createQrCodeImage(printLink, 200);
+                        BufferedImage qr = createQrCodeImage(printLink);
                         if (qr != null) {
                             PDImageXObject qrImg = LosslessFactory.createFromImage(doc, qr);
                             float qrSize = 100f;
@@ -599,7 +608,7 @@ public class TemplateService {
                         if (rsvpLink != null && rsvpLink.startsWith("http")) {
                             drawButtonWithLink(doc, p2, cs, MARGIN, rsvpBtnY, btnW, BUTTON_H, "Edit RSVP Template", rsvpLink);
                             try {
-                                BufferedImage qr = createQrCodeImage(rsvpLink, 200);
+                                BufferedImage qr = createQrCodeImage(rsvpLink);
                                 if (qr != null) {
                                     PDImageXObject qrImg = LosslessFactory.createFromImage(doc, qr);
                                     float qrSize = 100f;
@@ -639,7 +648,7 @@ public class TemplateService {
                         if (detailLink != null && detailLink.startsWith("http")) {
                             drawButtonWithLink(doc, p2, cs, MARGIN, detailBtnY, btnW, BUTTON_H, "Edit Detail Card Template", detailLink);
                             try {
-                                BufferedImage qr = createQrCodeImage(detailLink, 200);
+                                BufferedImage qr = createQrCodeImage(detailLink);
                                 if (qr != null) {
                                     PDImageXObject qrImg = LosslessFactory.createFromImage(doc, qr);
                                     float qrSize = 100f;
@@ -678,7 +687,7 @@ public class TemplateService {
                         if (thankLink != null && thankLink.startsWith("http")) {
                             drawButtonWithLink(doc, p2, cs, MARGIN, thankBtnY, btnW, BUTTON_H, "Edit Thank You Card Template", thankLink);
                             try {
-                                BufferedImage qr = createQrCodeImage(thankLink, 200);
+                                BufferedImage qr = createQrCodeImage(thankLink);
                                 if (qr != null) {
                                     PDImageXObject qrImg = LosslessFactory.createFromImage(doc, qr);
                                     float qrSize = 100f;
@@ -723,7 +732,7 @@ public class TemplateService {
                         // Add a QR for the mobile link as well
                         float qrLabelX2 = 0f; float qrLabelDefaultY2 = 0f; boolean qrDrawn2 = false;
                         try {
-                            BufferedImage qr = createQrCodeImage(mobileLink, 200);
+                            BufferedImage qr = createQrCodeImage(mobileLink);
                             if (qr != null) {
                                 PDImageXObject qrImg = LosslessFactory.createFromImage(doc, qr);
                                 float qrSize = 100f;
@@ -1006,7 +1015,9 @@ public class TemplateService {
             doc.save(pdfPath.toFile());
         }
         t.setBuyerPdfUrl("/api/canva-templates/pdfs/" + t.getId() + ".pdf");
-        return repo.save(t);
+        Template saved = repo.save(t);
+        responseCache.invalidate(ResponseCache.CANVA_TEMPLATES);
+        return saved;
     }
 
     // Derive a human-friendly public description for templates (avoid technical IDs)
@@ -1039,11 +1050,11 @@ public class TemplateService {
         if (hasPrint && !hasMobile) return base + " (Only Print)";
         return base;
     }
-    private BufferedImage createQrCodeImage(@NonNull String content, int size) {
+    // One pixel per module (1-bit); the PDF scales it to the drawn size, so no large raster is built
+    private BufferedImage createQrCodeImage(@NonNull String content) {
         try {
-            QRCodeWriter writer = new QRCodeWriter();
-            BitMatrix matrix = writer.encode(content, BarcodeFormat.QR_CODE, size, size);
-            return MatrixToImageWriter.toBufferedImage(matrix);
+            BitMatrix modules = QRCodeImageEncoder.encodeModules(content, null);
+            return QRCodeImageEncoder.toModuleImage(modules);
         } catch (WriterException e) {
             return null;
         }
@@ -1331,6 +1342,8 @@ public class TemplateService {
         Template t = repo.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Template not found: " + id));
         t.setStatus("published");
-        return repo.save(t);
+        Template saved = repo.save(t);
+        responseCache.invalidate(ResponseCache.CANVA_TEMPLATES);
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.utilityzone.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Catalogue of every available time zone with its current abbreviation and offset, built once and
+ * shared as an immutable {@link Catalog}. Each entry remembers when its zone next changes offset
+ * ({@link ZoneRules#nextTransition}); once that moment passes only the affected entries are rebuilt.
+ */
+@Service
+public class TimezoneCatalogService {
+
+    // Major timezones for quick selection
+    public static final List<String> MAJOR_TIMEZONES = List.of(
+        "America/New_York",      // New York, USA
+        "America/Los_Angeles",   // Los Angeles, USA
+        "America/Chicago",       // Chicago, USA
+        "Europe/London",         // London, UK
+        "Europe/Paris",          // Paris, France
+        "Europe/Berlin",         // Berlin, Germany
+        "Asia/Kolkata",          // Mumbai/New Delhi/Kolkata, India (IST)
+        "Asia/Tokyo",            // Tokyo, Japan
+        "Asia/Shanghai",         // Shanghai, China
+        "Asia/Dubai",            // Dubai, UAE
+        "Asia/Singapore",        // Singapore
+        "Australia/Sydney",      // Sydney, Australia
+        "Pacific/Auckland"       // Auckland, New Zealand
+    );
+
+    private static final DateTimeFormatter ABBREVIATION = DateTimeFormatter.ofPattern("z");
+    private static final Instant NEVER = Instant.MAX;
+
+    private final Clock clock;
+    private final AtomicReference<Catalog> catalog = new AtomicReference<>();
+
+    @Autowired
+    public TimezoneCatalogService() {
+        this(Clock.systemUTC());
+    }
+
+    TimezoneCatalogService(Clock clock) {
+        this.clock = clock;
+    }
+
+    /** One zone as currently observed. {@code validUntil} is the zone's next offset transition. */
+    public record Entry(String zoneId, ZoneId zone, ZoneRules rules, ZoneOffset offset,
+                        String abbreviation, String label, Instant validUntil) {}
+
+    /** Immutable view of all zones; replaced as a whole when any entry expires. */
+    public static final class Catalog {
+        private final List<Entry> entries;
+        private final Map<String, Entry> byId;
+        private final List<String> labels;
+        private final List<String> majorLabels;
+        private final String eTag;
+        private final String majorETag;
+        private final Instant validUntil;
+
+        private Catalog(List<Entry> sortedEntries) {
+            this.entries = Collections.unmodifiableList(sortedEntries);
+            Map<String, Entry> ids = new HashMap<>(sortedEntries.size() * 2);
+            List<String> all = new ArrayList<>(sortedEntries.size());
+            Instant earliest = NEVER;
+            for (Entry e : sortedEntries) {
+                ids.put(e.zoneId(), e);
+                all.add(e.label());
+                if (e.validUntil().isBefore(earliest)) earliest = e.validUntil();
+            }
+            List<String> major = new ArrayList<>(MAJOR_TIMEZONES.size());
+            for (String id : MAJOR_TIMEZONES) {
+                Entry e = ids.get(id);
+                if (e != null) major.add(e.label());
+            }
+            this.byId = Collections.unmodifiableMap(ids);
+            this.labels = Collections.unmodifiableList(all);
+            this.majorLabels = Collections.unmodifiableList(major);
+            this.eTag = eTagOf(all);
+            this.majorETag = eTagOf(major);
+            this.validUntil = earliest;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        public Entry get(String zoneId) {
+            return byId.get(zoneId);
+        }
+
+        /** "Zone/Id - ABBR (UTC+hh:mm)" for every zone, sorted. */
+        public List<String> getLabels() {
+            return labels;
+        }
+
+        public List<String> getMajorLabels() {
+            return majorLabels;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public String getMajorETag() {
+            return majorETag;
+        }
+
+        /** When the first zone in this catalogue changes offset. */
+        public Instant getValidUntil() {
+            return validUntil;
+        }
+    }
+
+    /** Current catalogue; rebuilt (partially) only after a zone transition has passed. */
+    public Catalog current() {
+        Instant now = clock.instant();
+        Catalog c = catalog.get();
+        if (c != null && now.isBefore(c.validUntil)) {
+            return c;
+        }
+        synchronized (this) {
+            c = catalog.get();
+            if (c == null || !now.isBefore(c.validUntil)) {
+                c = rebuild(c, now);
+                catalog.set(c);
+            }
+            return c;
+        }
+    }
+
+    private Catalog rebuild(Catalog previous, Instant now) {
+        List<Entry> entries = new ArrayList<>(previous != null ? previous.entries.size() : 640);
+        if (previous == null) {
+            for (String id : ZoneId.getAvailableZoneIds()) {
+                try {
+                    entries.add(describe(ZoneId.of(id), id, now));
+                } catch (Exception e) {
+                    // skip invalid zone
+                }
+            }
+        } else {
+            for (Entry e : previous.entries) {
+                entries.add(now.isBefore(e.validUntil()) ? e : describe(e.zone(), e.zoneId(), now));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::label));
+        return new Catalog(entries);
+    }
+
+    private static Entry describe(ZoneId zone, String id, Instant now) {
+        ZoneRules rules = zone.getRules();
+        ZonedDateTime local = now.atZone(zone);
+        ZoneOffset offset = local.getOffset();
+        String abbreviation = ABBREVIATION.format(local);
+        ZoneOffsetTransition next = rules.nextTransition(now);
+        String label = id + " - " + abbreviation + " (UTC" + offset + ")";
+        return new Entry(id, zone, rules, offset, abbreviation, label, next != null ? next.getInstant() : NEVER);
+    }
+
+    private static String eTagOf(List<String> labels) {
+        CRC32 crc = new CRC32();
+        for (String label : labels) {
+            crc.update(label.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return "\"tz-" + labels.size() + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+}
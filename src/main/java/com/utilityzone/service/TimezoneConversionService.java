@@ -0,0 +1,75 @@
+package com.utilityzone.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+import java.util.List;
+
+/**
+ * Converts many instants into many zones in one pass. Zones are resolved through the timezone
+ * catalogue so their {@link ZoneRules} are looked up once, and formatting uses shared immutable
+ * formatters instead of building one per request.
+ */
+@Service
+public class TimezoneConversionService {
+
+    /** Accepted input for local date-times. */
+    public static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** Display format used by every timezone endpoint. */
+    public static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z");
+
+    public static final int MAX_CELLS = 10_000;
+
+    private final TimezoneCatalogService catalogService;
+
+    @Autowired
+    public TimezoneConversionService(TimezoneCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    /**
+     * Rows are instants, columns are zones. {@code times[row][col]} is the display string and
+     * {@code offsets[row][col]} the UTC offset in minutes.
+     */
+    public record Grid(List<ZoneId> zones, Instant[] instants, String[][] times, int[][] offsets) {}
+
+    /** Zone by id, reusing the catalogue's resolved zone when available. Throws on unknown ids. */
+    public ZoneId resolve(String id) {
+        TimezoneCatalogService.Entry entry = catalogService.current().get(id);
+        return entry != null ? entry.zone() : ZoneId.of(id);
+    }
+
+    /** Interprets a "yyyy-MM-dd HH:mm:ss" wall-clock time in {@code zone}. */
+    public Instant parseLocal(String dateTime, ZoneId zone) {
+        return LocalDateTime.parse(dateTime.trim(), INPUT_FORMAT).atZone(zone).toInstant();
+    }
+
+    public Grid convert(Instant[] instants, List<ZoneId> zones) {
+        if ((long) instants.length * zones.size() > MAX_CELLS) {
+            throw new IllegalArgumentException("At most " + MAX_CELLS + " conversions per request");
+        }
+        ZoneRules[] rules = new ZoneRules[zones.size()];
+        for (int z = 0; z < rules.length; z++) {
+            rules[z] = zones.get(z).getRules();
+        }
+        String[][] times = new String[instants.length][zones.size()];
+        int[][] offsets = new int[instants.length][zones.size()];
+        for (int row = 0; row < instants.length; row++) {
+            Instant instant = instants[row];
+            for (int z = 0; z < rules.length; z++) {
+                ZoneOffset offset = rules[z].getOffset(instant);
+                times[row][z] = DISPLAY_FORMAT.format(ZonedDateTime.ofInstant(instant, zones.get(z)));
+                offsets[row][z] = offset.getTotalSeconds() / 60;
+            }
+        }
+        return new Grid(zones, instants, times, offsets);
+    }
+}
@@ -0,0 +1,307 @@
+package com.utilityzone.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typeahead search over time zones: zone ids, city names, abbreviations and UTC offsets.
+ *
+ * Terms go into a prefix trie whose nodes carry the best-scoring zones below them, so a prefix
+ * lookup is one walk down the trie. Terms are also indexed by trigram, which catches typos and
+ * infix matches when prefixes alone find too little. The index is rebuilt from the timezone
+ * catalogue whenever the catalogue changes (abbreviations and offsets move with DST).
+ */
+@Service
+public class TimezoneSearchIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    // Field weights: a city name is the strongest signal, region segments the weakest
+    private static final int CITY = 100;
+    private static final int ABBREVIATION = 80;
+    private static final int OFFSET = 60;
+    private static final int REGION = 30;
+    private static final int MAJOR_BONUS = 15;
+    private static final double EXACT_TERM_FACTOR = 1.5;
+    private static final double FUZZY_FACTOR = 0.5;
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.4;
+
+    private final TimezoneCatalogService catalogService;
+    private volatile Index index;
+
+    @Autowired
+    public TimezoneSearchIndex(TimezoneCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    public record Hit(TimezoneCatalogService.Entry entry, String city, double score) {}
+
+    /** Best {@code limit} zones for a free-text query such as "kolk", "new yor", "IST" or "+5:30". */
+    public List<Hit> search(String query, int limit) {
+        if (query == null || query.isBlank()) return List.of();
+        return current().search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    private Index current() {
+        TimezoneCatalogService.Catalog catalog = catalogService.current();
+        Index i = index;
+        if (i == null || i.catalog != catalog) {
+            synchronized (this) {
+                i = index;
+                if (i == null || i.catalog != catalog) {
+                    i = new Index(catalog);
+                    index = i;
+                }
+            }
+        }
+        return i;
+    }
+
+    static String cityOf(String zoneId) {
+        int slash = zoneId.lastIndexOf('/');
+        return (slash >= 0 ? zoneId.substring(slash + 1) : zoneId).replace('_', ' ');
+    }
+
+    // Lower-case and split on anything that is not a letter, digit or offset punctuation
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String t : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}+:-]+")) {
+            if (!t.isEmpty()) tokens.add(t);
+        }
+        return tokens;
+    }
+
+    private static final class Index {
+        final TimezoneCatalogService.Catalog catalog;
+        final TimezoneCatalogService.Entry[] docs;
+        final String[] cities;
+        final Node root = new Node();
+        final List<String> terms = new ArrayList<>();
+        final List<int[][]> termPostings = new ArrayList<>(); // per term: {docs[], weights[]}
+        final Map<String, int[]> trigramTerms;
+
+        Index(TimezoneCatalogService.Catalog catalog) {
+            this.catalog = catalog;
+            List<TimezoneCatalogService.Entry> entries = catalog.getEntries();
+            this.docs = entries.toArray(new TimezoneCatalogService.Entry[0]);
+            this.cities = new String[docs.length];
+            Set<String> major = new LinkedHashSet<>(TimezoneCatalogService.MAJOR_TIMEZONES);
+
+            Map<String, Map<Integer, Integer>> postings = new LinkedHashMap<>();
+            for (int d = 0; d < docs.length; d++) {
+                TimezoneCatalogService.Entry e = docs[d];
+                cities[d] = cityOf(e.zoneId());
+                int bonus = major.contains(e.zoneId()) ? MAJOR_BONUS : 0;
+                String[] segments = e.zoneId().split("/");
+                for (int s = 0; s < segments.length; s++) {
+                    int weight = (s == segments.length - 1 ? CITY : REGION) + bonus;
+                    String segment = segments[s].replace('_', ' ');
+                    for (String token : tokenize(segment)) {
+                        add(postings, token, d, weight);
+                        // "port-au-prince" is also findable as "prince"
+                        for (String part : token.split("-")) {
+                            if (!part.isEmpty() && !part.equals(token)) add(postings, part, d, weight);
+                        }
+                    }
+                    // Multi-word cities also match as one run: "newyork", "losangeles"
+                    String joined = segment.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+                    if (!joined.isEmpty()) add(postings, joined, d, weight);
+                }
+                for (String token : tokenize(e.abbreviation())) {
+                    add(postings, token, d, ABBREVIATION + bonus);
+                }
+                for (String term : offsetTerms(e.offset().getTotalSeconds())) {
+                    add(postings, term, d, OFFSET + bonus);
+                }
+            }
+
+            Map<String, List<Integer>> grams = new HashMap<>();
+            for (Map.Entry<String, Map<Integer, Integer>> p : postings.entrySet()) {
+                int termId = terms.size();
+                String term = p.getKey();
+                terms.add(term);
+                int[] ds = new int[p.getValue().size()];
+                int[] ws = new int[ds.length];
+                int i = 0;
+                for (Map.Entry<Integer, Integer> dw : p.getValue().entrySet()) {
+                    ds[i] = dw.getKey();
+                    ws[i] = dw.getValue();
+                    i++;
+                }
+                termPostings.add(new int[][] {ds, ws});
+                root.insert(term, 0, ds, ws, termId);
+                for (String g : trigrams(term)) {
+                    grams.computeIfAbsent(g, k -> new ArrayList<>()).add(termId);
+                }
+            }
+            root.freeze();
+            Map<String, int[]> frozen = new HashMap<>(grams.size() * 2);
+            for (Map.Entry<String, List<Integer>> g : grams.entrySet()) {
+                frozen.put(g.getKey(), g.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            this.trigramTerms = frozen;
+        }
+
+        private static void add(Map<String, Map<Integer, Integer>> postings, String term, int doc, int weight) {
+            postings.computeIfAbsent(term, k -> new LinkedHashMap<>()).merge(doc, weight, Math::max);
+        }
+
+        // +05:30 is searchable as "+05:30", "+5:30", "+0530", "utc+5:30" and "gmt+05:30"; whole hours also as "+5"
+        private static List<String> offsetTerms(int totalSeconds) {
+            List<String> out = new ArrayList<>();
+            if (totalSeconds == 0) {
+                out.addAll(List.of("utc", "gmt", "+00:00", "+0", "utc+0", "gmt+0"));
+                return out;
+            }
+            char sign = totalSeconds < 0 ? '-' : '+';
+            int abs = Math.abs(totalSeconds);
+            int h = abs / 3600;
+            int m = (abs / 60) % 60;
+            String padded = String.format("%c%02d:%02d", sign, h, m);
+            String shortForm = m == 0 ? sign + Integer.toString(h) : String.format("%c%d:%02d", sign, h, m);
+            for (String form : List.of(padded, shortForm, String.format("%c%02d%02d", sign, h, m))) {
+                out.add(form);
+                out.add("utc" + form);
+                out.add("gmt" + form);
+            }
+            return out;
+        }
+
+        private static List<String> trigrams(String term) {
+            String padded = "^" + term + "$";
+            List<String> out = new ArrayList<>(padded.length());
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                out.add(padded.substring(i, i + 3));
+            }
+            return out;
+        }
+
+        List<Hit> search(String query, int limit) {
+            List<String> tokens = tokenize(query);
+            if (tokens.isEmpty()) return List.of();
+            double[] scores = new double[docs.length];
+            int[] matched = new int[docs.length];
+
+            // Every token must match (prefix or fuzzy) for a zone to qualify
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                double[] tokenScores = new double[docs.length];
+                Node node = root.find(token);
+                if (node != null) {
+                    for (int i = 0; i < node.docs.length; i++) {
+                        tokenScores[node.docs[i]] = node.weights[i];
+                    }
+                    if (node.termId >= 0) {
+                        int[][] exact = termPostings.get(node.termId);
+                        for (int i = 0; i < exact[0].length; i++) {
+                            tokenScores[exact[0][i]] = Math.max(tokenScores[exact[0][i]], exact[1][i] * EXACT_TERM_FACTOR);
+                        }
+                    }
+                }
+                if (token.length() >= 3) {
+                    fuzzy(token, tokenScores);
+                }
+                for (int d = 0; d < docs.length; d++) {
+                    if (tokenScores[d] > 0) {
+                        scores[d] += tokenScores[d];
+                        matched[d]++;
+                    }
+                }
+            }
+
+            List<Integer> candidates = new ArrayList<>();
+            for (int d = 0; d < docs.length; d++) {
+                if (matched[d] == tokens.size()) candidates.add(d);
+            }
+            candidates.sort((a, b) -> {
+                int c = Double.compare(scores[b], scores[a]);
+                if (c != 0) return c;
+                c = Integer.compare(docs[a].zoneId().length(), docs[b].zoneId().length());
+                return c != 0 ? c : docs[a].zoneId().compareTo(docs[b].zoneId());
+            });
+            List<Hit> hits = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (int i = 0; i < candidates.size() && hits.size() < limit; i++) {
+                int d = candidates.get(i);
+                hits.add(new Hit(docs[d], cities[d], scores[d]));
+            }
+            return hits;
+        }
+
+        // Terms sharing enough trigrams with the token count as weaker matches (typos, infixes)
+        private void fuzzy(String token, double[] tokenScores) {
+            List<String> queryGrams = trigrams(token);
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String g : new LinkedHashSet<>(queryGrams)) {
+                int[] termIds = trigramTerms.get(g);
+                if (termIds == null) continue;
+                for (int termId : termIds) {
+                    shared.merge(termId, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<Integer, Integer> s : shared.entrySet()) {
+                String term = terms.get(s.getKey());
+                // A padded term of length n has n trigrams
+                double similarity = s.getValue() / (double) Math.max(queryGrams.size(), term.length());
+                if (similarity < MIN_TRIGRAM_SIMILARITY) continue;
+                int[][] p = termPostings.get(s.getKey());
+                for (int i = 0; i < p[0].length; i++) {
+                    double score = p[1][i] * similarity * FUZZY_FACTOR;
+                    if (score > tokenScores[p[0][i]]) tokenScores[p[0][i]] = score;
+                }
+            }
+        }
+    }
+
+    /** Trie node; {@code docs}/{@code weights} hold the best weight of every zone with a term under this prefix. */
+    private static final class Node {
+        private Map<Character, Node> children = new HashMap<>();
+        private Map<Integer, Integer> collecting = new HashMap<>();
+        int[] docs;
+        int[] weights;
+        int termId = -1;
+
+        void insert(String term, int depth, int[] ds, int[] ws, int id) {
+            for (int i = 0; i < ds.length; i++) {
+                collecting.merge(ds[i], ws[i], Math::max);
+            }
+            if (depth == term.length()) {
+                termId = id;
+                return;
+            }
+            children.computeIfAbsent(term.charAt(depth), c -> new Node()).insert(term, depth + 1, ds, ws, id);
+        }
+
+        Node find(String prefix) {
+            Node n = this;
+            for (int i = 0; i < prefix.length() && n != null; i++) {
+                n = n.children.get(prefix.charAt(i));
+            }
+            return n;
+        }
+
+        void freeze() {
+            docs = new int[collecting.size()];
+            weights = new int[docs.length];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> e : collecting.entrySet()) {
+                docs[i] = e.getKey();
+                weights[i] = e.getValue();
+                i++;
+            }
+            collecting = null;
+            for (Node child : children.values()) {
+                child.freeze();
+            }
+            if (children.isEmpty()) children = Map.of();
+        }
+    }
+}
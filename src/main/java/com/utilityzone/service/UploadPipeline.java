@@ -0,0 +1,142 @@
+package com.utilityzone.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Shared ingest path for uploaded files. {@link #stage} streams the multipart into a temp file while
+ * computing its SHA-256 in the same pass, so an upload costs one fixed-size buffer rather than a byte[]
+ * of the whole file. Callers then look the hash up for a duplicate, optionally derive a thumbnail from
+ * the staged file, and {@link #commit} it with an atomic rename. Closing the {@link Staged} removes the
+ * temp file if it was not committed.
+ * <pre>
+ * try (UploadPipeline.Staged staged = pipeline.stage(file)) {
+ *     if (alreadyHave(staged.sha256())) return existing;
+ *     pipeline.commitToBlobStore(staged);
+ * }
+ * </pre>
+ */
+@Component
+public class UploadPipeline {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BlobStore blobStore;
+
+    public UploadPipeline(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    public record Staged(Path file, String sha256, long size) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Stages an upload bound for the blob store, with no size limit beyond the multipart one. */
+    public Staged stage(MultipartFile upload) throws IOException {
+        return stage(upload, blobStore.stagingDir(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Streams {@code upload} into a temp file in {@code dir}, which should be on the same file system as
+     * the final location. Throws MaxUploadSizeExceededException once more than {@code maxBytes} arrive,
+     * whatever the part claimed its size was.
+     */
+    public Staged stage(MultipartFile upload, Path dir, long maxBytes) throws IOException {
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "upload-", ".tmp");
+        MessageDigest digest = newDigest();
+        long size = 0;
+        try (InputStream in = new DigestInputStream(upload.getInputStream(), digest);
+             OutputStream out = Files.newOutputStream(tmp)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                size += n;
+                if (size > maxBytes) throw new MaxUploadSizeExceededException(maxBytes);
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return new Staged(tmp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /** Moves the staged file to {@code target}, replacing whatever is there. */
+    public Path commit(Staged staged, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        BlobStore.moveIntoPlace(staged.file(), target);
+        return target;
+    }
+
+    /** Moves the staged file into the blob store under its hash (a no-op for content already there). */
+    public Path commitToBlobStore(Staged staged) throws IOException {
+        return blobStore.adopt(staged.sha256(), staged.file());
+    }
+
+    /**
+     * Derivative stage: writes a copy of the staged image scaled to fit {@code maxEdge} pixels to
+     * {@code target} (format from its extension, PNG by default). Returns false if the upload is not
+     * an image ImageIO can read. Smaller images are re-encoded at their own size.
+     */
+    public boolean thumbnail(Staged staged, Path target, int maxEdge) throws IOException {
+        BufferedImage source = ImageIO.read(staged.file().toFile());
+        if (source == null) return false;
+        Files.createDirectories(target.getParent());
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        String name = target.getFileName().toString().toLowerCase();
+        boolean jpeg = name.endsWith(".jpg") || name.endsWith(".jpeg");
+        BufferedImage scaled = new BufferedImage(width, height, jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        Path tmp = Files.createTempFile(target.getParent(), "thumb-", ".tmp");
+        try {
+            ImageIO.write(scaled, jpeg ? "jpg" : "png", tmp.toFile());
+            BlobStore.moveIntoPlace(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return true;
+    }
+
+    /** SHA-256 of a file already on disk, read in fixed-size chunks. */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE ships SHA-256
+        }
+    }
+}
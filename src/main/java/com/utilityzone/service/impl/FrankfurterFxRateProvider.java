@@ -0,0 +1,87 @@
+package com.utilityzone.service.impl;
+
+import com.utilityzone.service.FxRateProvider;
+import com.utilityzone.service.FxRateSnapshot;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+public class FrankfurterFxRateProvider implements FxRateProvider {
+    private static final String RATES_API = "https://api.frankfurter.dev/v1/latest";
+    private static final String CURRENCIES_API = "https://api.frankfurter.dev/v1/currencies";
+    private static final String SERIES_API = "https://api.frankfurter.dev/v1/{start}..{end}";
+
+    private final RestTemplate restTemplate;
+
+    public FrankfurterFxRateProvider() {
+        // Refreshes run in the background, but keep timeouts bounded so a hung provider cannot stall retries
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(5000);
+        factory.setReadTimeout(10000);
+        this.restTemplate = new RestTemplate(factory);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FxRateSnapshot fetchLatest() {
+        Map<String, Object> response = restTemplate.getForObject(RATES_API, Map.class);
+        if (response == null || !(response.get("rates") instanceof Map)) {
+            throw new IllegalStateException("Rates provider returned no rates");
+        }
+        String base = response.get("base") != null ? response.get("base").toString().toUpperCase() : "EUR";
+        LocalDate date = response.get("date") != null ? LocalDate.parse(response.get("date").toString()) : LocalDate.now();
+        return new FxRateSnapshot(base, date, parseRates((Map<String, Object>) response.get("rates")), Instant.now());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<FxRateSnapshot> fetchRange(LocalDate start, LocalDate end) {
+        Map<String, Object> response = restTemplate.getForObject(SERIES_API, Map.class, start.toString(), end.toString());
+        if (response == null || !(response.get("rates") instanceof Map)) {
+            throw new IllegalStateException("Rates provider returned no series");
+        }
+        String base = response.get("base") != null ? response.get("base").toString().toUpperCase() : "EUR";
+        Instant now = Instant.now();
+        // Keys are ISO dates, so sorting them gives chronological order
+        Map<String, Object> byDate = new TreeMap<>((Map<String, Object>) response.get("rates"));
+        List<FxRateSnapshot> days = new ArrayList<>(byDate.size());
+        for (Map.Entry<String, Object> e : byDate.entrySet()) {
+            if (e.getValue() instanceof Map) {
+                days.add(new FxRateSnapshot(base, LocalDate.parse(e.getKey()), parseRates((Map<String, Object>) e.getValue()), now));
+            }
+        }
+        return days;
+    }
+
+    private Map<String, BigDecimal> parseRates(Map<String, Object> raw) {
+        Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : raw.entrySet()) {
+            if (e.getValue() == null) continue;
+            BigDecimal rate = new BigDecimal(e.getValue().toString());
+            if (rate.signum() > 0) {
+                rates.put(e.getKey().toUpperCase(), rate);
+            }
+        }
+        return rates;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, String> fetchCurrencies() {
+        Map<String, String> currencies = restTemplate.getForObject(CURRENCIES_API, Map.class);
+        if (currencies == null || currencies.isEmpty()) {
+            throw new IllegalStateException("Currencies provider returned no data");
+        }
+        return currencies;
+    }
+}
@@ -36,6 +36,12 @@ import java.sql.ResultSet;
             ensureArticlesGroupNameColumn(conn);
            // Ensure article_groups table exists to persist admin group ordering
            ensureArticleGroupsTable(conn);
+           // Tag -> article lookups (tag lists) need an index led by tag; the primary key is (article_id, tag)
+           ensureIndex(conn, "idx_article_tags_tag", "article_tags(tag, article_id)");
+           // Composite indexes behind the keyset-paginated listings
+           ensureIndex(conn, "idx_article_status_created", "articles(status, created_at, id)");
+           ensureIndex(conn, "idx_blog_status_publish", "blogs(status, publish_date, id)");
+           ensureIndex(conn, "idx_blog_status_listed", "blogs(status, (COALESCE(publish_date, created_at)), id)");
          } catch (SQLException e) {
              log.warn("Schema migration runner encountered an error: {}", e.getMessage());
          }
@@ -168,6 +174,14 @@ import java.sql.ResultSet;
         }
     }
 
+    private void ensureIndex(Connection conn, String name, String definition) {
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS " + name + " ON " + definition);
+        } catch (SQLException e) {
+            log.warn("Failed to ensure index {}: {}", name, e.getMessage());
+        }
+    }
+
     private void ensureArticlesGroupNameColumn(Connection conn) {
         try {
             // If group_name already exists, nothing to do
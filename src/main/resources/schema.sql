@@ -35,6 +35,9 @@ CREATE TABLE IF NOT EXISTS blogs (
 CREATE INDEX idx_user_username ON users(username);
 CREATE INDEX idx_blog_author ON blogs(author);
 CREATE INDEX idx_blog_date ON blogs(publish_date);
+CREATE INDEX IF NOT EXISTS idx_blog_status_publish ON blogs(status, publish_date, id);
+-- Keyset pagination of published blogs by (publish_date falling back to created_at, id)
+CREATE INDEX IF NOT EXISTS idx_blog_status_listed ON blogs(status, (COALESCE(publish_date, created_at)), id);
 
 -- Create articles table if not exists
 CREATE TABLE IF NOT EXISTS articles (
@@ -61,6 +64,10 @@ CREATE TABLE IF NOT EXISTS article_tags (
 -- Create indexes for articles
 CREATE INDEX idx_article_category ON articles(category);
 CREATE INDEX IF NOT EXISTS idx_article_publish_date ON articles(publish_date);
+-- Keyset pagination of published articles by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_article_status_created ON articles(status, created_at, id);
+-- Tag -> article ids lookups for tag lists (the primary key is led by article_id)
+CREATE INDEX IF NOT EXISTS idx_article_tags_tag ON article_tags(tag, article_id);
 
 -- Ebooks content table: Global catalog & site config (single row)
 -- Purpose:
@@ -90,8 +97,12 @@ CREATE TABLE IF NOT EXISTS ebooks_covers (
 
 -- Prevent duplicate cover storage: unique by SHA-256 hash
 CREATE UNIQUE INDEX IF NOT EXISTS ux_ebooks_covers_hash ON ebooks_covers(content_hash);
+-- Cover bytes moved to the content-addressed file store (<file.upload.dir>/blobs, keyed by content_hash);
+-- data stays only until the startup migration has copied a row out
+ALTER TABLE ebooks_covers ALTER COLUMN data DROP NOT NULL;
+ALTER TABLE ebooks_covers ADD COLUMN IF NOT EXISTS size_bytes BIGINT;
 
--- Per-ebook table: Full content per item (many rows)
+-- Per-ebook table: one row per item (chapters and notes in ebook_chapters / ebook_notes)
 -- Purpose:
 --   - One row per ebook with full authoring content in `book_json`
 --     (preface, disclaimer, chapters, research/ideation, questions, TOC, etc.)
@@ -112,6 +123,32 @@ CREATE INDEX IF NOT EXISTS idx_ebooks_status ON ebooks(status);
 CREATE INDEX IF NOT EXISTS idx_ebooks_updated_at ON ebooks(updated_at);
 ALTER TABLE ebooks ADD CONSTRAINT chk_ebooks_status CHECK (status IN ('draft','published'));
 
+-- Normalised ebook storage: book fields as columns, chapters and notes as rows.
+-- book_json is kept only for rows not yet split (done at startup or on the row's next save).
+ALTER TABLE ebooks ALTER COLUMN book_json DROP NOT NULL;
+ALTER TABLE ebooks ADD COLUMN IF NOT EXISTS preface TEXT;
+ALTER TABLE ebooks ADD COLUMN IF NOT EXISTS disclaimer TEXT;
+
+CREATE TABLE IF NOT EXISTS ebook_chapters (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ebook_id BIGINT NOT NULL REFERENCES ebooks(id) ON DELETE CASCADE,
+    position INT NOT NULL,
+    title VARCHAR(500),
+    content TEXT,
+    filename VARCHAR(255)
+);
+CREATE INDEX IF NOT EXISTS idx_ebook_chapters_book ON ebook_chapters(ebook_id, position);
+
+-- Research/ideation notes: one row per single-valued kind, one per NotebookLM question
+CREATE TABLE IF NOT EXISTS ebook_notes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ebook_id BIGINT NOT NULL REFERENCES ebooks(id) ON DELETE CASCADE,
+    kind VARCHAR(30) NOT NULL,
+    position INT NOT NULL,
+    body TEXT
+);
+CREATE INDEX IF NOT EXISTS idx_ebook_notes_book ON ebook_notes(ebook_id, kind, position);
+
 -- Newsletter subscribers (for ebooks newsletter signups)
 CREATE TABLE IF NOT EXISTS newsletter_subscribers (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -119,4 +156,21 @@ CREATE TABLE IF NOT EXISTS newsletter_subscribers (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     active BOOLEAN NOT NULL DEFAULT TRUE,
     unsubscribed_at TIMESTAMP
-);
\ No newline at end of file
+);
+-- Publish-time rendering of article/blog bodies (sanitized HTML, deflate bytes, toc, read time)
+CREATE TABLE IF NOT EXISTS rendered_content (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    source_type VARCHAR(20) NOT NULL,
+    source_id BIGINT NOT NULL,
+    version INT NOT NULL,
+    source_hash VARCHAR(64) NOT NULL,
+    html TEXT NOT NULL,
+    html_deflate BYTEA NOT NULL,
+    toc_json TEXT NOT NULL,
+    excerpt VARCHAR(1000),
+    word_count INT NOT NULL,
+    read_time_minutes INT NOT NULL,
+    etag VARCHAR(100) NOT NULL,
+    rendered_at TIMESTAMP,
+    CONSTRAINT ux_rendered_content_source UNIQUE (source_type, source_id)
+);
@@ -0,0 +1,155 @@
+package com.utilityzone.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.utilityzone.model.EbookCoverEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.cache.CachesEndpoint;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private static CacheSpecProperties.Spec spec() {
+        return new CacheSpecProperties.Spec();
+    }
+
+    private static CaffeineCacheManager cacheManager(CacheSpecProperties specProperties, MeterRegistry registry) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        return new CacheConfig().cacheManager(new CacheProperties(), specProperties, new CacheReloaders(),
+                beans.getBeanProvider(MeterRegistry.class));
+    }
+
+    private static double gets(MeterRegistry registry, String cache, String result) {
+        return registry.get("cache.gets").tags("cache", cache, "result", result).functionCounter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> child(Map<String, Object> map, String key) {
+        return (Map<String, Object>) map.get(key);
+    }
+
+    @Test
+    void boundsCachesByEstimatedBytes() {
+        CacheSpecProperties.Spec spec = spec();
+        spec.setMaximumWeight(DataSize.ofKilobytes(100));
+        Cache<Object, Object> covers = CacheConfig.build("ebookCoverById", spec, new CacheReloaders(), Runnable::run);
+        for (long id = 1; id <= 10; id++) {
+            EbookCoverEntity cover = new EbookCoverEntity();
+            cover.setData(new byte[30 * 1024]);
+            covers.put(id, Optional.of(cover));
+        }
+        covers.cleanUp();
+        assertTrue(covers.estimatedSize() <= 3, "30 KB covers in a 100 KB cache: " + covers.estimatedSize());
+        assertTrue(covers.policy().eviction().orElseThrow().weightedSize().orElseThrow() <= 100 * 1024);
+    }
+
+    @Test
+    void refreshesExistingEntriesThroughRegisteredReloader() throws InterruptedException {
+        CacheSpecProperties.Spec spec = spec();
+        spec.setMaximumSize(10L);
+        spec.setRefreshAfterWrite(Duration.ofMillis(1));
+        CacheReloaders reloaders = new CacheReloaders();
+        int[] reloads = new int[1];
+        reloaders.register("blogs", key -> "fresh-" + key, () -> reloads[0]++);
+        Cache<Object, Object> blogs = CacheConfig.build("blogs", spec, reloaders, Runnable::run);
+
+        blogs.put(3, "stale");
+        Thread.sleep(5);
+        blogs.getIfPresent(3); // triggers the reload, run inline by the direct executor
+        assertEquals("fresh-3", blogs.getIfPresent(3));
+        assertTrue(reloads[0] >= 1);
+    }
+
+    @Test
+    void rejectsSizeAndWeightTogether() {
+        CacheSpecProperties.Spec spec = spec();
+        spec.setMaximumSize(10L);
+        spec.setMaximumWeight(DataSize.ofMegabytes(1));
+        assertThrows(IllegalStateException.class, () -> CacheConfig.build("x", spec, new CacheReloaders(), Runnable::run));
+    }
+
+    @Test
+    void bindsLazilyCreatedCachesToTheMeterRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CaffeineCacheManager manager = cacheManager(new CacheSpecProperties(), registry);
+
+        // Not declared anywhere: created on first use, after Boot's startup binding would have run
+        org.springframework.cache.Cache lazy = manager.getCache("lazy");
+        lazy.put(1, "one");
+        lazy.get(1);
+        lazy.get(1);
+        lazy.get(2);
+
+        assertEquals(2, gets(registry, "lazy", "hit"));
+        assertEquals(1, gets(registry, "lazy", "miss"));
+        assertEquals("cacheManager", registry.get("cache.gets").tags("cache", "lazy").functionCounter()
+                .getId().getTag("cache.manager"));
+    }
+
+    @Test
+    void tracingWrapperStillCountsAndLoadsOnce() {
+        Logger logger = (Logger) LoggerFactory.getLogger(SampledTracingCache.class);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.DEBUG);
+        try {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            CacheSpecProperties specProperties = new CacheSpecProperties();
+            specProperties.setTraceSampleRate(1.0);
+            org.springframework.cache.Cache traced = cacheManager(specProperties, registry).getCache("traced");
+            assertInstanceOf(SampledTracingCache.class, traced);
+            assertInstanceOf(Cache.class, traced.getNativeCache());
+
+            AtomicInteger loads = new AtomicInteger();
+            Callable<String> loader = () -> {
+                loads.incrementAndGet();
+                return "v";
+            };
+            assertEquals("v", traced.get("k", loader));
+            assertEquals("v", traced.get("k", loader));
+
+            assertEquals(1, loads.get());
+            assertEquals(1, gets(registry, "traced", "hit"));
+            assertEquals(1, gets(registry, "traced", "miss"));
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    @Test
+    void cachesEndpointReportsHitsAndMisses() {
+        CaffeineCacheManager manager = cacheManager(new CacheSpecProperties(), new SimpleMeterRegistry());
+        org.springframework.cache.Cache articles = manager.getCache("articles");
+        articles.put("a", 1);
+        articles.get("a");
+        articles.get("a");
+        articles.get("b");
+        Map<String, CacheManager> managers = Map.of("cacheManager", manager);
+
+        Map<String, Object> body = new CacheStatsEndpointExtension(new CachesEndpoint(managers), managers).caches();
+
+        Map<String, Object> entry = child(child(child(child(body, "cacheManagers"), "cacheManager"), "caches"), "articles");
+        assertTrue(((String) entry.get("target")).startsWith(Cache.class.getPackageName()), "target " + entry.get("target"));
+        Map<String, Object> stats = child(entry, "stats");
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(2 / 3.0, (double) stats.get("hitRate"), 1e-9);
+        assertEquals(1L, stats.get("size"));
+    }
+}
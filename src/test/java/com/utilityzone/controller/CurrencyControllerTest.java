@@ -0,0 +1,139 @@
+package com.utilityzone.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utilityzone.exception.GlobalExceptionHandler;
+import com.utilityzone.payload.request.CurrencyBulkConversionRequest;
+import com.utilityzone.service.FxRateService;
+import com.utilityzone.service.FxRateSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CurrencyControllerTest {
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        FxRateService fxRateService = mock(FxRateService.class);
+        when(fxRateService.current()).thenReturn(new FxRateSnapshot("EUR", LocalDate.of(2024, 3, 1),
+                Map.of("USD", new BigDecimal("1.10"), "INR", new BigDecimal("90.20")), Instant.now()));
+        CurrencyController controller = new CurrencyController();
+        ReflectionTestUtils.setField(controller, "fxRateService", fxRateService);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    // The endpoint streams its body, so the response is only complete after the async dispatch
+    private ResultActions bulk(String json) throws Exception {
+        MvcResult started = mvc.perform(post("/api/currency/convert/bulk")
+                        .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started));
+    }
+
+    @Test
+    void convertsItemsWithMixedCurrenciesAgainstOneSnapshot() throws Exception {
+        bulk("""
+                {"items":[
+                  {"amount":100,"from":"usd","to":"INR"},
+                  {"amount":50,"from":"INR","to":"EUR"},
+                  {"amount":10,"from":"EUR","to":"USD"}
+                ]}""")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.base").value("EUR"))
+                .andExpect(jsonPath("$.data.date").value("2024-03-01"))
+                .andExpect(jsonPath("$.data.results", hasSize(3)))
+                .andExpect(jsonPath("$.data.results[0].from").value("USD"))
+                .andExpect(jsonPath("$.data.results[0].result").value(8200.00))
+                .andExpect(jsonPath("$.data.results[1].result").value(0.55))
+                .andExpect(jsonPath("$.data.results[2].result").value(11.00));
+    }
+
+    @Test
+    void expandsOneAmountIntoEveryTarget() throws Exception {
+        bulk("""
+                {"amount":1,"from":"EUR","targets":["USD","INR","EUR"]}""")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.results", hasSize(3)))
+                .andExpect(jsonPath("$.data.results[1].to").value("INR"))
+                .andExpect(jsonPath("$.data.results[1].rate").value(90.2));
+    }
+
+    @Test
+    void unknownCodesGetAMessageWithoutFailingTheBatch() throws Exception {
+        bulk("""
+                {"items":[
+                  {"amount":1,"from":"XXX","to":"USD"},
+                  {"amount":1,"from":"USD","to":"ZZZ"},
+                  {"amount":1,"from":"USD","to":"EUR"}
+                ]}""")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.results", hasSize(3)))
+                .andExpect(jsonPath("$.data.results[0].message").value("Invalid source currency or not supported by provider."))
+                .andExpect(jsonPath("$.data.results[0].result").doesNotExist())
+                .andExpect(jsonPath("$.data.results[1].message").value("Invalid target currency or not supported by provider."))
+                .andExpect(jsonPath("$.data.results[2].result").value(0.91));
+    }
+
+    private static String items(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"amount\":1,\"from\":\"USD\",\"to\":\"INR\"}")
+                .collect(Collectors.joining(",", "{\"items\":[", "]}"));
+    }
+
+    @Test
+    void acceptsBatchesUpToTheLimit() throws Exception {
+        bulk(items(CurrencyBulkConversionRequest.MAX_ITEMS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.results", hasSize(CurrencyBulkConversionRequest.MAX_ITEMS)));
+    }
+
+    @Test
+    void rejectsBatchesOverTheLimit() throws Exception {
+        mvc.perform(post("/api/currency/convert/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content(items(CurrencyBulkConversionRequest.MAX_ITEMS + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 1000 conversions per request"));
+    }
+
+    @Test
+    void rejectsNullElementsBeforeStreaming() throws Exception {
+        mvc.perform(post("/api/currency/convert/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Items must not be null"));
+        mvc.perform(post("/api/currency/convert/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1,\"from\":\"USD\",\"targets\":[\"INR\",null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Target currency is required"));
+    }
+
+    @Test
+    void rejectsTargetsWithoutSourceAmount() throws Exception {
+        bulk("{\"targets\":[\"USD\"]}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Amount and from are required with targets."));
+    }
+}
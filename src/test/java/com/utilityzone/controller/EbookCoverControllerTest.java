@@ -0,0 +1,98 @@
+package com.utilityzone.controller;
+
+import com.utilityzone.exception.GlobalExceptionHandler;
+import com.utilityzone.model.EbookCoverEntity;
+import com.utilityzone.repository.EbookCoverRepository;
+import com.utilityzone.repository.NewsletterSubscriberRepository;
+import com.utilityzone.service.BlobStore;
+import com.utilityzone.service.EbookContentService;
+import com.utilityzone.service.EbookCoverService;
+import com.utilityzone.service.NewsletterEmailService;
+import com.utilityzone.service.NewsletterTokenService;
+import com.utilityzone.service.ResponseCache;
+import com.utilityzone.service.UploadPipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class EbookCoverControllerTest {
+
+    private static final byte[] IMAGE = "png-bytes".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        EbookCoverRepository repository = mock(EbookCoverRepository.class);
+        BlobStore blobStore = new BlobStore(dir.toString());
+        String hash = BlobStore.sha256(IMAGE);
+        blobStore.put(hash, IMAGE);
+
+        EbookCoverEntity migrated = new EbookCoverEntity();
+        migrated.setId(1L);
+        migrated.setMimeType("image/png");
+        migrated.setContentHash(hash);
+        migrated.setSizeBytes((long) IMAGE.length);
+        migrated.setCreatedAt(Instant.ofEpochMilli(1000));
+        // Written before uploads were deduplicated: same bytes, still in the database
+        EbookCoverEntity duplicate = new EbookCoverEntity();
+        duplicate.setId(2L);
+        duplicate.setMimeType("image/png");
+        duplicate.setData(IMAGE.clone());
+        duplicate.setCreatedAt(Instant.ofEpochMilli(500));
+        when(repository.findById(1L)).thenReturn(Optional.of(migrated));
+        when(repository.findById(2L)).thenReturn(Optional.of(duplicate));
+        when(repository.findByContentHash(hash)).thenReturn(Optional.of(migrated));
+        when(repository.save(any(EbookCoverEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        EbookController controller = new EbookController(mock(EbookContentService.class),
+                mock(NewsletterSubscriberRepository.class), mock(NewsletterEmailService.class),
+                mock(NewsletterTokenService.class), mock(CacheManager.class),
+                new EbookCoverService(repository, blobStore), mock(ResponseCache.class), mock(UploadPipeline.class));
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void servesMigratedCoverFromTheBlobStore() throws Exception {
+        mvc.perform(get("/api/ebooks/covers/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1000-" + IMAGE.length + "\""))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    void servesDuplicateLegacyCoverFromTheDatabase() throws Exception {
+        mvc.perform(get("/api/ebooks/covers/2").header(HttpHeaders.RANGE, "bytes=0-2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-500-" + IMAGE.length + "\""))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, IMAGE.length))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    void unknownCoverIsNotFound() throws Exception {
+        mvc.perform(get("/api/ebooks/covers/3")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,76 @@
+package com.utilityzone.controller;
+
+import com.utilityzone.exception.GlobalExceptionHandler;
+import com.utilityzone.service.ContentRenderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class RenderedContentControllerTest {
+
+    private static final String ETAG = "\"a7-2-0123456789abcdef\"";
+    private static final String DEFLATE_ETAG = "\"a7-2-0123456789abcdef-deflate\"";
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        ContentRenderService service = mock(ContentRenderService.class);
+        when(service.find(ContentRenderService.ARTICLE, 7L)).thenReturn(new ContentRenderService.Artifact(ETAG, 2,
+                "<p>Hi</p>".getBytes(StandardCharsets.UTF_8), new byte[] {1, 2, 3}, List.of(), "Hi", 1, 1, Instant.now()));
+        RenderedContentController controller = new RenderedContentController();
+        ReflectionTestUtils.setField(controller, "contentRenderService", service);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void identityAndDeflateBodiesHaveDifferentValidators() throws Exception {
+        mvc.perform(get("/api/articles/7/html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes("<p>Hi</p>".getBytes(StandardCharsets.UTF_8)));
+        mvc.perform(get("/api/articles/7/html").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, DEFLATE_ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "deflate"))
+                .andExpect(content().bytes(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    void revalidatesAgainstTheValidatorOfTheNegotiatedEncoding() throws Exception {
+        mvc.perform(get("/api/articles/7/html").header(HttpHeaders.IF_NONE_MATCH, DEFLATE_ETAG)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, DEFLATE_ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        // A validator for the compressed bytes says nothing about the identity body, and vice versa
+        mvc.perform(get("/api/articles/7/html").header(HttpHeaders.IF_NONE_MATCH, DEFLATE_ETAG))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+        mvc.perform(get("/api/articles/7/html").header(HttpHeaders.IF_NONE_MATCH, ETAG)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void missingArtifactIsNotFound() throws Exception {
+        mvc.perform(get("/api/articles/8/html")).andExpect(status().isNotFound());
+    }
+}
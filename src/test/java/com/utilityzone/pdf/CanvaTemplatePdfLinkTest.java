@@ -12,10 +12,13 @@ import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import com.utilityzone.service.EmailService;
 
 import java.nio.file.Files;
@@ -27,6 +30,15 @@ import java.util.stream.Collectors;
 @SpringBootTest
 class CanvaTemplatePdfLinkTest {
 
+    // Generated PDFs (and any other uploads) go here rather than into ./data
+    @TempDir
+    static Path uploadDir;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("file.upload.dir", () -> uploadDir.toString());
+    }
+
     @TestConfiguration
     static class StubEmailConfig {
         @Bean
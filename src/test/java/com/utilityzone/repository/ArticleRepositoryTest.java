@@ -0,0 +1,81 @@
+package com.utilityzone.repository;
+
+import com.utilityzone.model.Article;
+import com.utilityzone.model.ArticleCategory;
+import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.ArticleSummary;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Statement counts of the article loads that used to issue one tag query per article. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = ArticleRepositoryTest.Config.class)
+class ArticleRepositoryTest {
+
+    @EnableAutoConfiguration
+    @EntityScan("com.utilityzone.model")
+    @EnableJpaRepositories("com.utilityzone.repository")
+    static class Config {}
+
+    private static final int ARTICLES = 30;
+
+    @Autowired
+    private ArticleRepository repository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ARTICLES; i++) {
+            Article a = new Article();
+            a.setTitle("Article " + i);
+            a.setDescription("");
+            a.setContent("body");
+            a.setCategory(ArticleCategory.JAVA);
+            a.setStatus(i % 3 == 0 ? PublicationStatus.DRAFT : PublicationStatus.PUBLISHED);
+            a.setTags(i % 2 == 0 ? Set.of("java", "even") : Set.of("java"));
+            ids.add(repository.save(a).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadsTagsOfManyArticlesInOneBatch() {
+        List<Article> articles = repository.findAllById(ids);
+
+        assertEquals(ARTICLES, articles.size());
+        assertTrue(articles.stream().allMatch(a -> a.getTags().contains("java")));
+        // The articles, then one IN (...) query for all their tags
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void tagListIsOneStatement() {
+        List<ArticleSummary> rows = repository.findSummaryRowsByTagAndStatus("even", PublicationStatus.PUBLISHED);
+
+        // Even and published: i = 2, 4, 8, 10, ... with one row per tag (java, even)
+        assertEquals(10, rows.stream().map(ArticleSummary::getId).distinct().count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,131 @@
+package com.utilityzone.service;
+
+import com.utilityzone.model.ArticleCategory;
+import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.ArticleSummary;
+import com.utilityzone.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleCacheInvalidatorTest {
+
+    private final ArticleRepository repository = mock(ArticleRepository.class);
+    private final ConcurrentMapCacheManager cacheManager =
+            new ConcurrentMapCacheManager("articles", "articleById", "articlesByCategory", "articlesByTag");
+    private final ArticleCacheInvalidator invalidator = new ArticleCacheInvalidator(repository, cacheManager, new ResponseCache(true, 1 << 20));
+
+    private static ArticleCacheInvalidator.Footprint footprint(long id, PublicationStatus status, ArticleCategory category, String... tags) {
+        return new ArticleCacheInvalidator.Footprint(id, status == PublicationStatus.PUBLISHED, category, Set.of(tags));
+    }
+
+    private static ArticleSummary summary(long id, String tag) {
+        return new ArticleSummary(id, "Title " + id, "", null, ArticleCategory.JAVA, PublicationStatus.PUBLISHED,
+                null, null, null, null, tag);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    private void awaitValue(Cache cache, Object key, Object expected) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            Cache.ValueWrapper w = cache.get(key);
+            if (w != null && expected.equals(w.get())) return;
+            Thread.sleep(10);
+        }
+        fail("cache " + cache.getName() + "[" + key + "] was not refreshed");
+    }
+
+    @Test
+    void evictsOnlyTheEditedArticleAndRefreshesItsLists() throws Exception {
+        List<ArticleSummary> stale = List.of();
+        List<ArticleSummary> fresh = List.of(summary(9, "t"));
+        when(repository.findSummaryRowsByStatus(any())).thenReturn(fresh);
+        when(repository.findSummaryRowsByCategoryAndStatus(any(), any())).thenReturn(fresh);
+        when(repository.findSummaryRowsByTagAndStatus(anyString(), any())).thenReturn(fresh);
+
+        cache("articleById").put(1L, "one");
+        cache("articleById").put(2L, "two");
+        cache("articles").put(SimpleKey.EMPTY, stale);
+        for (ArticleCategory c : List.of(ArticleCategory.JAVA, ArticleCategory.DOCKER, ArticleCategory.REACT)) {
+            cache("articlesByCategory").put(c, stale);
+        }
+        for (String t : List.of("old", "kept", "other")) cache("articlesByTag").put(t, stale);
+
+        // Article 1 moves from JAVA/[old, kept] to DOCKER/[kept, new]
+        invalidator.articleChanged(footprint(1, PublicationStatus.PUBLISHED, ArticleCategory.JAVA, "old", "kept"),
+                footprint(1, PublicationStatus.PUBLISHED, ArticleCategory.DOCKER, "kept", "new"));
+
+        assertNull(cache("articleById").get(1L));
+        assertEquals("two", cache("articleById").get(2L).get());
+        awaitValue(cache("articles"), SimpleKey.EMPTY, fresh);
+        awaitValue(cache("articlesByCategory"), ArticleCategory.JAVA, fresh);
+        awaitValue(cache("articlesByCategory"), ArticleCategory.DOCKER, fresh);
+        awaitValue(cache("articlesByTag"), "old", fresh);
+        awaitValue(cache("articlesByTag"), "kept", fresh);
+        // Untouched lists keep their entries, and lists nobody cached are not built eagerly
+        assertSame(stale, cache("articlesByCategory").get(ArticleCategory.REACT).get());
+        assertSame(stale, cache("articlesByTag").get("other").get());
+        assertNull(cache("articlesByTag").get("new"));
+    }
+
+    @Test
+    void refreshDoesNotLoadThroughALoadingCache() throws Exception {
+        // Same shape as the refresh-after-write caches CacheConfig builds: a miss on get() runs the loader
+        AtomicInteger loads = new AtomicInteger();
+        List<ArticleSummary> fresh = List.of(summary(9, "t"));
+        when(repository.findSummaryRowsByTagAndStatus(anyString(), any())).thenAnswer(inv -> {
+            loads.incrementAndGet();
+            return fresh;
+        });
+        CaffeineCacheManager caffeineManager = new CaffeineCacheManager();
+        caffeineManager.registerCustomCache("articlesByTag", Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofHours(1))
+                .build(key -> List.of()));
+        ArticleCacheInvalidator caffeineInvalidator =
+                new ArticleCacheInvalidator(repository, caffeineManager, new ResponseCache(true, 1 << 20));
+        Cache byTag = caffeineManager.getCache("articlesByTag");
+        byTag.put("cached", List.of());
+
+        caffeineInvalidator.articleChanged(null, footprint(1, PublicationStatus.PUBLISHED, null, "cached", "uncached"));
+
+        awaitValue(byTag, "cached", fresh);
+        assertEquals(1, loads.get());
+        assertFalse(((com.github.benmanes.caffeine.cache.Cache<?, ?>) byTag.getNativeCache()).asMap().containsKey("uncached"));
+    }
+
+    @Test
+    void draftEditsLeaveListsAlone() {
+        cache("articleById").put(5L, "draft");
+        cache("articles").put(SimpleKey.EMPTY, List.of());
+        invalidator.articleChanged(footprint(5, PublicationStatus.DRAFT, ArticleCategory.JAVA, "x"),
+                footprint(5, PublicationStatus.DRAFT, ArticleCategory.JAVA, "y"));
+        assertNull(cache("articleById").get(5L));
+        assertNotNull(cache("articles").get(SimpleKey.EMPTY));
+        assertNull(cache("articlesByTag").get("y"));
+    }
+
+    @Test
+    void mergesJoinRowsIntoOneSummaryPerArticle() {
+        List<ArticleSummary> merged = ArticleCacheInvalidator.mergeTags(List.of(
+                summary(1, "java"), summary(1, "spring"), summary(2, null), summary(3, "docker")));
+        assertEquals(List.of(1L, 2L, 3L), merged.stream().map(ArticleSummary::getId).toList());
+        assertEquals(List.of("java", "spring"), merged.get(0).getTags());
+        assertTrue(merged.get(1).getTags().isEmpty());
+    }
+}
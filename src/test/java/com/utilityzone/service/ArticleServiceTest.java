@@ -0,0 +1,59 @@
+package com.utilityzone.service;
+
+import com.utilityzone.model.Article;
+import com.utilityzone.model.ArticleCategory;
+import com.utilityzone.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleServiceTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+    @Mock
+    private ContentSearchService contentSearchService;
+    @Mock
+    private ArticleCacheInvalidator articleCacheInvalidator;
+    @Mock
+    private ContentRenderService contentRenderService;
+    @InjectMocks
+    private ArticleService articleService;
+
+    @Test
+    void updateKeepsFieldsTheRequestLeavesOut() {
+        Article stored = new Article();
+        stored.setTitle("Streams");
+        stored.setDescription("About streams");
+        stored.setContent("# Streams\n\nBody");
+        stored.setReadTime("3 min read");
+        stored.setCategory(ArticleCategory.JAVA);
+        stored.setTags(Set.of("Java"));
+        when(articleRepository.findById(7L)).thenReturn(Optional.of(stored));
+        when(articleRepository.save(any(Article.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // What a list row (no content) looks like when saved back with a new group
+        Article fromList = new Article();
+        fromList.setTitle("Streams");
+        fromList.setHeader("Collections");
+        fromList.setTags(Set.of("Java"));
+
+        Article saved = articleService.updateArticle(7L, fromList);
+
+        assertEquals("# Streams\n\nBody", saved.getContent());
+        assertEquals("About streams", saved.getDescription());
+        assertEquals("3 min read", saved.getReadTime());
+        assertEquals(ArticleCategory.JAVA, saved.getCategory());
+        assertEquals("Collections", saved.getHeader());
+    }
+}
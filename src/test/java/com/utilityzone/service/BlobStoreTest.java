@@ -0,0 +1,41 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlobStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storesUnderShardedHashPath() throws IOException {
+        BlobStore store = new BlobStore(dir.toString());
+        byte[] data = "cover".getBytes(StandardCharsets.UTF_8);
+        String hash = BlobStore.sha256(data);
+
+        Path path = store.put(hash, data);
+
+        assertEquals(dir.resolve("blobs").resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash), path);
+        assertArrayEquals(data, Files.readAllBytes(path));
+        assertTrue(store.exists(hash));
+        assertEquals(path, store.put(hash, data), "storing the same content again is a no-op");
+        try (var files = Files.list(path.getParent())) {
+            assertEquals(1, files.count(), "no temp files left behind");
+        }
+    }
+
+    @Test
+    void rejectsAnythingButHexDigests() {
+        BlobStore store = new BlobStore(dir.toString());
+        assertThrows(IllegalArgumentException.class, () -> store.path("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> store.path(null));
+    }
+}
@@ -0,0 +1,74 @@
+package com.utilityzone.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utilityzone.model.Article;
+import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.model.RenderedContent;
+import com.utilityzone.repository.ArticleRepository;
+import com.utilityzone.repository.BlogRepository;
+import com.utilityzone.repository.RenderedContentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ContentRenderServiceTest {
+
+    private RenderedContentRepository renderedContentRepository;
+    private ArticleRepository articleRepository;
+    private ContentRenderService service;
+
+    @BeforeEach
+    void setUp() {
+        renderedContentRepository = mock(RenderedContentRepository.class);
+        articleRepository = mock(ArticleRepository.class);
+        service = new ContentRenderService(renderedContentRepository, articleRepository, mock(BlogRepository.class),
+                mock(CacheManager.class), new ObjectMapper(), mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private static Article published(Long id, String content, String readTime) {
+        Article a = new Article();
+        a.setId(id);
+        a.setContent(content);
+        a.setReadTime(readTime);
+        a.setStatus(PublicationStatus.PUBLISHED);
+        return a;
+    }
+
+    @Test
+    void failingToStoreTheArtifactDoesNotFailTheSave() {
+        when(renderedContentRepository.findBySourceTypeAndSourceId(ContentRenderService.ARTICLE, 3L))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        Article article = published(3L, "<p>" + "word ".repeat(450) + "</p>", null);
+
+        assertDoesNotThrow(() -> service.articleSaved(article));
+        assertEquals("3 min read", article.getReadTime());
+    }
+
+    @Test
+    void startupBackfillOnlyWritesArtifacts() {
+        Article legacy = published(5L, "# Old\n\nShort body", "9 min read");
+        when(renderedContentRepository.findUnrenderedPublishedArticleIds()).thenReturn(List.of(5L));
+        when(articleRepository.findById(5L)).thenReturn(Optional.of(legacy));
+        when(renderedContentRepository.findBySourceTypeAndSourceId(any(), any())).thenReturn(Optional.empty());
+
+        service.renderMissingOnStartup();
+
+        verify(renderedContentRepository, timeout(5000)).save(any(RenderedContent.class));
+        assertEquals("9 min read", legacy.getReadTime());
+    }
+}
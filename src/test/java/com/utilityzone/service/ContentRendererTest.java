@@ -0,0 +1,99 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentRendererTest {
+
+    @Test
+    void stripsScriptsHandlersAndUnsafeUrls() {
+        String html = "<p onclick=\"steal()\">Hi <script>alert(1)</script><a href=\"javascript:alert(1)\">x</a>"
+                + "<a href=\"jav&#x09;ascript:alert(1)\">y</a><a href=\"https://example.com/a?b=1&c=2\">ok</a>"
+                + "<img src=\"/img/a.png\" onerror=\"x()\"><iframe src=\"https://evil\">inner</iframe><em>open";
+        String out = ContentRenderer.render(html).html();
+        assertFalse(out.contains("script"), out);
+        assertFalse(out.contains("onclick") || out.contains("onerror"), out);
+        assertFalse(out.contains("javascript") || out.contains("ascript:"), out);
+        assertFalse(out.contains("iframe") || out.contains("inner"), out);
+        assertTrue(out.contains("<a href=\"https://example.com/a?b=1&amp;c=2\" rel=\"noopener nofollow\">ok</a>"), out);
+        assertTrue(out.contains("<img src=\"/img/a.png\">"), out);
+        assertTrue(out.endsWith("<em>open</em></p>"), out);
+    }
+
+    @Test
+    void rendersMarkdownWithHeadingAnchorsAndToc() {
+        String md = "# Guide\n\nIntro with **bold** and `<code>`.\n\n## Getting started\n\n- one\n- two\n\n"
+                + "## Getting started\n\n```java\nint x = 1 < 2;\n```\n\n<script>x</script>";
+        ContentRenderer.Result r = ContentRenderer.render(md);
+        assertTrue(r.html().contains("<h2 id=\"getting-started\">Getting started</h2>"), r.html());
+        assertTrue(r.html().contains("<h2 id=\"getting-started-2\">"), r.html());
+        assertTrue(r.html().contains("<strong>bold</strong>") && r.html().contains("<code>&lt;code&gt;</code>"), r.html());
+        assertTrue(r.html().contains("<pre><code class=\"language-java\">int x = 1 &lt; 2;\n</code></pre>"), r.html());
+        assertTrue(r.html().contains("<ul>\n<li>one</li>"), r.html());
+        assertTrue(r.html().contains("&lt;script&gt;"), "raw HTML in Markdown is shown as text");
+        assertEquals(List.of(new ContentRenderer.TocEntry(1, "guide", "Guide"),
+                new ContentRenderer.TocEntry(2, "getting-started", "Getting started"),
+                new ContentRenderer.TocEntry(2, "getting-started-2", "Getting started")), r.toc());
+    }
+
+    @Test
+    void computesExcerptAndReadTime() {
+        String body = "<p>" + "word ".repeat(450) + "</p>";
+        ContentRenderer.Result r = ContentRenderer.render(body);
+        assertEquals(450, r.wordCount());
+        assertEquals(3, r.readTimeMinutes());
+        assertTrue(r.excerpt().length() <= ContentRenderer.EXCERPT_CHARS + 1 && r.excerpt().endsWith("…"), r.excerpt());
+        assertEquals(1, ContentRenderer.render("").readTimeMinutes());
+    }
+
+    @Test
+    void rendersGfmTablesStrikethroughAndTaskLists() {
+        String md = "Compare:\n\n| Name | Size | Note |\n|:-----|-----:|:----:|\n| `a\\|b` | 1 | ~~old~~ |\n"
+                + "| only one |\n\n- [ ] todo\n- [x] done\n\nSee https://example.com/~user/~x and ~one~.";
+        String html = ContentRenderer.render(md).html();
+        assertTrue(html.contains("<table>\n<thead>\n<tr>\n<th align=\"left\">Name</th>\n<th align=\"right\">Size</th>\n"
+                + "<th align=\"center\">Note</th>"), html);
+        assertTrue(html.contains("<td align=\"left\"><code>a|b</code></td>"), html);
+        assertTrue(html.contains("<td align=\"center\"><del>old</del></td>"), html);
+        // Short rows are padded to the header's width
+        assertTrue(html.contains("<td align=\"left\">only one</td>\n<td align=\"right\"></td>\n<td align=\"center\"></td>"), html);
+        assertTrue(html.contains("<li><input type=\"checkbox\" disabled> todo</li>"), html);
+        assertTrue(html.contains("<li><input type=\"checkbox\" disabled checked> done</li>"), html);
+        assertTrue(html.contains("https://example.com/~user/~x and <del>one</del>."), html);
+    }
+
+    @Test
+    void keepsOnlyReadOnlyCheckboxesFromHtml() {
+        String out = ContentRenderer.render("<p><input type=\"text\" name=\"q\"><input type=\"checkbox\" checked onclick=\"x()\"> done</p>").html();
+        assertEquals("<p><input type=\"checkbox\" disabled checked> done</p>", out);
+    }
+
+    @Test
+    void pipesWithoutADelimiterRowStayAParagraph() {
+        assertEquals("<p>a | b c | d</p>\n", ContentRenderer.markdownToHtml("a | b\nc | d"));
+    }
+
+    @Test
+    void rejectsSchemesHiddenInCharacterReferences() {
+        for (String href : new String[] {
+                "javascript&#X3A;alert(1)", "javascript&#x3a;alert(1)", "javascript&#58;alert(1)",
+                "javascript&#0000058alert(1)", "javascript&colon;alert(1)", "java&Tab;script:alert(1)",
+                "&#X6A;avascript:alert(1)", "javascript&#X3A alert(1)", "javascript&amp;#58;alert(1)",
+                "javascript&unknown;:alert(1)", "JAVASCRIPT:alert(1)", "data:text/html,x", "vbscript:x"}) {
+            assertFalse(ContentRenderer.isSafeUrl(href), href);
+            String out = ContentRenderer.render("<p><a href=\"" + href + "\">x</a></p>").html();
+            assertEquals("<p><a rel=\"noopener nofollow\">x</a></p>", out, href);
+        }
+    }
+
+    @Test
+    void keepsOrdinaryUrls() {
+        for (String href : new String[] {"https://example.com/a?b=1&c=2", "HTTP://EXAMPLE.COM", "mailto:me@example.com",
+                "/docs/a:b", "guide.html#part:2", "?q=a:b", "relative/page", "#top"}) {
+            assertTrue(ContentRenderer.isSafeUrl(href), href);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.utilityzone.service;
+
+import com.utilityzone.payload.dto.EbookContentDto;
+import com.utilityzone.payload.dto.EbookItemDto;
+import com.utilityzone.repository.EbookRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class EbookCatalogProjectorTest {
+
+    private final EbookRepository repository = mock(EbookRepository.class);
+    private final EbookContentService contentService = mock(EbookContentService.class);
+    // Long debounce: the test drives flush() itself
+    private final EbookCatalogProjector projector = new EbookCatalogProjector(repository, contentService, 60_000);
+
+    record Row(Long getId, String getTitle, String getCoverUrl, String getStatus) implements EbookRepository.CatalogRow {}
+
+    private static EbookItemDto item(String id, String title, String buyLink) {
+        EbookItemDto b = new EbookItemDto();
+        b.setId(id);
+        b.setTitle(title);
+        b.setStatus("draft");
+        b.setBuyLink(buyLink);
+        return b;
+    }
+
+    @Test
+    void burstOfChangesBecomesOneCatalogWrite() {
+        EbookContentDto catalog = new EbookContentDto();
+        catalog.setHeaderTitle("Author");
+        catalog.setBooks(new ArrayList<>(List.of(item("1", "Old title", "http://buy/1"), item("2", "Gone", null))));
+        when(contentService.getContent()).thenReturn(Optional.of(catalog));
+        when(repository.findByIdIn(anyCollection())).thenReturn(List.of(
+                new Row(1L, "New title", null, "published"),
+                new Row(3L, "Fresh", null, "draft")));
+
+        projector.bookChanged(1L, null, null);
+        projector.bookChanged(1L, null, "Autosaved twice");
+        projector.bookRemoved(2L);
+        projector.bookChanged(3L, null, null);
+        projector.flush();
+
+        ArgumentCaptor<EbookContentDto> written = ArgumentCaptor.forClass(EbookContentDto.class);
+        verify(contentService, times(1)).upsert(written.capture());
+        EbookContentDto next = written.getValue();
+        assertEquals("Author", next.getHeaderTitle());
+        assertEquals("published", next.getStatus());
+        assertEquals(List.of("1", "3"), next.getBooks().stream().map(EbookItemDto::getId).toList());
+        EbookItemDto first = next.getBooks().get(0);
+        assertEquals("New title", first.getTitle());
+        assertEquals("http://buy/1", first.getBuyLink(), "curated field kept");
+        assertEquals("Autosaved twice", first.getDescription());
+        assertEquals("Old title", catalog.getBooks().get(0).getTitle(), "cached catalog is not modified");
+
+        projector.flush();
+        verify(contentService, times(1)).upsert(any());
+    }
+
+    @Test
+    void failedWriteIsKeptForRetry() {
+        when(contentService.getContent()).thenReturn(Optional.empty());
+        when(repository.findByIdIn(anyCollection())).thenReturn(List.of(new Row(1L, "Book", null, "draft")));
+        when(contentService.upsert(any())).thenThrow(new IllegalStateException("db down")).thenReturn(new EbookContentDto());
+
+        projector.bookChanged(1L, "http://buy", null);
+        projector.flush();
+        projector.flush();
+
+        ArgumentCaptor<EbookContentDto> written = ArgumentCaptor.forClass(EbookContentDto.class);
+        verify(contentService, times(2)).upsert(written.capture());
+        assertEquals("http://buy", written.getValue().getBooks().get(0).getBuyLink());
+    }
+
+    @Test
+    void shutdownWaitsForTheRunningFlushThenFlushesOnce() throws Exception {
+        EbookCatalogProjector immediate = new EbookCatalogProjector(repository, contentService, 0);
+        when(contentService.getContent()).thenReturn(Optional.empty());
+        when(repository.findByIdIn(anyCollection())).thenReturn(List.of(
+                new Row(1L, "One", null, "draft"), new Row(2L, "Two", null, "draft")));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(contentService.upsert(any())).thenAnswer(inv -> {
+            if (inFlight.incrementAndGet() > 1) overlapped.set(true);
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return inv.getArgument(0);
+        });
+
+        immediate.bookChanged(1L, null, null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        immediate.bookChanged(2L, null, null);
+        Thread stopping = new Thread(immediate::shutdown);
+        stopping.start();
+        Thread.sleep(100);
+        release.countDown();
+        stopping.join(5_000);
+
+        assertFalse(stopping.isAlive());
+        assertFalse(overlapped.get(), "final flush overlapped the running one");
+        verify(contentService, times(2)).upsert(any());
+    }
+
+    @Test
+    void failedFinalFlushIsNotRescheduled() {
+        when(contentService.getContent()).thenReturn(Optional.empty());
+        when(repository.findByIdIn(anyCollection())).thenReturn(List.of(new Row(1L, "Book", null, "draft")));
+        when(contentService.upsert(any())).thenThrow(new IllegalStateException("db down"));
+
+        projector.bookChanged(1L, null, null);
+        assertDoesNotThrow(projector::shutdown);
+        verify(contentService, times(1)).upsert(any());
+    }
+}
@@ -0,0 +1,79 @@
+package com.utilityzone.service;
+
+import com.utilityzone.model.EbookCoverEntity;
+import com.utilityzone.repository.EbookCoverRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EbookCoverServiceTest {
+
+    private static final byte[] IMAGE = "png-bytes".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private EbookCoverRepository repository;
+    private BlobStore blobStore;
+    private EbookCoverService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EbookCoverRepository.class);
+        blobStore = new BlobStore(dir.toString());
+        service = new EbookCoverService(repository, blobStore);
+        when(repository.save(any(EbookCoverEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static EbookCoverEntity legacy(Long id) {
+        EbookCoverEntity e = new EbookCoverEntity();
+        e.setId(id);
+        e.setMimeType("image/png");
+        e.setData(IMAGE.clone());
+        return e;
+    }
+
+    @Test
+    void legacyCoverMovesToTheBlobStoreOnFirstRead() throws IOException {
+        EbookCoverEntity row = legacy(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(row));
+        when(repository.findByContentHash(BlobStore.sha256(IMAGE))).thenReturn(Optional.empty());
+
+        EbookCoverService.CoverHandle cover = service.findById(1L).orElseThrow();
+
+        assertFalse(cover.inline());
+        assertEquals(IMAGE.length, cover.length());
+        assertNull(row.getData());
+        assertArrayEquals(IMAGE, Files.readAllBytes(service.file(cover)));
+    }
+
+    @Test
+    void duplicateLegacyCoverIsServedFromTheDatabase() throws IOException {
+        String hash = BlobStore.sha256(IMAGE);
+        blobStore.put(hash, IMAGE);
+        EbookCoverEntity twin = new EbookCoverEntity();
+        twin.setId(1L);
+        twin.setContentHash(hash);
+        twin.setSizeBytes((long) IMAGE.length);
+        EbookCoverEntity duplicate = legacy(2L);
+        when(repository.findById(2L)).thenReturn(Optional.of(duplicate));
+        when(repository.findByContentHash(hash)).thenReturn(Optional.of(twin));
+
+        EbookCoverService.CoverHandle cover = service.findById(2L).orElseThrow();
+
+        assertTrue(cover.inline());
+        assertEquals(IMAGE.length, cover.length());
+        assertArrayEquals(IMAGE, service.inlineData(cover).orElseThrow());
+        verify(repository, never()).save(any());
+    }
+}
@@ -0,0 +1,95 @@
+package com.utilityzone.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.utilityzone.payload.dto.ChapterDto;
+import com.utilityzone.payload.dto.EbookContentDto;
+import com.utilityzone.payload.dto.EbookItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rough throughput comparison of the old per-call paths against {@link EbookJsonCodec}. Not part of the
+ * regular build (surefire only picks up *Test classes); run with
+ * {@code mvn test -Dtest=EbookJsonCodecBenchmark -Dsurefire.failIfNoSpecifiedTests=false}.
+ */
+class EbookJsonCodecBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final EbookJsonCodec codec = new EbookJsonCodec(mapper);
+
+    interface Op {
+        Object run() throws Exception;
+    }
+
+    @Test
+    void compareCatalogAndBookPaths() throws Exception {
+        EbookContentDto catalog = catalog(40);
+        EbookItemDto book = book(12);
+        String catalogJson = codec.writeContent(catalog);
+        String bookJson = mapper.writeValueAsString(book);
+
+        report("catalog write: copy() + NON_NULL per call", () -> {
+            ObjectMapper copy = mapper.copy();
+            copy.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            return copy.writeValueAsString(catalog);
+        });
+        report("catalog write: codec", () -> codec.writeContent(catalog));
+        report("catalog read: mapper.readValue", () -> mapper.readValue(catalogJson, EbookContentDto.class));
+        report("catalog read: codec", () -> codec.readContent(catalogJson));
+        report("book read: mapper.readValue", () -> mapper.readValue(bookJson, EbookItemDto.class));
+        report("book read: codec", () -> codec.readItem(bookJson));
+    }
+
+    private static void report(String name, Op op) throws Exception {
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) sink = op.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) sink = op.run();
+        long micros = (System.nanoTime() - start) / 1_000;
+        System.out.printf("%-45s %8.2f us/op%s%n", name, micros / (double) ITERATIONS, sink == null ? "!" : "");
+    }
+
+    private static EbookContentDto catalog(int books) {
+        EbookContentDto dto = new EbookContentDto();
+        dto.setHeaderTitle("Author");
+        dto.setAbout("About the author ".repeat(20));
+        List<EbookItemDto> list = new ArrayList<>();
+        for (int i = 0; i < books; i++) {
+            EbookItemDto b = new EbookItemDto();
+            b.setId(String.valueOf(i));
+            b.setTitle("Book " + i);
+            b.setCoverUrl("/api/ebooks/covers/" + i);
+            b.setStatus(i % 2 == 0 ? "published" : "draft");
+            b.setBuyLink("https://example.com/buy/" + i);
+            list.add(b);
+        }
+        dto.setBooks(list);
+        dto.setUpdatedAt(Instant.now());
+        return dto;
+    }
+
+    private static EbookItemDto book(int chapters) {
+        EbookItemDto b = new EbookItemDto();
+        b.setId("1");
+        b.setTitle("Book");
+        b.setPreface("Preface ".repeat(100));
+        List<ChapterDto> list = new ArrayList<>();
+        for (int i = 0; i < chapters; i++) {
+            ChapterDto c = new ChapterDto();
+            c.setTitle("Chapter " + i);
+            c.setContent("Lorem ipsum dolor sit amet. ".repeat(200));
+            list.add(c);
+        }
+        b.setChapters(list);
+        b.setQuestionsForNotebookLm(List.of("What?", "Why?", "How?"));
+        return b;
+    }
+}
@@ -0,0 +1,46 @@
+package com.utilityzone.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.utilityzone.payload.dto.EbookContentDto;
+import com.utilityzone.payload.dto.EbookItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EbookJsonCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final EbookJsonCodec codec = new EbookJsonCodec(mapper);
+
+    @Test
+    void catalogJsonOmitsNullsAndRoundTrips() throws IOException {
+        EbookItemDto book = new EbookItemDto();
+        book.setId("7");
+        book.setTitle("Title");
+        EbookContentDto content = new EbookContentDto();
+        content.setHeaderTitle("Author");
+        content.setBooks(List.of(book));
+        content.setUpdatedAt(Instant.parse("2026-01-02T03:04:05Z"));
+
+        String json = codec.writeContent(content);
+
+        assertFalse(json.contains("null"), json);
+        EbookContentDto read = codec.readContent(json);
+        assertEquals("Author", read.getHeaderTitle());
+        assertEquals("Title", read.getBooks().get(0).getTitle());
+        assertEquals(content.getUpdatedAt(), read.getUpdatedAt());
+        assertTrue(mapper.writeValueAsString(content).contains("null"), "the shared mapper itself is not changed");
+    }
+
+    @Test
+    void itemReaderIgnoresUnknownFields() throws IOException {
+        EbookItemDto item = codec.readItem("{\"title\":\"T\",\"legacyField\":1,\"chapters\":[{\"title\":\"c\"}]}");
+        assertEquals("T", item.getTitle());
+        assertEquals("c", item.getChapters().get(0).getTitle());
+    }
+}
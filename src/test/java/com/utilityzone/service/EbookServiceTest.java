@@ -0,0 +1,311 @@
+package com.utilityzone.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utilityzone.controller.EbooksController;
+import com.utilityzone.model.EbookChapterEntity;
+import com.utilityzone.model.EbookEntity;
+import com.utilityzone.model.EbookNoteEntity;
+import com.utilityzone.payload.dto.ChapterDto;
+import com.utilityzone.payload.dto.EbookItemDto;
+import com.utilityzone.repository.EbookChapterRepository;
+import com.utilityzone.repository.EbookNoteRepository;
+import com.utilityzone.repository.EbookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Book, chapter and note rows against a real schema, including books still stored as book_json. */
+@DataJpaTest
+@ContextConfiguration(classes = EbookServiceTest.Config.class)
+class EbookServiceTest {
+
+    @EnableAutoConfiguration
+    @EntityScan("com.utilityzone.model")
+    @EnableJpaRepositories("com.utilityzone.repository")
+    static class Config {}
+
+    // What the editor stored before books were split into rows
+    private static final String LEGACY_JSON = """
+            {"id":"ignored","title":"Deep Work","coverUrl":"/api/ebooks/covers/3","status":"published",
+             "preface":"Why focus matters","disclaimer":"Not advice",
+             "chapters":[{"title":"One","content":"# One\\n\\nFirst","filename":"one.md"},
+                         {"title":"Two","content":"Second","filename":null},
+                         {"title":"Three","content":"Third","filename":"three.md"}],
+             "chapterIdeas":"More on email","researchNotes":"Newport 2016","dataStatsExamples":"23 minutes",
+             "personalThoughts":"Try it for a week","questionsForNotebookLm":["Why?","How long?","What breaks focus?"]}""";
+
+    @Autowired
+    private EbookRepository repository;
+    @Autowired
+    private EbookChapterRepository chapterRepository;
+    @Autowired
+    private EbookNoteRepository noteRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EbookService service;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        service = new EbookService(repository, chapterRepository, noteRepository,
+                new EbookJsonCodec(new ObjectMapper()), mock(EbookCatalogProjector.class),
+                new TransactionTemplate(transactionManager));
+        mvc = MockMvcBuilders.standaloneSetup(new EbooksController(service)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    // Makes the next read come from the database rather than the persistence context
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private EbookEntity legacyBook() {
+        EbookEntity entity = new EbookEntity();
+        entity.setTitle("Deep Work");
+        entity.setCoverUrl("/api/ebooks/covers/3");
+        entity.setStatus("published");
+        entity.setBookJson(LEGACY_JSON);
+        EbookEntity saved = repository.save(entity);
+        flushAndClear();
+        return saved;
+    }
+
+    private static ChapterDto chapter(String title) {
+        ChapterDto c = new ChapterDto();
+        c.setTitle(title);
+        c.setContent(title.toLowerCase() + " body");
+        c.setFilename(title.toLowerCase() + ".md");
+        return c;
+    }
+
+    private static EbookItemDto book(String... chapters) {
+        EbookItemDto book = new EbookItemDto();
+        book.setTitle("Book");
+        book.setStatus("draft");
+        book.setPreface("Preface");
+        book.setDisclaimer("Disclaimer");
+        book.setChapters(new ArrayList<>(Arrays.stream(chapters).map(EbookServiceTest::chapter).toList()));
+        book.setChapterIdeas("Ideas");
+        book.setResearchNotes("Research");
+        book.setQuestionsForNotebookLm(new ArrayList<>(List.of("q1", "q2", "q3")));
+        return book;
+    }
+
+    private List<EbookChapterEntity> chapterRows(Long id) {
+        return chapterRepository.findByEbookIdOrderByPosition(id);
+    }
+
+    private List<EbookNoteEntity> questionRows(Long id) {
+        return noteRepository.findByEbookIdOrderByKindAscPositionAsc(id).stream()
+                .filter(n -> n.getKind().equals(EbookNoteEntity.NOTEBOOKLM_QUESTION))
+                .toList();
+    }
+
+    private EbookItemDto reload(Long id) {
+        flushAndClear();
+        return service.fromEntity(repository.findById(id).orElseThrow());
+    }
+
+    @Test
+    void legacyBookReadsTheSameAfterBeingSplitIntoRows() {
+        Long id = legacyBook().getId();
+        EbookItemDto before = service.fromEntity(repository.findById(id).orElseThrow());
+        assertEquals(3, before.getChapters().size());
+
+        service.update(id, new EbookItemDto()); // a save with nothing to change still splits the row
+
+        EbookItemDto after = reload(id);
+        assertNull(repository.findById(id).orElseThrow().getBookJson());
+        assertEquals(3, chapterRows(id).size());
+        assertEquals(List.of("Why?", "How long?", "What breaks focus?"),
+                questionRows(id).stream().map(EbookNoteEntity::getBody).toList());
+        assertEquals(before, after);
+        assertEquals(String.valueOf(id), after.getId());
+    }
+
+    @Test
+    void legacyAndSplitBooksListTogether() {
+        Long legacy = legacyBook().getId();
+        Long split = service.create(book("A", "B")).getId();
+        flushAndClear();
+
+        List<EbookItemDto> all = service.listAllDto();
+
+        assertEquals(2, all.size());
+        EbookItemDto legacyDto = all.stream().filter(b -> b.getId().equals(String.valueOf(legacy))).findFirst().orElseThrow();
+        EbookItemDto splitDto = all.stream().filter(b -> b.getId().equals(String.valueOf(split))).findFirst().orElseThrow();
+        assertEquals("Why focus matters", legacyDto.getPreface());
+        assertEquals(List.of("A", "B"), splitDto.getChapters().stream().map(ChapterDto::getTitle).toList());
+        assertEquals(List.of("q1", "q2", "q3"), splitDto.getQuestionsForNotebookLm());
+    }
+
+    @Test
+    void chapterListsAreDiffedByPosition() {
+        Long id = service.create(book("A", "B", "C")).getId();
+        flushAndClear();
+        List<Long> rowIds = chapterRows(id).stream().map(EbookChapterEntity::getId).toList();
+
+        // Reorder and append: existing rows are rewritten in place, one row is inserted
+        EbookItemDto reordered = new EbookItemDto();
+        reordered.setChapters(new ArrayList<>(List.of(chapter("C"), chapter("A"), chapter("B"), chapter("D"))));
+        service.update(id, reordered);
+        flushAndClear();
+        List<EbookChapterEntity> rows = chapterRows(id);
+        assertEquals(List.of("C", "A", "B", "D"), rows.stream().map(EbookChapterEntity::getTitle).toList());
+        assertEquals(List.of(0, 1, 2, 3), rows.stream().map(EbookChapterEntity::getPosition).toList());
+        assertEquals(rowIds, rows.subList(0, 3).stream().map(EbookChapterEntity::getId).toList());
+        assertEquals("c body", rows.get(0).getContent());
+
+        // Shrink: rows past the new end are deleted
+        EbookItemDto shrunk = new EbookItemDto();
+        shrunk.setChapters(new ArrayList<>(List.of(chapter("A"))));
+        service.update(id, shrunk);
+        flushAndClear();
+        rows = chapterRows(id);
+        assertEquals(1, rows.size());
+        assertEquals(rowIds.get(0), rows.get(0).getId());
+        assertEquals("A", rows.get(0).getTitle());
+
+        // An empty list removes every chapter
+        EbookItemDto none = new EbookItemDto();
+        none.setChapters(new ArrayList<>());
+        service.update(id, none);
+        flushAndClear();
+        assertTrue(chapterRows(id).isEmpty());
+    }
+
+    @Test
+    void questionListsAreDiffedByPosition() {
+        Long id = service.create(book("A")).getId();
+        flushAndClear();
+        List<Long> rowIds = questionRows(id).stream().map(EbookNoteEntity::getId).toList();
+
+        EbookItemDto grown = new EbookItemDto();
+        grown.setQuestionsForNotebookLm(new ArrayList<>(List.of("q3", "q1", "q2", "q4")));
+        service.update(id, grown);
+        flushAndClear();
+        List<EbookNoteEntity> rows = questionRows(id);
+        assertEquals(List.of("q3", "q1", "q2", "q4"), rows.stream().map(EbookNoteEntity::getBody).toList());
+        assertEquals(rowIds, rows.subList(0, 3).stream().map(EbookNoteEntity::getId).toList());
+
+        EbookItemDto shrunk = new EbookItemDto();
+        shrunk.setQuestionsForNotebookLm(new ArrayList<>(List.of("only")));
+        service.update(id, shrunk);
+        assertEquals(List.of("only"), reload(id).getQuestionsForNotebookLm());
+        assertEquals(1, questionRows(id).size());
+        // Other notes are not touched by the question diff
+        assertEquals("Ideas", reload(id).getChapterIdeas());
+    }
+
+    @Test
+    void updatePatchesOnlyTheFieldsThatWereSent() {
+        Long id = service.create(book("A", "B")).getId();
+        flushAndClear();
+        EbookItemDto before = reload(id);
+
+        EbookItemDto patch = new EbookItemDto();
+        patch.setTitle("Renamed");
+        patch.setResearchNotes("");
+        service.update(id, patch);
+
+        EbookItemDto after = reload(id);
+        assertEquals("Renamed", after.getTitle());
+        assertEquals("", after.getResearchNotes(), "an empty string is a value, not an omission");
+        before.setTitle("Renamed");
+        before.setResearchNotes("");
+        assertEquals(before, after);
+    }
+
+    @Test
+    void putIsAFieldLevelPatchToo() throws Exception {
+        Long id = service.create(book("A", "B")).getId();
+        flushAndClear();
+
+        mvc.perform(put("/api/ebooks/items/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"published\",\"personalThoughts\":\"New\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("published"))
+                .andExpect(jsonPath("$.title").value("Book"))
+                .andExpect(jsonPath("$.preface").value("Preface"))
+                .andExpect(jsonPath("$.chapters.length()").value(2))
+                .andExpect(jsonPath("$.chapterIdeas").value("Ideas"))
+                .andExpect(jsonPath("$.personalThoughts").value("New"))
+                .andExpect(jsonPath("$.questionsForNotebookLm.length()").value(3));
+    }
+
+    @Test
+    void patchChapterChangesOneChapter() throws Exception {
+        Long id = service.create(book("A", "B")).getId();
+        flushAndClear();
+
+        mvc.perform(patch("/api/ebooks/items/{id}/chapters/{position}", id, 1).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"rewritten\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("B"))
+                .andExpect(jsonPath("$.content").value("rewritten"))
+                .andExpect(jsonPath("$.filename").value("b.md"));
+
+        EbookItemDto after = reload(id);
+        assertEquals("rewritten", after.getChapters().get(1).getContent());
+        assertEquals("a body", after.getChapters().get(0).getContent());
+    }
+
+    @Test
+    void patchChapterOfMissingBookOrPositionIsNotFound() throws Exception {
+        Long id = service.create(book("A")).getId();
+        flushAndClear();
+
+        mvc.perform(patch("/api/ebooks/items/{id}/chapters/{position}", id, 1).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"X\"}"))
+                .andExpect(status().isNotFound());
+        mvc.perform(patch("/api/ebooks/items/{id}/chapters/{position}", id + 100, 0).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"X\"}"))
+                .andExpect(status().isNotFound());
+        assertEquals("A", reload(id).getChapters().get(0).getTitle());
+    }
+
+    @Test
+    void patchChapterOfLegacyBookSplitsItFirst() {
+        Long id = legacyBook().getId();
+
+        ChapterDto patch = new ChapterDto();
+        patch.setTitle("Two, revised");
+        ChapterDto result = service.patchChapter(id, 1, patch).orElseThrow();
+
+        assertEquals("Two, revised", result.getTitle());
+        assertEquals("Second", result.getContent());
+        EbookItemDto after = reload(id);
+        assertNull(repository.findById(id).orElseThrow().getBookJson());
+        assertEquals(List.of("One", "Two, revised", "Three"), after.getChapters().stream().map(ChapterDto::getTitle).toList());
+    }
+}
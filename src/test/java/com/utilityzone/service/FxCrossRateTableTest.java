@@ -0,0 +1,64 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxCrossRateTableTest {
+
+    private static FxCrossRateTable table() {
+        Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        rates.put("USD", new BigDecimal("1.0856"));
+        rates.put("INR", new BigDecimal("89.93"));
+        rates.put("JPY", new BigDecimal("161.45"));
+        rates.put("IDR", new BigDecimal("17342.11"));
+        rates.put("TINY", new BigDecimal("0.0000001"));
+        return new FxRateSnapshot("EUR", LocalDate.of(2024, 3, 1), rates, Instant.now()).getCrossRates();
+    }
+
+    @Test
+    void indexesEveryCodeIncludingBase() {
+        FxCrossRateTable t = table();
+        assertEquals(6, t.size());
+        assertEquals("EUR", t.codeAt(t.indexOf("EUR")));
+        assertEquals(-1, t.indexOf("XXX"));
+    }
+
+    @Test
+    void crossRatesMatchConversionViaBase() {
+        FxCrossRateTable t = table();
+        int usd = t.indexOf("USD");
+        int inr = t.indexOf("INR");
+        BigDecimal expected = new BigDecimal("89.93").divide(new BigDecimal("1.0856"), 12, RoundingMode.HALF_UP);
+        assertEquals(expected, t.rateDecimal(usd, inr));
+        assertEquals(expected, BigDecimal.valueOf(t.fixedRate(usd, inr), FxCrossRateTable.RATE_SCALE));
+        assertEquals(BigDecimal.ONE.setScale(FxCrossRateTable.RATE_SCALE), t.rateDecimal(inr, inr));
+
+        // Same figure the old two-step EUR path produced for a typical amount
+        BigDecimal amount = new BigDecimal("100");
+        BigDecimal viaEur = amount.divide(new BigDecimal("1.0856"), 8, RoundingMode.HALF_UP)
+                .multiply(new BigDecimal("89.93")).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(viaEur, t.convert(amount, usd, inr, 2));
+    }
+
+    @Test
+    void smallAndLargeCrossRatesKeepPrecision() {
+        FxCrossRateTable t = table();
+        int idr = t.indexOf("IDR");
+        int usd = t.indexOf("USD");
+        BigDecimal expected = new BigDecimal("1.0856").divide(new BigDecimal("17342.11"), 12, RoundingMode.HALF_UP);
+        assertEquals(expected, t.rateDecimal(idr, usd));
+
+        // Too large for the fixed-scale form; falls back to exact division
+        int tiny = t.indexOf("TINY");
+        BigDecimal huge = new BigDecimal("17342.11").divide(new BigDecimal("0.0000001"), 12, RoundingMode.HALF_UP);
+        assertEquals(0, huge.compareTo(t.rateDecimal(tiny, idr)));
+    }
+}
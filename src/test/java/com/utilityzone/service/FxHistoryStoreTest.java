@@ -0,0 +1,123 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxHistoryStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static FxRateSnapshot day(String date, String usd, String inr) {
+        return new FxRateSnapshot("EUR", LocalDate.parse(date),
+                Map.of("USD", new BigDecimal(usd), "INR", new BigDecimal(inr)), Instant.now());
+    }
+
+    private FxHistoryStore store(FxRateProvider provider, int backfillDays) {
+        return new FxHistoryStore(provider, dir.toString(), backfillDays);
+    }
+
+    @Test
+    void rateOnFallsBackToLastPublishedDay() {
+        FxHistoryStore store = store(new FxRateServiceTest.StubProvider(), 0);
+        store.record(day("2024-03-01", "1.08", "90.0")); // Friday
+
+        FxHistoryStore.Point friday = store.rateOn("USD", "INR", LocalDate.parse("2024-03-01"));
+        assertEquals(90.0 / 1.08, friday.rate(), 1e-12);
+
+        FxHistoryStore.Point sunday = store.rateOn("USD", "INR", LocalDate.parse("2024-03-03"));
+        assertEquals(LocalDate.parse("2024-03-01"), sunday.date());
+        assertNull(store.rateOn("USD", "INR", LocalDate.parse("2024-02-20")));
+        assertFalse(store.hasCurrency("GBP"));
+    }
+
+    @Test
+    void seriesIsContiguousWithGapsAsNaN() {
+        FxHistoryStore store = store(new FxRateServiceTest.StubProvider(), 0);
+        store.record(day("2024-03-01", "1.10", "90.0"));
+        store.record(day("2024-03-04", "1.00", "88.0"));
+
+        FxHistoryStore.Series series = store.series("EUR", "USD", LocalDate.parse("2024-02-29"), LocalDate.parse("2024-03-04"));
+        double[] rates = series.rates();
+        assertEquals(5, rates.length);
+        assertTrue(Double.isNaN(rates[0]));
+        assertEquals(1.10, rates[1], 1e-12);
+        assertTrue(Double.isNaN(rates[2]) && Double.isNaN(rates[3]));
+        assertEquals(1.00, rates[4], 1e-12);
+    }
+
+    @Test
+    void dataSurvivesReopen() {
+        FxHistoryStore first = store(new FxRateServiceTest.StubProvider(), 0);
+        first.record(day("2024-03-01", "1.08", "90.0"));
+        first.close();
+
+        FxHistoryStore reopened = store(new FxRateServiceTest.StubProvider(), 0);
+        assertEquals(90.0 / 1.08, reopened.rateOn("USD", "INR", LocalDate.parse("2024-03-01")).rate(), 1e-12);
+    }
+
+    @Test
+    void recordingADayNeverCallsTheProvider() {
+        FxRateProvider provider = new FxRateServiceTest.StubProvider() {
+            @Override
+            public List<FxRateSnapshot> fetchRange(LocalDate start, LocalDate end) {
+                throw new AssertionError("record must not backfill");
+            }
+        };
+        FxHistoryStore store = store(provider, 30);
+        store.record(day("2024-03-01", "1.08", "90.0"));
+        assertNotNull(store.rateOn("USD", "INR", LocalDate.parse("2024-03-01")));
+    }
+
+    @Test
+    void backfillsFromProviderOnce() {
+        List<LocalDate[]> requested = new ArrayList<>();
+        FxRateProvider provider = new FxRateServiceTest.StubProvider() {
+            @Override
+            public List<FxRateSnapshot> fetchRange(LocalDate start, LocalDate end) {
+                requested.add(new LocalDate[] {start, end});
+                return List.of(day("2024-02-28", "1.05", "87.0"), day("2024-02-29", "1.06", "88.0"));
+            }
+        };
+        FxHistoryStore store = store(provider, 30);
+        store.record(day("2024-03-01", "1.08", "90.0"));
+        store.backfillOnce(day("2024-03-01", "1.08", "90.0"));
+        store.record(day("2024-03-04", "1.09", "91.0"));
+        store.backfillOnce(day("2024-03-04", "1.09", "91.0"));
+
+        assertEquals(1, requested.size());
+        assertEquals(LocalDate.parse("2024-01-31"), requested.get(0)[0]);
+        assertEquals(LocalDate.parse("2024-02-29"), requested.get(0)[1]);
+        assertEquals(1.06, store.rateOn("EUR", "USD", LocalDate.parse("2024-02-29")).rate(), 1e-12);
+    }
+
+    @Test
+    void failedBackfillIsRetriedByTheNextCall() {
+        List<LocalDate> requested = new ArrayList<>();
+        FxRateProvider provider = new FxRateServiceTest.StubProvider() {
+            @Override
+            public List<FxRateSnapshot> fetchRange(LocalDate start, LocalDate end) {
+                requested.add(start);
+                if (requested.size() == 1) throw new IllegalStateException("provider down");
+                return List.of(day("2024-02-29", "1.06", "88.0"));
+            }
+        };
+        FxHistoryStore store = store(provider, 30);
+        store.backfillOnce(day("2024-03-01", "1.08", "90.0"));
+        store.backfillOnce(day("2024-03-01", "1.08", "90.0"));
+        store.backfillOnce(day("2024-03-01", "1.08", "90.0"));
+
+        assertEquals(2, requested.size());
+        assertNotNull(store.rateOn("EUR", "USD", LocalDate.parse("2024-02-29")));
+    }
+}
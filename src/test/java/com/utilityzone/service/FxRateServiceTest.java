@@ -0,0 +1,161 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxRateServiceTest {
+
+    // Local stand-in for the HTTP provider; flip 'failing' to simulate an outage
+    static class StubProvider implements FxRateProvider {
+        BigDecimal usd = new BigDecimal("1.10");
+        boolean failing;
+        int calls;
+
+        @Override
+        public FxRateSnapshot fetchLatest() {
+            calls++;
+            if (failing) throw new IllegalStateException("provider down");
+            return new FxRateSnapshot("EUR", LocalDate.of(2024, 3, 1), Map.of("USD", usd, "INR", new BigDecimal("90.5")), Instant.now());
+        }
+
+        @Override
+        public Map<String, String> fetchCurrencies() {
+            if (failing) throw new IllegalStateException("provider down");
+            return Map.of("EUR", "Euro", "USD", "United States Dollar", "INR", "Indian Rupee");
+        }
+    }
+
+    private static Clock clockAt(String parisTime) {
+        ZonedDateTime t = ZonedDateTime.parse(parisTime + "+01:00[Europe/Paris]");
+        return Clock.fixed(t.toInstant(), ZoneId.of("UTC"));
+    }
+
+    @Test
+    void refreshPublishesSnapshotWithBaseCurrency() {
+        StubProvider provider = new StubProvider();
+        FxRateService service = new FxRateService(provider, Clock.systemUTC());
+
+        assertTrue(service.refreshNow());
+        FxRateSnapshot snapshot = service.current();
+        assertEquals("EUR", snapshot.getBase());
+        assertEquals(new BigDecimal("1.10"), snapshot.rate("USD"));
+        assertEquals(BigDecimal.ONE, snapshot.rate("EUR"));
+        assertEquals("Indian Rupee", service.currencies().get("INR"));
+    }
+
+    @Test
+    void failedRefreshKeepsLastGoodSnapshot() {
+        StubProvider provider = new StubProvider();
+        FxRateService service = new FxRateService(provider, Clock.systemUTC());
+        service.refreshNow();
+        FxRateSnapshot good = service.current();
+
+        provider.failing = true;
+        assertFalse(service.refreshNow());
+        assertSame(good, service.current());
+        assertNotNull(service.currencies());
+    }
+
+    @Test
+    void coldLoadFailureDoesNotHitProviderOnEveryRequest() {
+        StubProvider provider = new StubProvider();
+        provider.failing = true;
+        FxRateService service = new FxRateService(provider, Clock.systemUTC());
+
+        assertNull(service.current());
+        assertNull(service.current());
+        assertEquals(1, provider.calls);
+    }
+
+    @Test
+    void concurrentReadersWaitForTheColdLoad() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StubProvider provider = blockingProvider(fetching, release);
+        FxRateService service = new FxRateService(provider, Clock.systemUTC());
+
+        CompletableFuture<FxRateSnapshot> first = CompletableFuture.supplyAsync(service::current);
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        // Joins the in-flight fetch instead of failing or fetching again
+        CompletableFuture<FxRateSnapshot> second = CompletableFuture.supplyAsync(service::current);
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        release.countDown();
+
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertSame(first.get(), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, provider.calls);
+    }
+
+    @Test
+    void slowColdLoadDoesNotStallOtherReadersForLong() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StubProvider provider = blockingProvider(fetching, release);
+        FxRateService service = new FxRateService(provider, Clock.systemUTC());
+        ReflectionTestUtils.setField(service, "coldLoadWaitMillis", 50L);
+
+        CompletableFuture<FxRateSnapshot> first = CompletableFuture.supplyAsync(service::current);
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        // Gives up after the bounded wait
+        assertNull(service.current());
+        release.countDown();
+
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertSame(first.get(), service.current());
+        assertEquals(1, provider.calls);
+    }
+
+    private static StubProvider blockingProvider(CountDownLatch fetching, CountDownLatch release) {
+        return new StubProvider() {
+            @Override
+            public FxRateSnapshot fetchLatest() {
+                fetching.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.fetchLatest();
+            }
+        };
+    }
+
+    @Test
+    void nextRefreshIsAlignedTo1630Paris() {
+        StubProvider provider = new StubProvider();
+        ZonedDateTime morning = new FxRateService(provider, clockAt("2024-03-01T09:00:00")).next1630CET();
+        assertEquals(LocalDate.of(2024, 3, 1), morning.toLocalDate());
+        assertEquals(16, morning.getHour());
+        assertEquals(30, morning.getMinute());
+
+        ZonedDateTime atPublication = new FxRateService(provider, clockAt("2024-03-01T16:30:00")).next1630CET();
+        assertEquals(LocalDate.of(2024, 3, 2), atPublication.toLocalDate());
+    }
+
+    @Test
+    void retryDelayBacksOffWithJitterAndCap() {
+        FxRateService service = new FxRateService(new StubProvider(), Clock.systemUTC());
+        for (int i = 0; i < 50; i++) {
+            long first = service.retryDelayMillis(1);
+            assertTrue(first >= 15_000 && first <= 30_000, "first retry " + first);
+            long third = service.retryDelayMillis(3);
+            assertTrue(third >= 60_000 && third <= 120_000, "third retry " + third);
+            long capped = service.retryDelayMillis(40);
+            assertTrue(capped >= 15 * 60_000 && capped <= 30 * 60_000, "capped retry " + capped);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.utilityzone.service;
+
+import com.utilityzone.config.CacheReloaders;
+import com.utilityzone.model.Article;
+import com.utilityzone.model.ArticleCategory;
+import com.utilityzone.model.Blog;
+import com.utilityzone.model.PublicationStatus;
+import com.utilityzone.payload.response.ArticleSummary;
+import com.utilityzone.payload.response.CursorPage;
+import com.utilityzone.repository.ArticleRepository;
+import com.utilityzone.repository.BlogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/** Walks the keyset listings page by page over rows whose sort timestamps tie. */
+@DataJpaTest
+@ContextConfiguration(classes = KeysetPaginationTest.Config.class)
+class KeysetPaginationTest {
+
+    @EnableAutoConfiguration
+    @EntityScan("com.utilityzone.model")
+    @EnableJpaRepositories("com.utilityzone.repository")
+    static class Config {}
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private Blog blog(String title, LocalDateTime publishDate, LocalDateTime createdAt) {
+        Blog b = new Blog();
+        b.setTitle(title);
+        b.setContent("body");
+        b.setAuthor("admin");
+        b.setStatus(PublicationStatus.PUBLISHED);
+        b.setPublishDate(publishDate);
+        b.setCreatedAt(createdAt);
+        return blogRepository.save(b);
+    }
+
+    private Article article(String title, LocalDateTime createdAt) {
+        Article a = new Article();
+        a.setTitle(title);
+        a.setDescription("");
+        a.setContent("body");
+        a.setCategory(ArticleCategory.JAVA);
+        a.setStatus(PublicationStatus.PUBLISHED);
+        ReflectionTestUtils.setField(a, "createdAt", createdAt); // no setter; @PrePersist keeps a preset value
+        return articleRepository.save(a);
+    }
+
+    private static <T> List<Long> walk(Function<String, CursorPage<T>> page, Function<T, Long> id) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<T> p = page.apply(cursor);
+            p.getContent().forEach(row -> seen.add(id.apply(row)));
+            cursor = p.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    @Test
+    void blogPagesNeitherSkipNorRepeatTiedOrUndatedRows() {
+        List<Long> expected = new ArrayList<>();
+        // Newest first: a dated blog, then five sharing one publish date (highest id first), then two
+        // published without a date that fall back to their older createdAt
+        expected.add(blog("latest", NOON.plusDays(1), NOON).getId());
+        List<Long> tied = new ArrayList<>();
+        for (int i = 0; i < 5; i++) tied.add(blog("tied " + i, NOON, NOON.minusDays(10)).getId());
+        expected.addAll(tied.reversed());
+        Long undatedNewer = blog("undated newer", null, NOON.minusDays(1)).getId();
+        Long undatedOlder = blog("undated older", null, NOON.minusDays(2)).getId();
+        expected.add(undatedNewer);
+        expected.add(undatedOlder);
+
+        BlogService service = new BlogService(blogRepository, mock(ContentSearchService.class),
+                mock(ContentRenderService.class), mock(ResponseCache.class), mock(CacheReloaders.class));
+
+        for (int size : new int[] {1, 2, 3, 4}) {
+            List<Long> seen = walk(after -> service.getPublishedBlogsPage(after, size), Blog::getId);
+            assertEquals(expected, seen, "page size " + size);
+        }
+    }
+
+    @Test
+    void articlePagesNeitherSkipNorRepeatTiedRows() {
+        List<Long> expected = new ArrayList<>();
+        expected.add(article("first", NOON.minusDays(1)).getId());
+        for (int i = 0; i < 5; i++) expected.add(article("tied " + i, NOON).getId());
+        expected.add(article("last", NOON.plusDays(1)).getId());
+
+        ArticleService service = new ArticleService();
+        ReflectionTestUtils.setField(service, "articleRepository", articleRepository);
+
+        for (int size : new int[] {1, 2, 3}) {
+            List<Long> seen = walk(after -> service.getPublishedArticlesPage(after, size), ArticleSummary::getId);
+            assertEquals(expected, seen, "page size " + size);
+            assertEquals(seen.size(), new HashSet<>(seen).size());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.utilityzone.service;
+
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewsletterDispatcherTest {
+
+    private SmtpStub smtp;
+    private NewsletterDispatcher dispatcher;
+
+    @AfterEach
+    void stop() throws IOException {
+        if (dispatcher != null) dispatcher.shutdown();
+        if (smtp != null) smtp.close();
+    }
+
+    @Test
+    void sendsManyMessagesPerConnection() throws Exception {
+        smtp = new SmtpStub(0);
+        JavaMailSenderImpl sender = sender(smtp.port());
+        dispatcher = new NewsletterDispatcher(sender, 2, 10, 0, 0);
+
+        NewsletterDispatcher.Result result = dispatcher.dispatch(recipients(25), to -> message(sender, to));
+
+        assertEquals(25, result.sent());
+        assertTrue(result.failed().isEmpty());
+        assertEquals(25, smtp.messages.get());
+        assertEquals(25, smtp.recipients.size());
+        // Two connections, each replaced after 10 messages
+        assertTrue(smtp.connections.get() >= 3 && smtp.connections.get() <= 4, "connections: " + smtp.connections.get());
+    }
+
+    @Test
+    void reconnectsWhenTheServerDropsTheConnection() throws Exception {
+        smtp = new SmtpStub(4);
+        JavaMailSenderImpl sender = sender(smtp.port());
+        dispatcher = new NewsletterDispatcher(sender, 1, 100, 0, 0);
+
+        NewsletterDispatcher.Result result = dispatcher.dispatch(recipients(10), to -> message(sender, to));
+
+        assertEquals(10, result.sent());
+        assertEquals(10, smtp.messages.get());
+        assertEquals(3, smtp.connections.get());
+    }
+
+    @Test
+    void pacesToMaxPerSecond() throws Exception {
+        smtp = new SmtpStub(0);
+        JavaMailSenderImpl sender = sender(smtp.port());
+        dispatcher = new NewsletterDispatcher(sender, 3, 100, 20, 0);
+
+        long start = System.nanoTime();
+        NewsletterDispatcher.Result result = dispatcher.dispatch(recipients(10), to -> message(sender, to));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(10, result.sent());
+        // 10 sends at 20/s: nine 50 ms gaps after the first
+        assertTrue(elapsedMillis >= 440, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void pacesEachConnection() throws Exception {
+        smtp = new SmtpStub(0);
+        JavaMailSenderImpl sender = sender(smtp.port());
+        // No overall limit; two connections at 10/s each
+        dispatcher = new NewsletterDispatcher(sender, 2, 100, 0, 10);
+
+        long start = System.nanoTime();
+        NewsletterDispatcher.Result result = dispatcher.dispatch(recipients(20), to -> message(sender, to));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(20, result.sent());
+        // Ten sends per connection: nine 100 ms gaps after each connection's first. Sharing one
+        // pace would take 1.9 s, so the upper bound leaves plenty of room for a slow machine.
+        assertTrue(elapsedMillis >= 850, "elapsed " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 1800, "connections are paced independently, elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void interruptingTheCallerStopsTheWorkers() throws Exception {
+        smtp = new SmtpStub(0);
+        JavaMailSenderImpl sender = sender(smtp.port());
+        dispatcher = new NewsletterDispatcher(sender, 2, 100, 10, 0);
+        AtomicReference<Throwable> outcome = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                dispatcher.dispatch(recipients(100), to -> message(sender, to));
+            } catch (Throwable t) {
+                outcome.set(t);
+            }
+        });
+
+        caller.start();
+        while (smtp.messages.get() < 2) Thread.sleep(10);
+        caller.interrupt();
+        caller.join(5000);
+
+        assertFalse(caller.isAlive());
+        assertInstanceOf(InterruptedException.class, outcome.get());
+        Thread.sleep(500); // a send already on the wire may still complete
+        int afterCancel = smtp.messages.get();
+        // At 10/s the remaining sends would keep arriving every 100 ms
+        Thread.sleep(500);
+        assertEquals(afterCancel, smtp.messages.get(), "workers kept sending after the caller gave up");
+        assertTrue(afterCancel < 100, "sent " + afterCancel);
+    }
+
+    @Test
+    void givesUpWhenTheServerKeepsRefusingConnections() throws Exception {
+        smtp = new SmtpStub(-1);
+        JavaMailSenderImpl sender = sender(smtp.port());
+        dispatcher = new NewsletterDispatcher(sender, 2, 100, 0, 0);
+
+        NewsletterDispatcher.Result result = dispatcher.dispatch(recipients(20), to -> message(sender, to));
+
+        assertEquals(0, result.sent());
+        assertEquals(Set.copyOf(recipients(20)), Set.copyOf(result.failed()));
+        // One attempt per recipient until each worker gives up, not two for every recipient
+        assertEquals(2 * NewsletterDispatcher.MAX_CONNECT_FAILURES, smtp.connections.get());
+    }
+
+    @Test
+    void pacerSpacesSlotsEvenly() throws InterruptedException {
+        NewsletterDispatcher.Pacer pacer = new NewsletterDispatcher.Pacer(100);
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) pacer.acquire();
+        assertTrue(System.nanoTime() - start >= 49_000_000L);
+    }
+
+    private static List<String> recipients(int n) {
+        return IntStream.range(0, n).mapToObj(i -> "reader" + i + "@example.com").toList();
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.timeout", "5000");
+        return sender;
+    }
+
+    private static MimeMessage message(JavaMailSenderImpl sender, String to) throws Exception {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+        helper.setFrom("news@example.com");
+        helper.setTo(to);
+        helper.setSubject("Issue 1");
+        helper.setText("<p>Hello</p>", true);
+        return message;
+    }
+
+    /**
+     * Just enough SMTP to accept mail; optionally hangs up after every {@code dropAfter} messages, or
+     * right after accepting the connection when {@code dropAfter} is negative.
+     */
+    private static final class SmtpStub implements AutoCloseable {
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger messages = new AtomicInteger();
+        final Set<String> recipients = ConcurrentHashMap.newKeySet();
+        private final ServerSocket server;
+        private final int dropAfter;
+
+        SmtpStub(int dropAfter) throws IOException {
+            this.dropAfter = dropAfter;
+            this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    Thread t = new Thread(() -> session(socket), "smtp-stub-session");
+                    t.setDaemon(true);
+                    t.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void session(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+                if (dropAfter < 0) return;
+                OutputStream out = socket.getOutputStream();
+                reply(out, "220 stub ESMTP");
+                int received = 0;
+                for (String line; (line = in.readLine()) != null; ) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO" -> reply(out, "250-stub\r\n250 8BITMIME");
+                        case "RCPT" -> {
+                            recipients.add(line.substring(line.indexOf('<') + 1, line.indexOf('>')));
+                            reply(out, "250 OK");
+                        }
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) { /* discard body */ }
+                            messages.incrementAndGet();
+                            reply(out, "250 OK queued");
+                            if (dropAfter > 0 && ++received == dropAfter) return;
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK"); // HELO, MAIL, RSET, NOOP
+                    }
+                }
+            } catch (IOException ignored) {
+                // client went away
+            }
+        }
+
+        private static void reply(OutputStream out, String text) throws IOException {
+            out.write((text + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
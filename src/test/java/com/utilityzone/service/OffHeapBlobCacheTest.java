@@ -0,0 +1,58 @@
+package com.utilityzone.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapBlobCacheTest {
+
+    private final OffHeapBlobCache cache =
+            new OffHeapBlobCache(300, 150, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+    @TempDir
+    Path dir;
+
+    private Path file(String name, int size) throws IOException {
+        return Files.write(dir.resolve(name), new byte[size]);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverByteBudget() throws IOException {
+        cache.getFile("a", file("a", 100));
+        cache.getFile("b", file("b", 100));
+        assertNotNull(cache.get("a")); // a is now more recent than b
+        cache.getFile("c", file("c", 150));
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(250, cache.usedBytes());
+        assertEquals(2, cache.entries());
+    }
+
+    @Test
+    void oversizedFilesAreNotCached() throws IOException {
+        assertNull(cache.getFile("big", file("big", 200)));
+        assertNull(cache.get("big"));
+        assertEquals(0, cache.usedBytes());
+    }
+
+    @Test
+    void writesFromIndependentViews() throws IOException {
+        byte[] data = "mockup-bytes".getBytes();
+        cache.getFile("k", Files.write(dir.resolve("k"), data));
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            OffHeapBlobCache.writeTo(cache.get("k"), out);
+            assertArrayEquals(data, out.toByteArray());
+        }
+    }
+}
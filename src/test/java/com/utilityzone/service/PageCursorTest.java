@@ -0,0 +1,31 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsPosition() {
+        LocalDateTime at = LocalDateTime.of(2024, 3, 1, 12, 30, 5, 123_456_000);
+        String cursor = PageCursor.encode("articles", at, 42L);
+        assertFalse(cursor.contains("|"), "cursor should be opaque");
+        assertEquals(new PageCursor.Position(at, 42L), PageCursor.decode("articles", cursor));
+    }
+
+    @Test
+    void rejectsForeignOrMalformedCursors() {
+        String blogCursor = PageCursor.encode("blogs", LocalDateTime.of(2024, 1, 1, 0, 0), 7L);
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("articles", blogCursor));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("articles", "not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("articles", "YXJ0aWNsZXN8eHx5"));
+    }
+
+    @Test
+    void refusesToIssueACursorWithoutASortKey() {
+        assertThrows(NullPointerException.class, () -> PageCursor.encode("blogs", null, 7L));
+    }
+}
@@ -0,0 +1,65 @@
+package com.utilityzone.service;
+
+import com.utilityzone.payload.request.QRCodeBatchRequest;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+class QRCodeBatchServiceTest {
+
+    private final QRCodeBatchService service = new QRCodeBatchService(new QRCodeService(), Runnable::run);
+
+    private QRCodeBatchRequest batchOf(int count) {
+        List<QRCodeBatchRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            QRCodeBatchRequest.Item item = new QRCodeBatchRequest.Item();
+            item.setContent("https://example.com/guest/" + i);
+            item.setLabel("Guest " + i);
+            items.add(item);
+        }
+        QRCodeBatchRequest request = new QRCodeBatchRequest();
+        request.setItems(items);
+        request.setWidth(120);
+        request.setHeight(120);
+        return request;
+    }
+
+    @Test
+    void zip_contains_one_png_per_item_in_request_order() throws Exception {
+        byte[] zip = service.generateZip(batchOf(5));
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                names.add(entry.getName());
+                byte[] png = in.readAllBytes();
+                Assertions.assertEquals((byte) 0x89, png[0], "Entry should be a PNG");
+            }
+        }
+        Assertions.assertEquals(List.of(
+                "0001-Guest_0.png", "0002-Guest_1.png", "0003-Guest_2.png", "0004-Guest_3.png", "0005-Guest_4.png"), names);
+    }
+
+    @Test
+    void label_sheet_spills_onto_additional_pages() throws Exception {
+        byte[] pdf = service.generateLabelSheet(batchOf(40));
+
+        try (PDDocument doc = PDDocument.load(pdf)) {
+            Assertions.assertTrue(doc.getNumberOfPages() > 1, "40 labels at 3 columns should need more than one A4 page");
+        }
+    }
+
+    @Test
+    void invalid_colour_is_rejected() {
+        QRCodeBatchRequest request = batchOf(1);
+        request.setForegroundColor("not-a-colour");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.generateZip(request));
+    }
+}
@@ -0,0 +1,64 @@
+package com.utilityzone.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+
+class QRCodeImageEncoderTest {
+
+    private static final String CONTENT = "https://utilityzone.in/events/guest/12345";
+
+    private void assertSamePixels(int width, int height, Map<EncodeHintType, Object> hints) throws Exception {
+        BufferedImage expected = MatrixToImageWriter.toBufferedImage(
+                new QRCodeWriter().encode(CONTENT, BarcodeFormat.QR_CODE, width, height, hints));
+
+        BitMatrix modules = QRCodeImageEncoder.encodeModules(CONTENT, hints);
+        byte[] png = QRCodeImageEncoder.toPng(modules, width, height, 0x000000, 0xFFFFFF);
+        BufferedImage actual = ImageIO.read(new ByteArrayInputStream(png));
+
+        Assertions.assertEquals(expected.getWidth(), actual.getWidth());
+        Assertions.assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                Assertions.assertEquals(expected.getRGB(x, y) & 0xFFFFFF, actual.getRGB(x, y) & 0xFFFFFF,
+                        "Pixel mismatch at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void png_matches_zxing_rendering_for_default_size() throws Exception {
+        assertSamePixels(300, 300, null);
+    }
+
+    @Test
+    void png_matches_zxing_rendering_for_odd_and_non_square_sizes() throws Exception {
+        assertSamePixels(301, 157, Map.of(EncodeHintType.MARGIN, 1, EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H));
+    }
+
+    @Test
+    void print_size_png_stays_small() throws Exception {
+        BitMatrix modules = QRCodeImageEncoder.encodeModules(CONTENT, null);
+        byte[] png = QRCodeImageEncoder.toPng(modules, 2400, 2400, 0x000000, 0xFFFFFF);
+        Assertions.assertTrue(png.length < 64 * 1024, "2400px 1-bit PNG should compress to a few KB, was " + png.length);
+    }
+
+    @Test
+    void svg_uses_module_view_box_and_colours() throws Exception {
+        BitMatrix modules = QRCodeImageEncoder.encodeModules(CONTENT, null);
+        String svg = QRCodeImageEncoder.toSvg(modules, 500, 500, 0x112233, 0xFFFFFF);
+        Assertions.assertTrue(svg.contains("viewBox=\"0 0 " + modules.getWidth() + " " + modules.getHeight() + "\""));
+        Assertions.assertTrue(svg.contains("fill=\"#112233\""));
+        Assertions.assertTrue(svg.contains("width=\"500\""));
+    }
+}
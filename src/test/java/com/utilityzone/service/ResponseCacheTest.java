@@ -0,0 +1,46 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private final ResponseCache cache = new ResponseCache(true, 1 << 20);
+
+    @Test
+    void storesBodyAndGzipUntilGroupIsInvalidated() throws IOException {
+        byte[] json = ("[" + "{\"title\":\"hello\"},".repeat(200) + "{}]").getBytes(StandardCharsets.UTF_8);
+        long generation = cache.generation(ResponseCache.BLOGS);
+        ResponseCache.Entry entry = cache.put(ResponseCache.BLOGS, "/api/blogs?limit=3", generation, "application/json", json);
+        assertSame(entry, cache.get("/api/blogs?limit=3"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.gzip()))) {
+            assertArrayEquals(json, in.readAllBytes());
+        }
+        cache.put(ResponseCache.ARTICLES, "/api/articles?", cache.generation(ResponseCache.ARTICLES), "application/json", json);
+
+        cache.invalidate(ResponseCache.BLOGS);
+        assertNull(cache.get("/api/blogs?limit=3"));
+        assertNotNull(cache.get("/api/articles?"), "other listings stay cached");
+
+        // A response computed before the invalidation is served once but not kept
+        cache.put(ResponseCache.BLOGS, "/api/blogs?limit=3", generation, "application/json", json);
+        assertNull(cache.get("/api/blogs?limit=3"));
+    }
+
+    @Test
+    void parsesAcceptEncodingAndIfNoneMatch() {
+        assertTrue(ResponseCache.acceptsEncoding("br, gzip;q=0.8", "gzip"));
+        assertFalse(ResponseCache.acceptsEncoding("gzip;q=0, identity", "gzip"));
+        assertFalse(ResponseCache.acceptsEncoding(null, "gzip"));
+        assertTrue(ResponseCache.etagMatches("\"a\", W/\"b\"", "\"b\""));
+        assertFalse(ResponseCache.etagMatches("\"a\"", "\"b\""));
+        assertNull(cache.groupFor("/api/blogs/5"));
+        assertEquals(ResponseCache.EBOOKS, cache.groupFor("/api/ebooks"));
+    }
+}
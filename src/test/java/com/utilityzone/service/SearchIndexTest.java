@@ -0,0 +1,79 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private static SearchIndex.Document article(long id, String title, String content, String... tags) {
+        return SearchIndex.Document.of("article", id, id * 10, title, null, content, List.of(tags), "GENERAL", 0L);
+    }
+
+    private static List<Long> ids(SearchIndex index, String query) {
+        return index.search(SearchTextAnalyzer.terms(query), null, 10).stream()
+                .map(h -> h.document().getId()).toList();
+    }
+
+    @Test
+    void matchesStemsAndRanksTitleAboveBody() {
+        SearchIndex index = new SearchIndex();
+        index.upsert(article(1, "Travel tips", "<p>Remember when <b>converting</b> money abroad to compare rates.</p>"));
+        index.upsert(article(2, "Currency conversion explained", "How exchange rates work."));
+        index.upsert(article(3, "Packing list", "Socks, chargers and adapters."));
+
+        assertEquals(List.of(2L, 1L), ids(index, "converted currencies"));
+        assertEquals(List.of(3L), ids(index, "charger"));
+        assertTrue(ids(index, "the and of").isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovesDocumentsIncrementally() {
+        SearchIndex index = new SearchIndex();
+        index.upsert(article(1, "Timezones", "Daylight saving rules"));
+        index.upsert(article(2, "Budgeting", "Saving money each month"));
+        assertEquals(2, ids(index, "saving").size());
+
+        index.upsert(article(1, "Timezones", "Offsets from UTC"));
+        assertEquals(List.of(2L), ids(index, "saving"));
+        assertEquals(List.of(1L), ids(index, "offset"));
+
+        index.remove("article", 2);
+        assertTrue(ids(index, "saving").isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void roundTripsThroughFile(@TempDir Path dir) throws Exception {
+        SearchIndex index = new SearchIndex();
+        index.upsert(article(7, "QR codes", "Generate QR codes in bulk", "qr", "tools"));
+        index.upsert(SearchIndex.Document.of("blog", 7, 1L, "Release notes", null, "New QR styles", null, null, 0L));
+        Path file = dir.resolve("index.bin");
+        index.save(file);
+
+        SearchIndex loaded = SearchIndex.load(file);
+        assertEquals(2, loaded.size());
+        assertEquals(index.versions("article"), loaded.versions("article"));
+        List<SearchIndex.Hit> hits = loaded.search(SearchTextAnalyzer.terms("qr"), "article", 10);
+        assertEquals(1, hits.size());
+        assertEquals(List.of("qr", "tools"), hits.get(0).document().getTags());
+        assertEquals(index.search(SearchTextAnalyzer.terms("qr"), null, 10).get(0).score(),
+                loaded.search(SearchTextAnalyzer.terms("qr"), null, 10).get(0).score(), 1e-9);
+    }
+
+    @Test
+    void highlightsMatchesInEscapedSnippet() {
+        String text = "Intro text that goes on for a while. " + "Filler words here. ".repeat(20)
+                + "Converting <units> is easy once you know what it converts to.";
+        String snippet = SearchTextAnalyzer.highlight(text, Set.of(SearchTextAnalyzer.stem("convert")), 80);
+        assertTrue(snippet.startsWith("… "), snippet);
+        assertTrue(snippet.contains("<mark>Converting</mark> &lt;units&gt;"), snippet);
+        assertTrue(snippet.contains("<mark>converts</mark>"), snippet);
+        assertTrue(SearchTextAnalyzer.highlight("", Set.of("x"), 80).isEmpty());
+    }
+}
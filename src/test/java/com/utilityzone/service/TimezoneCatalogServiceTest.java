@@ -0,0 +1,68 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimezoneCatalogServiceTest {
+
+    static class MutableClock extends Clock {
+        Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void buildsSortedLabelsInTheExistingFormat() {
+        TimezoneCatalogService service = new TimezoneCatalogService(new MutableClock(Instant.parse("2024-01-15T12:00:00Z")));
+        TimezoneCatalogService.Catalog catalog = service.current();
+
+        assertTrue(catalog.getLabels().size() > 400);
+        assertTrue(catalog.getLabels().contains("Asia/Kolkata - IST (UTC+05:30)"));
+        assertEquals(TimezoneCatalogService.MAJOR_TIMEZONES.size(), catalog.getMajorLabels().size());
+        for (int i = 1; i < catalog.getLabels().size(); i++) {
+            assertTrue(catalog.getLabels().get(i - 1).compareTo(catalog.getLabels().get(i)) <= 0);
+        }
+        assertSame(catalog, service.current());
+    }
+
+    @Test
+    void rebuildsOnlyZonesPastTheirTransition() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-03-30T12:00:00Z"));
+        TimezoneCatalogService service = new TimezoneCatalogService(clock);
+        TimezoneCatalogService.Catalog before = service.current();
+        TimezoneCatalogService.Entry londonBefore = before.get("Europe/London");
+        TimezoneCatalogService.Entry kolkataBefore = before.get("Asia/Kolkata");
+        assertEquals(Instant.parse("2024-03-31T01:00:00Z"), londonBefore.validUntil());
+
+        // After the EU switch to summer time
+        clock.now = Instant.parse("2024-03-31T02:00:00Z");
+        TimezoneCatalogService.Catalog after = service.current();
+        assertNotSame(before, after);
+        assertNotEquals(before.getETag(), after.getETag());
+        assertEquals(ZoneOffset.ofHours(1), after.get("Europe/London").offset());
+        assertSame(kolkataBefore, after.get("Asia/Kolkata"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimezoneConversionServiceTest {
+
+    private final TimezoneConversionService service = new TimezoneConversionService(new TimezoneCatalogService());
+
+    @Test
+    void convertsEveryInstantIntoEveryZone() {
+        ZoneId london = service.resolve("Europe/London");
+        Instant[] instants = {
+            service.parseLocal("2024-03-01 09:00:00", london),
+            service.parseLocal("2024-07-01 09:00:00", london)
+        };
+        TimezoneConversionService.Grid grid = service.convert(instants, List.of(service.resolve("Asia/Kolkata"), service.resolve("America/New_York")));
+
+        assertEquals("2024-03-01 14:30:00 IST", grid.times()[0][0]);
+        assertEquals("2024-03-01 04:00:00 EST", grid.times()[0][1]);
+        assertEquals("2024-07-01 04:00:00 EDT", grid.times()[1][1]);
+        assertEquals(330, grid.offsets()[1][0]);
+        assertEquals(-240, grid.offsets()[1][1]);
+    }
+
+    @Test
+    void resolvesIdsOutsideTheCatalogue() {
+        assertEquals(ZoneId.of("UTC+05:30"), service.resolve("UTC+05:30"));
+        assertThrows(Exception.class, () -> service.resolve("Mars/Olympus"));
+    }
+
+    @Test
+    void rejectsOversizedGrids() {
+        Instant[] instants = new Instant[TimezoneConversionService.MAX_CELLS + 1];
+        assertThrows(IllegalArgumentException.class, () -> service.convert(instants, List.of(ZoneId.of("UTC"))));
+    }
+}
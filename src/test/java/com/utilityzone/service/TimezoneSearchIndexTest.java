@@ -0,0 +1,42 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimezoneSearchIndexTest {
+
+    private final TimezoneSearchIndex index = new TimezoneSearchIndex(new TimezoneCatalogService());
+
+    private String top(String query) {
+        List<TimezoneSearchIndex.Hit> hits = index.search(query, 5);
+        assertFalse(hits.isEmpty(), "no hits for " + query);
+        return hits.get(0).entry().zoneId();
+    }
+
+    @Test
+    void findsCitiesByPrefix() {
+        assertEquals("Asia/Kolkata", top("kolk"));
+        assertEquals("America/New_York", top("new yor"));
+        assertEquals("America/Los_Angeles", top("losang"));
+    }
+
+    @Test
+    void toleratesTypos() {
+        assertEquals("Asia/Kolkata", top("kolkta"));
+        assertEquals("Europe/Amsterdam", top("amsterdm"));
+    }
+
+    @Test
+    void matchesOffsetsAndRespectsLimit() {
+        List<TimezoneSearchIndex.Hit> hits = index.search("+5:30", 3);
+        assertEquals(3, hits.size());
+        for (TimezoneSearchIndex.Hit hit : hits) {
+            assertEquals(330 * 60, hit.entry().offset().getTotalSeconds());
+        }
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("zzzzqqq", 10).isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.utilityzone.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadPipelineTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void hashesWhileStagingAndCommitsIntoBlobStore() throws IOException {
+        BlobStore store = new BlobStore(dir.toString());
+        UploadPipeline pipeline = new UploadPipeline(store);
+        byte[] data = new byte[200_000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (i * 31);
+
+        try (UploadPipeline.Staged staged = pipeline.stage(new MockMultipartFile("file", data))) {
+            assertEquals(BlobStore.sha256(data), staged.sha256());
+            assertEquals(data.length, staged.size());
+            Path blob = pipeline.commitToBlobStore(staged);
+            assertEquals(store.path(staged.sha256()), blob);
+            assertArrayEquals(data, Files.readAllBytes(blob));
+        }
+        try (var staging = Files.list(store.stagingDir())) {
+            assertEquals(0, staging.count());
+        }
+    }
+
+    @Test
+    void stopsAtTheLimitAndLeavesNothingBehind() throws IOException {
+        UploadPipeline pipeline = new UploadPipeline(new BlobStore(dir.toString()));
+        Path staging = dir.resolve("logos");
+
+        assertThrows(MaxUploadSizeExceededException.class,
+                () -> pipeline.stage(new MockMultipartFile("file", new byte[1025]), staging, 1024));
+        try (var files = Files.list(staging)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void thumbnailFitsTheRequestedEdge() throws IOException {
+        UploadPipeline pipeline = new UploadPipeline(new BlobStore(dir.toString()));
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        try (UploadPipeline.Staged staged = pipeline.stage(new MockMultipartFile("file", png.toByteArray()))) {
+            Path thumb = dir.resolve("thumbs").resolve("a_thumb.png");
+            assertTrue(pipeline.thumbnail(staged, thumb, 100));
+            BufferedImage read = ImageIO.read(thumb.toFile());
+            assertEquals(100, read.getWidth());
+            assertEquals(50, read.getHeight());
+        }
+    }
+}
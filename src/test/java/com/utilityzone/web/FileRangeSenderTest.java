@@ -0,0 +1,140 @@
+package com.utilityzone.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileRangeSenderTest {
+
+    private static final String ETAG = "\"1-1000-10\"";
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(dir.resolve("cover.bin"), "0123456789", StandardCharsets.US_ASCII);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileRangeSender.send(request, response, file, ETAG);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cover");
+        if (range != null) request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+
+    @Test
+    void sendsTheWholeFileWithoutRange() throws IOException {
+        MockHttpServletResponse response = send(get(null));
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void sendsASingleRange() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=2-5"));
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void sendsOpenAndSuffixRanges() throws IOException {
+        MockHttpServletResponse open = send(get("bytes=7-"));
+        assertEquals("bytes 7-9/10", open.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("789", open.getContentAsString());
+
+        MockHttpServletResponse suffix = send(get("bytes=-3"));
+        assertEquals("bytes 7-9/10", suffix.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("789", suffix.getContentAsString());
+
+        MockHttpServletResponse clipped = send(get("bytes=8-100"));
+        assertEquals("bytes 8-9/10", clipped.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("89", clipped.getContentAsString());
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsNotSatisfiable() throws IOException {
+        MockHttpServletResponse response = send(get("bytes=10-"));
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void honoursIfRange() throws IOException {
+        MockHttpServletRequest current = get("bytes=0-1");
+        current.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        MockHttpServletResponse partial = send(current);
+        assertEquals(206, partial.getStatus());
+        assertEquals("01", partial.getContentAsString());
+
+        // The client's partial copy is of an older version: it gets the whole current file
+        MockHttpServletRequest stale = get("bytes=0-1");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"1-999-10\"");
+        MockHttpServletResponse full = send(stale);
+        assertEquals(200, full.getStatus());
+        assertNull(full.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("0123456789", full.getContentAsString());
+    }
+
+    @Test
+    void multipleOrMalformedRangesGetTheWholeFile() throws IOException {
+        for (String range : new String[] {"bytes=0-1,4-5", "bytes=x-y", "items=0-1"}) {
+            MockHttpServletResponse response = send(get(range));
+            assertEquals(200, response.getStatus(), range);
+            assertEquals("0123456789", response.getContentAsString(), range);
+        }
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/cover");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = send(request);
+        assertEquals(206, response.getStatus());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void handsTheRangeToTomcatWhenSendfileIsSupported() throws IOException {
+        MockHttpServletRequest request = get("bytes=2-5");
+        request.setAttribute(FileRangeSender.SENDFILE_SUPPORTED, Boolean.TRUE);
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals(file.toRealPath().toString(), request.getAttribute(FileRangeSender.SENDFILE_FILENAME));
+        assertEquals(2L, request.getAttribute(FileRangeSender.SENDFILE_START));
+        assertEquals(6L, request.getAttribute(FileRangeSender.SENDFILE_END)); // exclusive
+        assertEquals(0, response.getContentAsByteArray().length, "the connector writes the body");
+    }
+
+    @Test
+    void writesItselfWhenSendfileIsNotOffered() throws IOException {
+        MockHttpServletRequest request = get(null);
+        send(request);
+        assertNull(request.getAttribute(FileRangeSender.SENDFILE_FILENAME));
+    }
+}